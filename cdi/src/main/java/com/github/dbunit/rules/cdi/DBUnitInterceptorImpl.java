@@ -46,11 +46,22 @@ public class DBUnitInterceptorImpl implements Serializable {
                     executeStatementsBefore(usingDataSet.executeStatementsBefore()).
                     strategy(usingDataSet.strategy()).
                     transactional(usingDataSet.transactional()).
+                    useSnapshot(usingDataSet.useSnapshot()).
+                    readOnly(usingDataSet.readOnly()).
+                    seedOnce(usingDataSet.seedOnce()).
                     tableOrdering(usingDataSet.tableOrdering()).
                     useSequenceFiltering(usingDataSet.useSequenceFiltering());
             DBUnitConfig dbUnitConfig = DBUnitConfig.from(invocationContext.getMethod());
             dataSetProcessor.process(dataSetConfig,dbUnitConfig);
-            boolean isTransactionalTest = dataSetConfig.isTransactional();
+            boolean isSeedOnce = dataSetConfig.isSeedOnce();
+            boolean isTransactionalTest = dataSetConfig.isTransactional() && !isSeedOnce;
+            if(isSeedOnce){
+                //test changes are rolled back so next tests reuse the seed
+                if(!em.getTransaction().isActive()){
+                    em.getTransaction().begin();
+                }
+                dataSetProcessor.beginRollbackTest();
+            }
             if(isTransactionalTest){
                 em.getTransaction().begin();
             }
@@ -67,6 +78,9 @@ public class DBUnitInterceptorImpl implements Serializable {
                 if(isTransactionalTest){
                     em.getTransaction().commit();
                 }
+                if(isSeedOnce && em.getTransaction().isActive()){
+                    em.flush();
+                }
                 ExpectedDataSet expectedDataSet = invocationContext.getMethod().getAnnotation(ExpectedDataSet.class);
                 if(expectedDataSet != null){
                     dataSetProcessor.compareCurrentDataSetWith(new DataSetConfig(expectedDataSet.value()).disableConstraints(true),expectedDataSet.ignoreCols());
@@ -88,17 +102,25 @@ public class DBUnitInterceptorImpl implements Serializable {
 
                 dataSetProcessor.exportDataSet(invocationContext.getMethod());
 
-                if(usingDataSet.cleanAfter()){
-                    dataSetProcessor.clearDatabase(dataSetConfig);
-                }
+                if(isSeedOnce){
+                    //seed is kept for next tests so cleanAfter, statements and scripts after are not executed
+                    if(em.getTransaction().isActive()){
+                        em.getTransaction().rollback();
+                    }
+                    dataSetProcessor.endRollbackTest();
+                } else {
+                    if(usingDataSet.cleanAfter()){
+                        dataSetProcessor.clearDatabase(dataSetConfig);
+                    }
 
-                if (!"".equals(usingDataSet.executeStatementsAfter())) {
-                    dataSetProcessor.executeStatements(dataSetConfig.getExecuteStatementsAfter());
-                }
+                    if (!"".equals(usingDataSet.executeStatementsAfter())) {
+                        dataSetProcessor.executeStatements(dataSetConfig.getExecuteStatementsAfter());
+                    }
 
-                if(usingDataSet.executeScriptsAfter().length > 0 && !"".equals(usingDataSet.executeScriptsAfter()[0])){
-                    for (int i = 0; i < usingDataSet.executeScriptsAfter().length; i++) {
-                        dataSetProcessor.executeScript(usingDataSet.executeScriptsAfter()[i]);
+                    if(usingDataSet.executeScriptsAfter().length > 0 && !"".equals(usingDataSet.executeScriptsAfter()[0])){
+                        for (int i = 0; i < usingDataSet.executeScriptsAfter().length; i++) {
+                            dataSetProcessor.executeScript(usingDataSet.executeScriptsAfter()[i]);
+                        }
                     }
                 }
             }//end finally
@@ -107,6 +107,14 @@ public class DataSetProcessor {
         dataSetExecutor.executeScript(script);
     }
 
+    public void beginRollbackTest() {
+        dataSetExecutor.beginRollbackTest(false);
+    }
+
+    public void endRollbackTest() {
+        dataSetExecutor.endRollbackTest();
+    }
+
     public void compareCurrentDataSetWith(DataSetConfig expected, String[] excludeCols) throws DatabaseUnitException {
         dataSetExecutor.compareCurrentDataSetWith(expected, excludeCols);
     }
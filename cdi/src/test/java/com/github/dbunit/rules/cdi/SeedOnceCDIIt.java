@@ -0,0 +1,60 @@
+package com.github.dbunit.rules.cdi;
+
+import com.github.dbunit.rules.api.dataset.DataSet;
+import com.github.dbunit.rules.cdi.api.DBUnitInterceptor;
+import com.github.dbunit.rules.model.User;
+import org.apache.deltaspike.testcontrol.api.junit.CdiTestRunner;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.MethodSorters;
+
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests run in name order: changes are rolled back by the interceptor unless the test commits them,
+ * in which case next test must seed the dataset again.
+ */
+@RunWith(CdiTestRunner.class)
+@DBUnitInterceptor
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SeedOnceCDIIt {
+
+    @Inject
+    EntityManager em;
+
+    @Test
+    @DataSet(value = "yml/users.yml", seedOnce = true)
+    public void a_shouldRollbackChanges() {
+        User user = em.find(User.class, 1L);
+        user.setName("rolled back");
+        em.flush();
+        assertThat(em.createQuery("select u from User u where u.name = 'rolled back'").getResultList()).hasSize(1);
+    }
+
+    @Test
+    @DataSet(value = "yml/users.yml", seedOnce = true)
+    public void b_shouldKeepDataSetAfterRollback() {
+        em.clear();
+        assertThat(em.find(User.class, 1L).getName()).isEqualTo("@realpestano");
+        assertThat(em.createQuery("select u from User u").getResultList()).hasSize(2);
+    }
+
+    @Test
+    @DataSet(value = "yml/users.yml", seedOnce = true)
+    public void c_shouldCommitChanges() {
+        User user = em.find(User.class, 1L);
+        user.setName("committed");
+        em.getTransaction().commit();
+    }
+
+    @Test
+    @DataSet(value = "yml/users.yml", seedOnce = true)
+    public void d_shouldSeedAgainAfterCommit() {
+        em.clear();
+        assertThat(em.find(User.class, 1L).getName()).isEqualTo("@realpestano");
+    }
+}
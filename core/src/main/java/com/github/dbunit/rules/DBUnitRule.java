@@ -26,6 +26,7 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.SQLException;
 
 import static com.github.dbunit.rules.util.EntityManagerProvider.em;
 import static com.github.dbunit.rules.util.EntityManagerProvider.isEntityManagerActive;
@@ -79,6 +80,11 @@ public class DBUnitRule implements TestRule {
                 DBUnitConfig dbUnitConfig = resolveDBUnitConfig(description);
                 currentMethod = description.getMethodName();
                 DataSet dataSet = resolveDataSet(description);
+                if (description.getMethodName() == null) {
+                    //used as ClassRule
+                    evaluateClass(dataSet, dbUnitConfig);
+                    return;
+                }
                 if (dataSet != null) {
                     final DataSetConfig dataSetConfig = new DataSetConfig().from(dataSet);
                     final String datasetExecutorId = dataSetConfig.getExecutorId();
@@ -97,8 +103,15 @@ public class DBUnitRule implements TestRule {
                         throw new RuntimeException(String.format("Could not create dataset for test '%s'.", description.getMethodName()), e);
                     }
                     boolean isTransactional = false;
+                    boolean isSeedOnce = dataSetConfig.isSeedOnce();
                     try {
-                        isTransactional = dataSetConfig.isTransactional();
+                        isTransactional = dataSetConfig.isTransactional() && !isSeedOnce;
+                        if (isSeedOnce) {
+                            if (isEntityManagerActive()) {
+                                em().getTransaction().begin();
+                            }
+                            executor.beginRollbackTest(!isEntityManagerActive());
+                        }
                         if (isTransactional) {
                             if(isEntityManagerActive()){
                                 em().getTransaction().begin();
@@ -132,6 +145,10 @@ public class DBUnitRule implements TestRule {
                                 connection.setAutoCommit(false);
                             }
                         }
+                        if (isSeedOnce && isEntityManagerActive() && em().getTransaction().isActive()) {
+                            //makes changes visible to dataset comparison
+                            em().flush();
+                        }
                         performDataSetComparison(description);
                     } catch (Exception e) {
                         if (isTransactional){
@@ -145,28 +162,13 @@ public class DBUnitRule implements TestRule {
                         throw e;
                     } finally {
                         exportDataSet(executor, description);
-                        if (dataSetConfig != null && dataSetConfig.getExecuteStatementsAfter() != null && dataSetConfig.getExecuteStatementsAfter().length > 0) {
-                            try {
-                                executor.executeStatements(dataSetConfig.getExecuteStatementsAfter());
-                            } catch (Exception e) {
-                                logger.error(currentMethod + "() - Could not execute statements after:" + e.getMessage(), e);
-                            }
-                        }//end execute statements
-                        if (dataSetConfig != null && dataSetConfig.getExecuteScriptsAfter() != null && dataSetConfig.getExecuteScriptsAfter().length > 0) {
-                            try {
-                                for (int i = 0; i < dataSetConfig.getExecuteScriptsAfter().length; i++) {
-                                    executor.executeScript(dataSetConfig.getExecuteScriptsAfter()[i]);
-                                }
-                            } catch (Exception e) {
-                                if (e instanceof DatabaseUnitException) {
-                                    throw e;
-                                }
-                                logger.error(currentMethod + "() - Could not execute scriptsAfter:" + e.getMessage(), e);
+                        if (isSeedOnce) {
+                            if (isEntityManagerActive() && em().getTransaction().isActive()) {
+                                em().getTransaction().rollback();
                             }
-                        }//end execute scripts
-
-                        if (dataSetConfig.isCleanAfter()) {
-                            executor.clearDatabase(dataSetConfig);
+                            executor.endRollbackTest();
+                        } else {
+                            executeAfter(dataSetConfig);
                         }
                     }
                     //no dataset provided, only export and evaluate expected dataset
@@ -181,6 +183,61 @@ public class DBUnitRule implements TestRule {
 
             }
 
+            /**
+             * seeds class level seed once dataset before the tests and runs its after statements, scripts and clean up
+             * after them
+             */
+            private void evaluateClass(DataSet dataSet, DBUnitConfig dbUnitConfig) throws Throwable {
+                if (dataSet == null || !dataSet.seedOnce()) {
+                    statement.evaluate();
+                    return;
+                }
+                DataSetConfig dataSetConfig = new DataSetConfig().from(dataSet);
+                if (dataSetConfig.getExecutorId() != null && !"".equals(dataSetConfig.getExecutorId().trim())) {
+                    executor = DataSetExecutorImpl.getExecutorById(dataSetConfig.getExecutorId());
+                }
+                try {
+                    if (executor.getConnectionHolder() == null || executor.getConnectionHolder().getConnection() == null) {
+                        executor.setConnectionHolder(new ConnectionHolderImpl(getConnectionFrom(dbUnitConfig)));
+                    }
+                    executor.setDBUnitConfig(dbUnitConfig);
+                    executor.createDataSet(dataSetConfig);
+                } catch (final Exception e) {
+                    throw new RuntimeException(String.format("Could not create dataset for test class '%s'.", description.getClassName()), e);
+                }
+                try {
+                    statement.evaluate();
+                } finally {
+                    executeAfter(dataSetConfig);
+                }
+            }
+
+            private void executeAfter(DataSetConfig dataSetConfig) throws Exception {
+                if (dataSetConfig.getExecuteStatementsAfter() != null && dataSetConfig.getExecuteStatementsAfter().length > 0) {
+                    try {
+                        executor.executeStatements(dataSetConfig.getExecuteStatementsAfter());
+                    } catch (Exception e) {
+                        logger.error(currentMethod + "() - Could not execute statements after:" + e.getMessage(), e);
+                    }
+                }//end execute statements
+                if (dataSetConfig.getExecuteScriptsAfter() != null && dataSetConfig.getExecuteScriptsAfter().length > 0) {
+                    try {
+                        for (int i = 0; i < dataSetConfig.getExecuteScriptsAfter().length; i++) {
+                            executor.executeScript(dataSetConfig.getExecuteScriptsAfter()[i]);
+                        }
+                    } catch (Exception e) {
+                        if (e instanceof DatabaseUnitException) {
+                            throw e;
+                        }
+                        logger.error(currentMethod + "() - Could not execute scriptsAfter:" + e.getMessage(), e);
+                    }
+                }//end execute scripts
+
+                if (dataSetConfig.isCleanAfter()) {
+                    executor.clearDatabase(dataSetConfig);
+                }
+            }
+
             private Connection getConnectionFrom(DBUnitConfig dbUnitConfig) {
                 ConnectionConfig connectionConfig = dbUnitConfig.getConnectionConfig();
                 if ("".equals(connectionConfig.getUrl()) || "".equals(connectionConfig.getUser())) {
@@ -263,13 +320,22 @@ public class DBUnitRule implements TestRule {
         if (instance == null) {
             instance = DataSetExecutorImpl.instance(name, connectionHolder);
             DataSetExecutorImpl.getExecutors().put(name, instance);
-        } else {
+        } else if (!isSameConnection(instance.getConnectionHolder(), connectionHolder)) {
+            //keeps executor state (e.g. seeded dataset) when each test creates a rule for the same connection
             instance.setConnectionHolder(connectionHolder);
         }
         executor = instance;
 
     }
 
+    private boolean isSameConnection(ConnectionHolder current, ConnectionHolder connectionHolder) {
+        try {
+            return current != null && current.getConnection() != null && current.getConnection() == connectionHolder.getConnection();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
     public DataSetExecutor getDataSetExecutor() {
         return executor;
     }
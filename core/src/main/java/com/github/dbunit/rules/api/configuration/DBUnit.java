@@ -39,6 +39,84 @@ public @interface DBUnit {
      * @return if true will activate connection leak detection.
      */
     boolean leakHunter() default false;
+
+    /**
+     * @since 0.15.2
+     * @return if true parsed datasets will be cached (by resource name and content) and reused among tests.
+     */
+    boolean cacheDataSets() default false;
+
+    /**
+     * @since 0.15.2
+     * @return if true comma separated datasets will be loaded concurrently and then merged in declaration order.
+     */
+    boolean parallelDataSetLoading() default false;
+
+    /**
+     * @since 0.15.2
+     * @return if true yml, json and xml dataset tables will only be parsed when they are used.
+     */
+    boolean lazyDataSets() default false;
+
+    /**
+     * @since 0.15.2
+     * @return if true dataset column types will be resolved from database metadata and values converted to them when datasets are loaded.
+     */
+    boolean typedDataSets() default false;
+
+    /**
+     * @since 0.15.2
+     * @return if true BULK_INSERT and CLEAN_BULK_INSERT seed strategies will use the database native bulk loader when available.
+     */
+    boolean nativeBulkLoad() default false;
+
+    /**
+     * @since 0.15.2
+     * @return if true tables written through executor connection will be tracked so database clean up only deletes written tables.
+     */
+    boolean selectiveCleanup() default false;
+
+    /**
+     * @since 0.15.2
+     * @return if true tables of the same foreign key level will be inserted concurrently, on a small pool of connections to executor database.
+     */
+    boolean parallelSeeding() default false;
+
+    /**
+     * @since 0.15.2
+     * @return if true statements created through executor connection are kept open and reused by next statements with the same sql.
+     */
+    boolean cacheStatements() default false;
+
+    /**
+     * @since 0.15.2
+     * @return if true foreign key order of dataset tables, used by sequence filtering and selective cleanup, is computed once per executor and set of tables.
+     */
+    boolean cacheTableOrdering() default false;
+
+    /**
+     * @since 0.15.2
+     * @return if true database clean up truncates tables in a single batch, with referential integrity disabled once, on databases supporting it.
+     */
+    boolean fastClean() default false;
+
+    /**
+     * @since 0.15.2
+     * @return if true database clean up deletes rows of independent tables concurrently, in reverse foreign key level order, on a bounded pool of connections.
+     */
+    boolean parallelCleanup() default false;
+
+    /**
+     * @since 0.15.2
+     * @return if true database clean up first checks which tables have rows, with a single query, and only clears those.
+     */
+    boolean skipEmptyTables() default false;
+
+    /**
+     * @since 0.15.2
+     * @return if schema metadata lookups (tables, columns, primary and foreign keys) are cached, see metadataCacheFile to also store them across test runs
+     */
+    boolean cacheMetadata() default false;
     
 
     /**
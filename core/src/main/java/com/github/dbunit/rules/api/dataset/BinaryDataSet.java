@@ -0,0 +1,171 @@
+package com.github.dbunit.rules.api.dataset;
+
+import org.dbunit.dataset.AbstractDataSet;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableIterator;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.datatype.DataType;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * DBUnit DataSet for precompiled binary datasets (<code>.dbub</code> files), see
+ * {@link com.github.dbunit.rules.dataset.writer.BinaryDataSetWriter} and
+ * {@link com.github.dbunit.rules.dataset.writer.BinaryDataSetCompiler}.
+ *
+ * Layout: magic and version, a dictionary with all strings (table names, column names, data types and string values)
+ * followed by the tables, in declaration order. Each table has its columns and row count and then values column by column:
+ * column type, a bitmap of non null rows and the non null values encoded according to column type (strings are dictionary indexes).
+ */
+public class BinaryDataSet extends AbstractDataSet {
+
+    public static final String EXTENSION = "dbub";
+
+    public static final byte[] MAGIC = {'D', 'B', 'U', 'B'};
+
+    public static final byte VERSION = 1;
+
+    public static final byte TYPE_NULL = 0;
+    public static final byte TYPE_INT = 1;
+    public static final byte TYPE_LONG = 2;
+    public static final byte TYPE_DOUBLE = 3;
+    public static final byte TYPE_BOOLEAN = 4;
+    public static final byte TYPE_STRING = 5;
+    public static final byte TYPE_DATE = 6;
+    public static final byte TYPE_TIMESTAMP = 7;
+    public static final byte TYPE_BIG_INTEGER = 8;
+    public static final byte TYPE_BIG_DECIMAL = 9;
+    public static final byte TYPE_BYTES = 10;
+    /**
+     * column with values of different types, each value is preceded by its type
+     */
+    public static final byte TYPE_MIXED = 15;
+
+    private final List<ITable> tables = new ArrayList<>();
+
+    private String[] dictionary;
+
+    public BinaryDataSet(InputStream source) throws DataSetException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(source));
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(MAGIC, magic)) {
+                throw new DataSetException("Invalid binary dataset.");
+            }
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new DataSetException(String.format("Unsupported binary dataset version %d, expected version %d.", version, VERSION));
+            }
+            dictionary = new String[readVarInt(in)];
+            for (int i = 0; i < dictionary.length; i++) {
+                byte[] bytes = new byte[readVarInt(in)];
+                in.readFully(bytes);
+                dictionary[i] = new String(bytes, "UTF-8");
+            }
+            int tableCount = readVarInt(in);
+            for (int i = 0; i < tableCount; i++) {
+                tables.add(readTable(in));
+            }
+        } catch (IOException e) {
+            throw new DataSetException("Could not read binary dataset.", e);
+        } finally {
+            dictionary = null;
+        }
+    }
+
+    private ITable readTable(DataInputStream in) throws IOException, DataSetException {
+        String tableName = dictionary[readVarInt(in)];
+        Column[] columns = new Column[readVarInt(in)];
+        for (int i = 0; i < columns.length; i++) {
+            String columnName = dictionary[readVarInt(in)];
+            String dataType = dictionary[readVarInt(in)];
+            columns[i] = new Column(columnName, DataType.UNKNOWN.toString().equals(dataType) ? DataType.UNKNOWN : DataType.forSqlTypeName(dataType));
+        }
+        int rowCount = readVarInt(in);
+        Object[][] rows = new Object[rowCount][columns.length];
+        byte[] present = new byte[(rowCount + 7) / 8];
+        for (int column = 0; column < columns.length; column++) {
+            byte type = in.readByte();
+            if (type == TYPE_NULL) {
+                continue;
+            }
+            in.readFully(present);
+            for (int row = 0; row < rowCount; row++) {
+                if ((present[row >> 3] & (1 << (row & 7))) != 0) {
+                    rows[row][column] = readValue(in, type == TYPE_MIXED ? in.readByte() : type);
+                }
+            }
+        }
+        ColumnarTable table = new ColumnarTable(new DefaultTableMetaData(tableName, columns));
+        for (int row = 0; row < rowCount; row++) {
+            table.addRow(rows[row]);
+            rows[row] = null;
+        }
+        table.trimToSize();
+        return table;
+    }
+
+    private Object readValue(DataInputStream in, byte type) throws IOException, DataSetException {
+        switch (type) {
+            case TYPE_INT:
+                return in.readInt();
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_DOUBLE:
+                return in.readDouble();
+            case TYPE_BOOLEAN:
+                return in.readBoolean();
+            case TYPE_STRING:
+                return dictionary[readVarInt(in)];
+            case TYPE_DATE:
+                return new Date(in.readLong());
+            case TYPE_TIMESTAMP: {
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                return timestamp;
+            }
+            case TYPE_BIG_INTEGER:
+                return new BigInteger(dictionary[readVarInt(in)]);
+            case TYPE_BIG_DECIMAL:
+                return new BigDecimal(dictionary[readVarInt(in)]);
+            case TYPE_BYTES: {
+                byte[] bytes = new byte[readVarInt(in)];
+                in.readFully(bytes);
+                return bytes;
+            }
+            default:
+                throw new DataSetException("Invalid binary dataset, unknown value type " + type);
+        }
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    @Override
+    protected ITableIterator createIterator(boolean reverse) throws DataSetException {
+        return new DefaultTableIterator(tables.toArray(new ITable[tables.size()]), reverse);
+    }
+}
@@ -0,0 +1,365 @@
+package com.github.dbunit.rules.api.dataset;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.RowOutOfBoundsException;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In memory table which stores values per column instead of per row.
+ *
+ * Column indexes are resolved once (by column name and its upper case form) and each column keeps its values
+ * in a single array, integer, long, double and boolean columns are stored in primitive arrays as long as all
+ * values of the column have the same type, otherwise the column falls back to an object array.
+ *
+ * Looking up a column not present in table metadata throws {@link org.dbunit.dataset.NoSuchColumnException}, like
+ * {@link org.dbunit.dataset.DefaultTable}.
+ */
+public class ColumnarTable implements ITable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ITableMetaData metaData;
+
+    private final Map<String, Integer> columnIndexes;
+
+    private final ColumnValues[] columns;
+
+    private int rowCount;
+
+    public ColumnarTable(ITableMetaData metaData) throws DataSetException {
+        this.metaData = metaData;
+        Column[] tableColumns = metaData.getColumns();
+        columns = new ColumnValues[tableColumns.length];
+        columnIndexes = new HashMap<>(tableColumns.length * 4);
+        for (int i = 0; i < tableColumns.length; i++) {
+            columns[i] = NullValues.INSTANCE;
+            columnIndexes.put(tableColumns[i].getColumnName(), i);
+        }
+        for (int i = 0; i < tableColumns.length; i++) {
+            String upperCaseName = tableColumns[i].getColumnName().toUpperCase();
+            if (!columnIndexes.containsKey(upperCaseName)) {
+                columnIndexes.put(upperCaseName, i);
+            }
+        }
+    }
+
+    /**
+     * @param values row values in the same order of table metadata columns
+     */
+    public void addRow(Object[] values) {
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = columns[i].set(rowCount, i < values.length ? values[i] : null);
+        }
+        rowCount++;
+    }
+
+    /**
+     * releases unused capacity of column arrays, should be called after last row is added
+     */
+    public void trimToSize() {
+        for (ColumnValues column : columns) {
+            column.trimToSize();
+        }
+    }
+
+    @Override
+    public ITableMetaData getTableMetaData() {
+        return metaData;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public Object getValue(int row, String column) throws DataSetException {
+        if (row < 0 || row >= rowCount) {
+            throw new RowOutOfBoundsException("" + row);
+        }
+        Integer index = columnIndexes.get(column);
+        if (index == null) {
+            index = columnIndexes.get(column.toUpperCase());
+            if (index == null) {
+                //throws NoSuchColumnException, like DefaultTable
+                index = metaData.getColumnIndex(column);
+            }
+        }
+        return columns[index].get(row);
+    }
+
+    /**
+     * @param row row index
+     * @param column column index (same as table metadata)
+     * @return value at given position
+     */
+    public Object getValue(int row, int column) {
+        return columns[column].get(row);
+    }
+
+    private abstract static class ColumnValues {
+
+        /**
+         * number of rows stored, rows after it are null
+         */
+        int size;
+
+        abstract Object get(int row);
+
+        /**
+         * @return this instance or a more general one in case value type is not supported by this column
+         */
+        abstract ColumnValues set(int row, Object value);
+
+        abstract void trimToSize();
+
+        static int newCapacity(int current, int required) {
+            return Math.max(required, Math.max(INITIAL_CAPACITY, current + (current >> 1)));
+        }
+
+        ColumnValues toObjectValues(int row, Object value) {
+            ObjectValues objectValues = new ObjectValues(Math.max(size, row + 1));
+            for (int i = 0; i < size; i++) {
+                objectValues.values[i] = get(i);
+            }
+            objectValues.size = size;
+            return objectValues.set(row, value);
+        }
+    }
+
+    /**
+     * column which only has null values so far
+     */
+    private static class NullValues extends ColumnValues {
+
+        static final NullValues INSTANCE = new NullValues();
+
+        @Override
+        Object get(int row) {
+            return null;
+        }
+
+        @Override
+        ColumnValues set(int row, Object value) {
+            if (value == null) {
+                return this;
+            }
+            ColumnValues typed;
+            if (value instanceof Integer) {
+                typed = new IntValues();
+            } else if (value instanceof Long) {
+                typed = new LongValues();
+            } else if (value instanceof Double) {
+                typed = new DoubleValues();
+            } else if (value instanceof Boolean) {
+                typed = new BooleanValues();
+            } else {
+                typed = new ObjectValues(INITIAL_CAPACITY);
+            }
+            return typed.set(row, value);
+        }
+
+        @Override
+        void trimToSize() {
+        }
+    }
+
+    private abstract static class PrimitiveValues extends ColumnValues {
+
+        final BitSet present = new BitSet();
+
+        @Override
+        Object get(int row) {
+            return row < size && present.get(row) ? getPresent(row) : null;
+        }
+
+        @Override
+        ColumnValues set(int row, Object value) {
+            if (value == null) {
+                return this;
+            }
+            if (!accept(value)) {
+                return toObjectValues(row, value);
+            }
+            ensureCapacity(row + 1);
+            setPresent(row, value);
+            present.set(row);
+            size = Math.max(size, row + 1);
+            return this;
+        }
+
+        abstract boolean accept(Object value);
+
+        abstract Object getPresent(int row);
+
+        abstract void setPresent(int row, Object value);
+
+        abstract void ensureCapacity(int capacity);
+    }
+
+    private static class IntValues extends PrimitiveValues {
+
+        int[] values = new int[0];
+
+        @Override
+        boolean accept(Object value) {
+            return value instanceof Integer;
+        }
+
+        @Override
+        Object getPresent(int row) {
+            return values[row];
+        }
+
+        @Override
+        void setPresent(int row, Object value) {
+            values[row] = (Integer) value;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (values.length < capacity) {
+                values = Arrays.copyOf(values, newCapacity(values.length, capacity));
+            }
+        }
+
+        @Override
+        void trimToSize() {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    private static class LongValues extends PrimitiveValues {
+
+        long[] values = new long[0];
+
+        @Override
+        boolean accept(Object value) {
+            return value instanceof Long;
+        }
+
+        @Override
+        Object getPresent(int row) {
+            return values[row];
+        }
+
+        @Override
+        void setPresent(int row, Object value) {
+            values[row] = (Long) value;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (values.length < capacity) {
+                values = Arrays.copyOf(values, newCapacity(values.length, capacity));
+            }
+        }
+
+        @Override
+        void trimToSize() {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    private static class DoubleValues extends PrimitiveValues {
+
+        double[] values = new double[0];
+
+        @Override
+        boolean accept(Object value) {
+            return value instanceof Double;
+        }
+
+        @Override
+        Object getPresent(int row) {
+            return values[row];
+        }
+
+        @Override
+        void setPresent(int row, Object value) {
+            values[row] = (Double) value;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (values.length < capacity) {
+                values = Arrays.copyOf(values, newCapacity(values.length, capacity));
+            }
+        }
+
+        @Override
+        void trimToSize() {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * booleans only need the 'present' and 'value' bits
+     */
+    private static class BooleanValues extends PrimitiveValues {
+
+        final BitSet values = new BitSet();
+
+        @Override
+        boolean accept(Object value) {
+            return value instanceof Boolean;
+        }
+
+        @Override
+        Object getPresent(int row) {
+            return values.get(row);
+        }
+
+        @Override
+        void setPresent(int row, Object value) {
+            values.set(row, (Boolean) value);
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+        }
+
+        @Override
+        void trimToSize() {
+        }
+    }
+
+    private static class ObjectValues extends ColumnValues {
+
+        Object[] values;
+
+        ObjectValues(int capacity) {
+            values = new Object[capacity];
+        }
+
+        @Override
+        Object get(int row) {
+            return row < size ? values[row] : null;
+        }
+
+        @Override
+        ColumnValues set(int row, Object value) {
+            if (value == null) {
+                return this;
+            }
+            if (values.length <= row) {
+                values = Arrays.copyOf(values, newCapacity(values.length, row + 1));
+            }
+            values[row] = value;
+            size = Math.max(size, row + 1);
+            return this;
+        }
+
+        @Override
+        void trimToSize() {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+}
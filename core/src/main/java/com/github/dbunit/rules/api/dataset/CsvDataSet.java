@@ -0,0 +1,364 @@
+package com.github.dbunit.rules.api.dataset;
+
+import org.dbunit.dataset.AbstractDataSet;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableIterator;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.datatype.DataType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DBUnit DataSet for csv datasets. Same layout as DBUnit csv datasets: a directory containing <code>table-ordering.txt</code>
+ * and one <code>TABLE_NAME.csv</code> file per table, where first line declares the columns and <code>null</code> represents null values.
+ *
+ * Table files are resolved relative to dataset URL so datasets can be read from directories as well as from jars. Files are
+ * memory mapped (or streamed from jar entries) and fields are decoded directly from bytes. When the dataset has more than one table,
+ * table files are parsed in parallel.
+ */
+public class CsvDataSet extends AbstractDataSet {
+
+    public static final String TABLE_ORDERING_FILE = "table-ordering.txt";
+
+    private static final String NULL = "null";
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * files smaller than this are read into memory instead of being mapped
+     */
+    private static final int MAP_THRESHOLD = 64 * 1024;
+
+    private static ExecutorService parserPool;
+
+    private final ITable[] tables;
+
+    /**
+     * @param dataSetUrl url of csv dataset directory or of any file inside it
+     */
+    public CsvDataSet(URL dataSetUrl) throws DataSetException {
+        try {
+            URL directory = getDirectory(dataSetUrl);
+            List<String> tableNames = getTableNames(directory);
+            tables = new ITable[tableNames.size()];
+            if (tableNames.size() == 1) {
+                tables[0] = parseTable(directory, tableNames.get(0));
+            } else {
+                List<Future<ITable>> parsedTables = new ArrayList<>();
+                for (final String tableName : tableNames) {
+                    final URL tableDirectory = directory;
+                    parsedTables.add(getParserPool().submit(new Callable<ITable>() {
+                        @Override
+                        public ITable call() throws Exception {
+                            return parseTable(tableDirectory, tableName);
+                        }
+                    }));
+                }
+                for (int i = 0; i < tables.length; i++) {
+                    tables[i] = parsedTables.get(i).get();
+                }
+            }
+        } catch (IOException e) {
+            throw new DataSetException("Could not read csv dataset " + dataSetUrl, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataSetException("Interrupted while reading csv dataset " + dataSetUrl, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DataSetException) {
+                throw (DataSetException) e.getCause();
+            }
+            throw new DataSetException("Could not read csv dataset " + dataSetUrl, e.getCause());
+        }
+    }
+
+    /**
+     * @param dataSetUrl url of csv dataset directory or of any file inside it
+     * @return content of table ordering file followed by the content of each table file, in table order
+     */
+    public static byte[] readContent(URL dataSetUrl) throws IOException {
+        URL directory = getDirectory(dataSetUrl);
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        content.write(readBytes(new URL(directory, TABLE_ORDERING_FILE)));
+        for (String tableName : getTableNames(directory)) {
+            content.write(tableName.getBytes(UTF8));
+            content.write(readBytes(new URL(directory, tableName + ".csv")));
+        }
+        return content.toByteArray();
+    }
+
+    private static URL getDirectory(URL dataSetUrl) throws IOException {
+        String path = dataSetUrl.toString();
+        if (path.endsWith("/")) {
+            return dataSetUrl;
+        }
+        if ("file".equals(dataSetUrl.getProtocol()) && toFile(dataSetUrl).isDirectory()) {
+            return new URL(path + "/");
+        }
+        return new URL(path.substring(0, path.lastIndexOf('/') + 1));
+    }
+
+    private static List<String> getTableNames(URL directory) throws IOException {
+        String tableOrdering = new String(readBytes(new URL(directory, TABLE_ORDERING_FILE)), UTF8);
+        List<String> tableNames = new ArrayList<>();
+        for (String line : tableOrdering.split("\r?\n")) {
+            String table = line.trim();
+            if (!table.isEmpty()) {
+                tableNames.add(table);
+            }
+        }
+        return tableNames;
+    }
+
+    private static ITable parseTable(URL directory, String tableName) throws IOException, DataSetException {
+        URL tableUrl = new URL(directory, tableName + ".csv");
+        return new TableParser(tableName, tableUrl.toString(), read(tableUrl)).parse();
+    }
+
+    private static ByteBuffer read(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            File file = toFile(url);
+            if (file.length() >= MAP_THRESHOLD) {
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                    return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+            }
+        }
+        return ByteBuffer.wrap(readBytes(url));
+    }
+
+    private static byte[] readBytes(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            return Files.readAllBytes(toFile(url).toPath());
+        }
+        try (InputStream is = url.openStream()) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                content.write(buffer, 0, read);
+            }
+            return content.toByteArray();
+        }
+    }
+
+    private static File toFile(URL url) throws IOException {
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid dataset url " + url, e);
+        }
+    }
+
+    private static synchronized ExecutorService getParserPool() {
+        if (parserPool == null) {
+            parserPool = Executors.newFixedThreadPool(Math.min(4, Runtime.getRuntime().availableProcessors()), new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "dbunit-rules-csv-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return parserPool;
+    }
+
+    @Override
+    protected ITableIterator createIterator(boolean reverse) throws DataSetException {
+        return new DefaultTableIterator(tables, reverse);
+    }
+
+    /**
+     * Parses a csv table directly from its bytes. Separators, quotes and line breaks are ascii so fields are sliced from
+     * the buffer and decoded only once, quoted fields are unescaped into a reusable scratch buffer.
+     */
+    private static class TableParser {
+
+        private final String tableName;
+
+        private final String source;
+
+        private final ByteBuffer buffer;
+
+        private final int limit;
+
+        private int position;
+
+        private int line = 1;
+
+        private byte[] scratch = new byte[256];
+
+        TableParser(String tableName, String source, ByteBuffer buffer) {
+            this.tableName = tableName;
+            this.source = source;
+            this.buffer = buffer;
+            this.limit = buffer.limit();
+            this.position = buffer.position();
+            //skip UTF-8 byte order mark
+            if (limit - position >= 3 && buffer.get(position) == (byte) 0xEF && buffer.get(position + 1) == (byte) 0xBB && buffer.get(position + 2) == (byte) 0xBF) {
+                position += 3;
+            }
+        }
+
+        ITable parse() throws DataSetException {
+            List<String> header = new ArrayList<>();
+            if (!readRow(header)) {
+                throw new DataSetException(String.format("The first line of %s is empty.", source));
+            }
+            Column[] columns = new Column[header.size()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = new Column(header.get(i).trim(), DataType.UNKNOWN);
+            }
+            ColumnarTable table = new ColumnarTable(new DefaultTableMetaData(tableName, columns));
+            List<String> row = new ArrayList<>(columns.length);
+            while (true) {
+                int rowLine = line;
+                row.clear();
+                if (!readRow(row)) {
+                    break;
+                }
+                if (row.size() == 1 && row.get(0) != null && row.get(0).isEmpty() && columns.length > 1) {
+                    //blank line
+                    continue;
+                }
+                if (row.size() != columns.length) {
+                    throw new DataSetException(String.format("Expected %d columns on line %d of %s, got %d.", columns.length, rowLine, source, row.size()));
+                }
+                table.addRow(row.toArray());
+            }
+            table.trimToSize();
+            return table;
+        }
+
+        /**
+         * @return <code>false</code> if there is no more input
+         */
+        private boolean readRow(List<String> values) throws DataSetException {
+            if (position >= limit) {
+                return false;
+            }
+            while (true) {
+                skipWhitespaces();
+                String value;
+                if (position < limit && buffer.get(position) == '"') {
+                    value = readQuoted();
+                    skipWhitespaces();
+                } else {
+                    value = readUnquoted();
+                }
+                values.add(value);
+                if (position >= limit) {
+                    return true;
+                }
+                byte b = buffer.get(position++);
+                if (b == ',') {
+                    continue;
+                }
+                if (b == '\r' && position < limit && buffer.get(position) == '\n') {
+                    position++;
+                }
+                if (b == '\r' || b == '\n') {
+                    line++;
+                    return true;
+                }
+                throw new DataSetException(String.format("Unexpected character '%s' on line %d of %s.", (char) b, line, source));
+            }
+        }
+
+        private void skipWhitespaces() {
+            while (position < limit) {
+                byte b = buffer.get(position);
+                if (b != ' ' && b != '\t') {
+                    break;
+                }
+                position++;
+            }
+        }
+
+        private String readUnquoted() {
+            int start = position;
+            int end = position;
+            while (position < limit) {
+                byte b = buffer.get(position);
+                if (b == ',' || b == '\n' || b == '\r') {
+                    break;
+                }
+                position++;
+                if (b != ' ' && b != '\t') {
+                    end = position;
+                }
+            }
+            return decode(start, end - start);
+        }
+
+        private String readQuoted() throws DataSetException {
+            int startLine = line;
+            position++;
+            int length = 0;
+            while (position < limit) {
+                byte b = buffer.get(position++);
+                if (b == '"') {
+                    return toValue(new String(scratch, 0, length, UTF8));
+                }
+                if (b == '\\' && position < limit) {
+                    b = buffer.get(position++);
+                }
+                if (b == '\n') {
+                    line++;
+                }
+                if (length == scratch.length) {
+                    byte[] grown = new byte[length * 2];
+                    System.arraycopy(scratch, 0, grown, 0, length);
+                    scratch = grown;
+                }
+                scratch[length++] = b;
+            }
+            throw new DataSetException(String.format("Unterminated quoted value starting on line %d of %s.", startLine, source));
+        }
+
+        private String decode(int start, int length) {
+            if (length == NULL.length() && buffer.get(start) == 'n' && buffer.get(start + 1) == 'u'
+                    && buffer.get(start + 2) == 'l' && buffer.get(start + 3) == 'l') {
+                return null;
+            }
+            if (buffer.hasArray()) {
+                return new String(buffer.array(), buffer.arrayOffset() + start, length, UTF8);
+            }
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                scratch[i] = buffer.get(start + i);
+            }
+            return new String(scratch, 0, length, UTF8);
+        }
+
+        private String toValue(String value) {
+            return NULL.equals(value) ? null : value;
+        }
+    }
+}
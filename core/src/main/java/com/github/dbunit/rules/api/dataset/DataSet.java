@@ -86,4 +86,22 @@ public @interface DataSet {
    *
    */
   boolean transactional() default false;
+
+  /**
+   * @since 0.15.2
+   * @return if true dataset will be seeded only once, its tables are then captured in a snapshot (named after the dataset) which is restored, instead of seeding the dataset again, on next tests using the same dataset. Note that replacements are evaluated only on first seed.
+   */
+  boolean useSnapshot() default false;
+
+  /**
+   * @since 0.15.2
+   * @return if true test declares it does not change the database so next test using the same dataset (with same strategy, sequence filtering and table ordering) will skip seeding when nothing else (statements, scripts or clean up) has changed database in between.
+   */
+  boolean readOnly() default false;
+
+  /**
+   * @since 0.15.2
+   * @return if true dataset is seeded and committed once, then each test runs inside a transaction which is always rolled back. After rollback executor verifies dataset tables are unchanged, otherwise dataset is seeded again by next test. Only tables declared in the dataset are verified, rows committed into other tables are not detected. Declared at class level and used with a ClassRule (JUnit4) or the JUnit5 extension the dataset is seeded before first test and after statements, scripts and clean up run after last test, they are not executed by the CDI interceptor.
+   */
+  boolean seedOnce() default false;
 }
\ No newline at end of file
@@ -50,5 +50,48 @@ public interface DataSetExecutor{
 
     DatabaseConnection getDBUnitConnection();
 
+    /**
+     * captures current state of given tables so it can be restored later with {@link #restoreSnapshot(String)}
+     * @param name snapshot name, an existing snapshot with the same name is replaced
+     * @param tableNames tables to capture, all database tables if none is provided
+     */
+    void createSnapshot(String name, String... tableNames);
+
+    /**
+     * restores tables captured in a snapshot by deleting their rows and bulk inserting snapshot rows
+     * @param name snapshot name
+     */
+    void restoreSnapshot(String name);
+
+    boolean hasSnapshot(String name);
+
+    /**
+     * starts a test whose changes will be rolled back, see {@link com.github.dbunit.rules.api.dataset.DataSet#seedOnce()}
+     * @param jdbcTransaction if true auto commit of executor connection is disabled until {@link #endRollbackTest()},
+     * otherwise caller manages the transaction (e.g. an EntityManager one) and rolls it back before ending the test.
+     * Ignored when a {@link #beginLayer(DataSetConfig) layer} is active, test is then rolled back to a savepoint
+     */
+    void beginRollbackTest(boolean jdbcTransaction);
+
+    /**
+     * rolls back executor connection (if test was started with a jdbc transaction) and verifies tables of last seed once
+     * dataset are unchanged
+     * @return <code>false</code> if tables were changed, in which case the dataset will be seeded again by next test
+     */
+    boolean endRollbackTest();
+
+    /**
+     * seeds a dataset on top of current seed once dataset (and previous layers) after a savepoint of executor
+     * connection, so it can be discarded without seeding data below it again. Clean strategies are applied without
+     * cleaning (e.g. CLEAN_INSERT as INSERT). Auto commit of executor connection is disabled until last layer ends.
+     * @param dataSetConfig layer dataset
+     */
+    void beginLayer(DataSetConfig dataSetConfig);
+
+    /**
+     * rolls executor connection back to the savepoint of last begun layer, restoring the dataset it was layered on
+     */
+    void endLayer();
+
 
 }
@@ -1,8 +1,7 @@
 package com.github.dbunit.rules.api.dataset;
 
-import org.codehaus.jackson.map.ObjectMapper;
 import org.dbunit.dataset.*;
-import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.stream.DefaultConsumer;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -13,16 +12,14 @@ import java.util.*;
 /**
  * DBUnit DataSet format for JSON based datasets. It is similar to the flat XML
  * layout, but has some improvements (columns are calculated by parsing the
- * entire dataset, not just the first row). It uses Jackson, a fast JSON
- * processor.
+ * entire dataset, not just the first row). It uses Jackson streaming API, a fast JSON
+ * processor, see {@link JSONDataSetProducer}.
  *
  * @author Lieven DOCLO
  */
 public class JSONDataSet extends AbstractDataSet {
 	// The parser for the dataset JSON file
 	private JSONITableParser tableParser = new JSONITableParser();
-	
-	private final ObjectMapper mapper = new ObjectMapper();
 
 	// The tables after parsing
 	private List<ITable> tables;
@@ -80,88 +77,35 @@ public class JSONDataSet extends AbstractDataSet {
 		 *            A JSON dataset input stream
 		 * @return A list of DBUnit tables
 		 */
-		@SuppressWarnings("unchecked")
 		public List<ITable> getTables(InputStream jsonStream) {
-			List<ITable> tables = new ArrayList<ITable>();
-
+			final List<ITable> tables = new ArrayList<ITable>();
+			JSONDataSetProducer producer = new JSONDataSetProducer(jsonStream);
 			try {
-				// get the base object tree from the JSON stream
-				Map<String, Object> dataset = mapper.readValue(jsonStream,
-						Map.class);
-				// iterate over the tables in the object tree
-				for (Map.Entry<String, Object> entry : dataset.entrySet()) {
-					// get the rows for the table
-					List<Map<String, Object>> rows = (List<Map<String, Object>>) entry
-							.getValue();
-					ITableMetaData meta = getMetaData(entry.getKey(), rows);
-					// create a table based on the metadata
-					DefaultTable table = new DefaultTable(meta);
-					int rowIndex = 0;
-					// iterate through the rows and fill the table
-					for (Map<String, Object> row : rows) {
-						fillRow(table, row, rowIndex++);
-					}
-					// add the table to the list of DBUnit tables
-					tables.add(table);
-				}
+				// tables are filled while the stream is parsed
+				producer.setConsumer(new DefaultConsumer() {
+					private ColumnarTable table;
 
-			} catch (IOException e) {
-				throw new RuntimeException(e.getMessage(), e);
-			}
-			return tables;
-		}
-
-		/**
-		 * Gets the table meta data based on the rows for a table
-		 * 
-		 * @param tableName
-		 *            The name of the table
-		 * @param rows
-		 *            The rows of the table
-		 * @return The table metadata for the table
-		 */
-		private ITableMetaData getMetaData(String tableName,
-				List<Map<String, Object>> rows) {
-			Set<String> columns = new LinkedHashSet<String>();
-			// iterate through the dataset and add the column names to a set
-			for (Map<String, Object> row : rows) {
-				for (Map.Entry<String, Object> column : row.entrySet()) {
-					columns.add(column.getKey());
-				}
-			}
-			List<Column> list = new ArrayList<Column>(columns.size());
-			// create a list of DBUnit columns based on the column name set
-			for (String s : columns) {
-				list.add(new Column(s, DataType.UNKNOWN));
-			}
-			return new DefaultTableMetaData(tableName,
-					list.toArray(new Column[list.size()]));
-		}
+					@Override
+					public void startTable(ITableMetaData metaData) throws DataSetException {
+						table = new ColumnarTable(metaData);
+					}
 
-		/**
-		 * Fill a table row
-		 * 
-		 * @param table
-		 *            The table to be filled
-		 * @param row
-		 *            A map containing the column values
-		 * @param rowIndex
-		 *            The index of the row to te filled
-		 */
-		private void fillRow(DefaultTable table, Map<String, Object> row,
-				int rowIndex) {
-			try {
-				if(!row.entrySet().isEmpty()){
-					table.addRow();
-					// set the column values for the current row
-					for (Map.Entry<String, Object> column : row.entrySet()) {
-						table.setValue(rowIndex, column.getKey(), column.getValue());
+					@Override
+					public void row(Object[] values) throws DataSetException {
+						table.addRow(values);
 					}
-				}
 
-			} catch (Exception e) {
+					@Override
+					public void endTable() {
+						table.trimToSize();
+						tables.add(table);
+					}
+				});
+				producer.produce();
+			} catch (DataSetException e) {
 				throw new RuntimeException(e.getMessage(), e);
 			}
+			return tables;
 		}
 	}
 
@@ -0,0 +1,139 @@
+package com.github.dbunit.rules.api.dataset;
+
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.stream.DefaultConsumer;
+import org.dbunit.dataset.stream.IDataSetConsumer;
+import org.dbunit.dataset.stream.IDataSetProducer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams a JSON dataset to a {@link IDataSetConsumer} using Jackson token API, columns are calculated
+ * incrementally while rows of a table are read so each table is parsed in a single pass.
+ *
+ * As table columns are the union of all row columns, rows of a table are held until the end of the table
+ * before being emitted to the consumer.
+ */
+public class JSONDataSetProducer implements IDataSetProducer {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private final InputStream source;
+
+    private IDataSetConsumer consumer = new DefaultConsumer();
+
+    public JSONDataSetProducer(InputStream source) {
+        this.source = source;
+    }
+
+    @Override
+    public void setConsumer(IDataSetConsumer consumer) throws DataSetException {
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void produce() throws DataSetException {
+        JsonParser parser = null;
+        try {
+            parser = jsonFactory.createJsonParser(source);
+            consumer.startDataSet();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new DataSetException("Invalid json dataset, expected an object with tables but found " + parser.getCurrentToken());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String tableName = parser.getCurrentName();
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new DataSetException(String.format("Invalid json dataset, expected an array of rows for table '%s' but found %s", tableName, parser.getCurrentToken()));
+                }
+                produceTable(parser, tableName);
+            }
+            consumer.endDataSet();
+        } catch (IOException e) {
+            throw new DataSetException("Could not parse json dataset.", e);
+        } finally {
+            if (parser != null) {
+                try {
+                    parser.close();
+                } catch (IOException e) {
+                    //ignore
+                }
+            }
+        }
+    }
+
+    private void produceTable(JsonParser parser, String tableName) throws IOException, DataSetException {
+        List<String> columnNames = new ArrayList<>();
+        Map<String, Integer> columnIndexes = new HashMap<>();
+        List<Object[]> rows = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new DataSetException(String.format("Invalid json dataset, expected a row object for table '%s' but found %s", tableName, token));
+            }
+            Object[] row = new Object[columnNames.size()];
+            boolean empty = true;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String columnName = parser.getCurrentName();
+                Integer index = columnIndexes.get(columnName);
+                if (index == null) {
+                    index = columnNames.size();
+                    columnNames.add(columnName);
+                    columnIndexes.put(columnName, index);
+                }
+                if (index >= row.length) {
+                    row = Arrays.copyOf(row, columnNames.size());
+                }
+                row[index] = readValue(parser, tableName, columnName);
+                empty = false;
+            }
+            //empty rows ({}) have no values to insert and are ignored
+            if (!empty) {
+                rows.add(row);
+            }
+        }
+        Column[] columns = new Column[columnNames.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new Column(columnNames.get(i), DataType.UNKNOWN);
+        }
+        consumer.startTable(new DefaultTableMetaData(tableName, columns));
+        for (Object[] row : rows) {
+            consumer.row(row.length == columns.length ? row : Arrays.copyOf(row, columns.length));
+        }
+        consumer.endTable();
+    }
+
+    private Object readValue(JsonParser parser, String tableName, String columnName) throws IOException, DataSetException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            throw new DataSetException(String.format("Invalid json dataset, unexpected end of document in table '%s'", tableName));
+        }
+        switch (token) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new DataSetException(String.format("Invalid json dataset, only scalar values are supported for column '%s' of table '%s' but found %s", columnName, tableName, token));
+        }
+    }
+}
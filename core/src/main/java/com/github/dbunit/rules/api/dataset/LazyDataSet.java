@@ -0,0 +1,708 @@
+package com.github.dbunit.rules.api.dataset;
+
+import org.dbunit.dataset.AbstractDataSet;
+import org.dbunit.dataset.CachedDataSet;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.CompositeTable;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableIterator;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.NoSuchTableException;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.stream.IDataSetConsumer;
+import org.dbunit.dataset.xml.FlatXmlProducer;
+import org.xml.sax.InputSource;
+import org.yaml.snakeyaml.reader.UnicodeReader;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DataSet which materializes its tables on demand. Table names are indexed on first read and rows of a table are only
+ * parsed when the table is requested, so tests using a few tables of a large dataset don't pay for the others.
+ * Iterating the dataset materializes all remaining tables at once.
+ *
+ * Table metadata is served from the index when it has columns (flat xml), otherwise the returned metadata only knows
+ * its table name and materializes all remaining tables at once when its columns are requested, so filters which only
+ * look at table names (e.g. sequence filtering) don't load any rows.
+ *
+ * See {@link #yaml(InputStream)}, {@link #json(InputStream)}, {@link #flatXml(InputStream)} and {@link #composite(IDataSet...)}.
+ */
+public abstract class LazyDataSet extends AbstractDataSet {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * table names in declaration order
+     */
+    private List<String> tableNames;
+
+    /**
+     * upper case table name to declared table name
+     */
+    private Map<String, String> declaredNames;
+
+    /**
+     * materialized tables by declared name
+     */
+    private final Map<String, ITable> tables = new HashMap<>();
+
+    /**
+     * @return table names in declaration order or <code>null</code> if tables can't be indexed without parsing the
+     * whole dataset, in this case all tables are materialized on first read
+     */
+    protected abstract List<String> indexTables() throws DataSetException;
+
+    /**
+     * @param tableNames tables to load or <code>null</code> to load all tables
+     * @return loaded tables by table name, in declaration order
+     */
+    protected abstract Map<String, ITable> loadTables(Collection<String> tableNames) throws DataSetException;
+
+    /**
+     * @param tableName declared table name
+     * @return metadata collected while indexing tables or <code>null</code> if columns are only known after parsing table rows
+     */
+    protected ITableMetaData indexedMetaData(String tableName) {
+        return null;
+    }
+
+    /**
+     * @return <code>true</code> if loading any table requires a pass over the whole document, in this case all remaining
+     * tables are loaded by the first request
+     */
+    protected boolean isSinglePass() {
+        return false;
+    }
+
+    public static LazyDataSet yaml(InputStream source) throws DataSetException {
+        return new Yaml(read(source));
+    }
+
+    public static LazyDataSet json(InputStream source) throws DataSetException {
+        return new Json(read(source));
+    }
+
+    public static LazyDataSet flatXml(InputStream source) throws DataSetException {
+        return new FlatXml(read(source));
+    }
+
+    /**
+     * @return dataset merging given datasets without materializing their tables. Tables with the same name are combined,
+     * like in {@link org.dbunit.dataset.CompositeDataSet}
+     */
+    public static LazyDataSet composite(IDataSet... dataSets) {
+        return new Composite(dataSets);
+    }
+
+    @Override
+    public synchronized String[] getTableNames() throws DataSetException {
+        index();
+        return tableNames.toArray(new String[tableNames.size()]);
+    }
+
+    @Override
+    public synchronized ITableMetaData getTableMetaData(String tableName) throws DataSetException {
+        String declaredName = getDeclaredName(tableName);
+        ITable table = tables.get(declaredName);
+        if (table != null) {
+            return table.getTableMetaData();
+        }
+        ITableMetaData metaData = indexedMetaData(declaredName);
+        return metaData != null ? metaData : new LazyTableMetaData(declaredName);
+    }
+
+    @Override
+    public synchronized ITable getTable(String tableName) throws DataSetException {
+        String declaredName = getDeclaredName(tableName);
+        ITable table = tables.get(declaredName);
+        if (table == null) {
+            if (isSinglePass()) {
+                loadRemainingTables();
+            } else {
+                store(loadTables(Arrays.asList(declaredName)));
+            }
+            table = tables.get(declaredName);
+        }
+        return table;
+    }
+
+    /**
+     * @return <code>true</code> if given table rows were already parsed
+     */
+    public synchronized boolean isMaterialized(String tableName) throws DataSetException {
+        index();
+        String declaredName = declaredNames.get(tableName.toUpperCase());
+        return declaredName != null && tables.containsKey(declaredName);
+    }
+
+    @Override
+    public boolean isCaseSensitiveTableNames() {
+        return false;
+    }
+
+    @Override
+    protected synchronized ITableIterator createIterator(boolean reverse) throws DataSetException {
+        loadRemainingTables();
+        ITable[] result = new ITable[tableNames.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = tables.get(tableNames.get(i));
+        }
+        return new DefaultTableIterator(result, reverse);
+    }
+
+    private String getDeclaredName(String tableName) throws DataSetException {
+        index();
+        String declaredName = declaredNames.get(tableName.toUpperCase());
+        if (declaredName == null) {
+            throw new NoSuchTableException(tableName);
+        }
+        return declaredName;
+    }
+
+    /**
+     * Loads all tables which are not materialized yet in one batch.
+     */
+    private void loadRemainingTables() throws DataSetException {
+        index();
+        List<String> missing = new ArrayList<>();
+        for (String tableName : tableNames) {
+            if (!tables.containsKey(tableName)) {
+                missing.add(tableName);
+            }
+        }
+        if (!missing.isEmpty()) {
+            store(loadTables(missing.size() == tableNames.size() ? null : missing));
+        }
+    }
+
+    private void index() throws DataSetException {
+        if (tableNames != null) {
+            return;
+        }
+        List<String> indexedNames = indexTables();
+        Map<String, ITable> loaded = null;
+        if (indexedNames == null) {
+            loaded = loadTables(null);
+            indexedNames = new ArrayList<>(loaded.keySet());
+        }
+        declaredNames = new HashMap<>();
+        for (String tableName : indexedNames) {
+            declaredNames.put(tableName.toUpperCase(), tableName);
+        }
+        tableNames = indexedNames;
+        if (loaded != null) {
+            store(loaded);
+        }
+    }
+
+    private void store(Map<String, ITable> loaded) {
+        for (Map.Entry<String, ITable> table : loaded.entrySet()) {
+            String declaredName = declaredNames.get(table.getKey().toUpperCase());
+            tables.put(declaredName != null ? declaredName : table.getKey(), table.getValue());
+        }
+    }
+
+    private static byte[] read(InputStream source) throws DataSetException {
+        try (InputStream is = source) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                content.write(buffer, 0, read);
+            }
+            return content.toByteArray();
+        } catch (IOException e) {
+            throw new DataSetException("Could not read dataset.", e);
+        }
+    }
+
+    private static Map<String, ITable> tablesOf(IDataSet dataSet) throws DataSetException {
+        Map<String, ITable> tables = new LinkedHashMap<>();
+        for (ITable table : dataSet.getTables()) {
+            tables.put(table.getTableMetaData().getTableName(), table);
+        }
+        return tables;
+    }
+
+    /**
+     * Metadata of a table which is not materialized yet, its columns materialize all remaining tables.
+     */
+    private class LazyTableMetaData implements ITableMetaData {
+
+        private final String tableName;
+
+        LazyTableMetaData(String tableName) {
+            this.tableName = tableName;
+        }
+
+        @Override
+        public String getTableName() {
+            return tableName;
+        }
+
+        @Override
+        public Column[] getColumns() throws DataSetException {
+            return materialized().getColumns();
+        }
+
+        @Override
+        public Column[] getPrimaryKeys() throws DataSetException {
+            return materialized().getPrimaryKeys();
+        }
+
+        @Override
+        public int getColumnIndex(String columnName) throws DataSetException {
+            return materialized().getColumnIndex(columnName);
+        }
+
+        private ITableMetaData materialized() throws DataSetException {
+            synchronized (LazyDataSet.this) {
+                loadRemainingTables();
+                return tables.get(tableName).getTableMetaData();
+            }
+        }
+    }
+
+    /**
+     * Indexes tables by scanning top level keys (lines starting at first column), each table is materialized by parsing
+     * its own slice of the document. Documents using anchors, flow or complex keys at top level are parsed at once.
+     */
+    private static class Yaml extends LazyDataSet {
+
+        private static final Pattern TABLE_KEY = Pattern.compile("([A-Za-z_$][\\w$.]*)\\s*:(\\s.*)?");
+
+        private static final Pattern ANCHOR = Pattern.compile("(^|[\\s,\\[{])&\\S", Pattern.MULTILINE);
+
+        private final byte[] content;
+
+        private final Map<String, String> slices = new HashMap<>();
+
+        Yaml(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        protected List<String> indexTables() throws DataSetException {
+            String document = decode();
+            if (ANCHOR.matcher(document).find()) {
+                //tables may reference anchors of other tables
+                return null;
+            }
+            List<String> tableNames = new ArrayList<>();
+            String tableName = null;
+            int tableStart = 0;
+            int lineStart = 0;
+            while (lineStart <= document.length()) {
+                int lineEnd = document.indexOf('\n', lineStart);
+                if (lineEnd == -1) {
+                    lineEnd = document.length();
+                }
+                String line = document.substring(lineStart, lineEnd);
+                if (line.startsWith("---") || line.startsWith("...")) {
+                    //document markers
+                    return null;
+                }
+                if (!line.isEmpty() && !Character.isWhitespace(line.charAt(0)) && line.charAt(0) != '#' && line.charAt(0) != '-') {
+                    Matcher matcher = TABLE_KEY.matcher(line.trim());
+                    if (!matcher.matches() || tableNames.contains(matcher.group(1).toUpperCase())) {
+                        return null;
+                    }
+                    if (tableName != null) {
+                        slices.put(tableName, document.substring(tableStart, lineStart));
+                    }
+                    tableName = matcher.group(1).toUpperCase();
+                    tableStart = lineStart;
+                    tableNames.add(tableName);
+                } else if (tableName == null && line.startsWith("-")) {
+                    return null;
+                }
+                lineStart = lineEnd + 1;
+            }
+            if (tableName != null) {
+                slices.put(tableName, document.substring(tableStart));
+            }
+            return tableNames;
+        }
+
+        @Override
+        protected Map<String, ITable> loadTables(Collection<String> tableNames) throws DataSetException {
+            if (tableNames == null) {
+                return tablesOf(new YamlDataSet(new ByteArrayInputStream(content)));
+            }
+            Map<String, ITable> tables = new LinkedHashMap<>();
+            for (String tableName : tableNames) {
+                YamlDataSet dataSet = new YamlDataSet(new ByteArrayInputStream(slices.remove(tableName).getBytes(UTF8)));
+                tables.put(tableName, dataSet.getTable(tableName));
+            }
+            return tables;
+        }
+
+        private String decode() throws DataSetException {
+            try (Reader reader = new UnicodeReader(new ByteArrayInputStream(content))) {
+                StringBuilder document = new StringBuilder(content.length);
+                char[] buffer = new char[8192];
+                int read;
+                while ((read = reader.read(buffer)) != -1) {
+                    document.append(buffer, 0, read);
+                }
+                return document.toString();
+            } catch (IOException e) {
+                throw new DataSetException("Could not read yaml dataset.", e);
+            }
+        }
+    }
+
+    /**
+     * Indexes tables by scanning the top level object for table arrays boundaries, each table is materialized by parsing
+     * its own slice of the document.
+     */
+    private static class Json extends LazyDataSet {
+
+        private final byte[] content;
+
+        private final Map<String, String> slices = new HashMap<>();
+
+        Json(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        protected List<String> indexTables() throws DataSetException {
+            String document = new String(content, UTF8);
+            List<String> tableNames = new ArrayList<>();
+            int position = skipWhitespaces(document, 0);
+            if (position >= document.length() || document.charAt(position) != '{') {
+                return null;
+            }
+            position = skipWhitespaces(document, position + 1);
+            while (position < document.length() && document.charAt(position) == '"') {
+                int nameStart = position;
+                int nameEnd = document.indexOf('"', nameStart + 1);
+                if (nameEnd == -1) {
+                    return null;
+                }
+                String tableName = document.substring(nameStart + 1, nameEnd);
+                if (tableName.contains("\\") || tableNames.contains(tableName)) {
+                    return null;
+                }
+                position = skipWhitespaces(document, nameEnd + 1);
+                if (position >= document.length() || document.charAt(position) != ':') {
+                    return null;
+                }
+                int valueEnd = skipValue(document, skipWhitespaces(document, position + 1));
+                if (valueEnd == -1) {
+                    return null;
+                }
+                tableNames.add(tableName);
+                slices.put(tableName, "{" + document.substring(nameStart, valueEnd) + "}");
+                position = skipWhitespaces(document, valueEnd);
+                if (position < document.length() && document.charAt(position) == ',') {
+                    position = skipWhitespaces(document, position + 1);
+                }
+            }
+            if (position >= document.length() || document.charAt(position) != '}') {
+                return null;
+            }
+            return tableNames;
+        }
+
+        @Override
+        protected Map<String, ITable> loadTables(Collection<String> tableNames) throws DataSetException {
+            if (tableNames == null) {
+                return tablesOf(new JSONDataSet(new ByteArrayInputStream(content)));
+            }
+            Map<String, ITable> tables = new LinkedHashMap<>();
+            for (String tableName : tableNames) {
+                JSONDataSet dataSet = new JSONDataSet(new ByteArrayInputStream(slices.remove(tableName).getBytes(UTF8)));
+                tables.put(tableName, dataSet.getTable(tableName));
+            }
+            return tables;
+        }
+
+        private static int skipWhitespaces(String document, int position) {
+            while (position < document.length() && Character.isWhitespace(document.charAt(position))) {
+                position++;
+            }
+            return position;
+        }
+
+        /**
+         * @return position after the value starting at given position or -1 if value is not terminated
+         */
+        private static int skipValue(String document, int position) {
+            int depth = 0;
+            boolean inString = false;
+            for (int i = position; i < document.length(); i++) {
+                char c = document.charAt(i);
+                if (inString) {
+                    if (c == '\\') {
+                        i++;
+                    } else if (c == '"') {
+                        inString = false;
+                        if (depth == 0) {
+                            return i + 1;
+                        }
+                    }
+                } else if (c == '"') {
+                    inString = true;
+                } else if (c == '[' || c == '{') {
+                    depth++;
+                } else if (c == ']' || c == '}') {
+                    if (depth == 0) {
+                        return i;
+                    }
+                    if (--depth == 0) {
+                        return i + 1;
+                    }
+                } else if (depth == 0 && (c == ',' || Character.isWhitespace(c))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Indexes tables and their columns with a StAX scan of row elements, the first requested table materializes all
+     * remaining tables in a single pass. Datasets declaring a DTD are parsed at once as the DTD may declare tables without rows.
+     */
+    private static class FlatXml extends LazyDataSet {
+
+        private static final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+
+        static {
+            xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        }
+
+        private final byte[] content;
+
+        /**
+         * upper case table name to upper case column name to declared column name, in declaration order
+         */
+        private final Map<String, Map<String, String>> columns = new LinkedHashMap<>();
+
+        private final Map<String, ITableMetaData> metaData = new HashMap<>();
+
+        FlatXml(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        protected ITableMetaData indexedMetaData(String tableName) {
+            ITableMetaData tableMetaData = metaData.get(tableName);
+            if (tableMetaData == null) {
+                Map<String, String> tableColumns = columns.get(tableName.toUpperCase());
+                if (tableColumns == null) {
+                    return null;
+                }
+                List<Column> result = new ArrayList<>();
+                for (String column : tableColumns.values()) {
+                    result.add(new Column(column, DataType.UNKNOWN));
+                }
+                tableMetaData = new DefaultTableMetaData(tableName, result.toArray(new Column[result.size()]));
+                metaData.put(tableName, tableMetaData);
+            }
+            return tableMetaData;
+        }
+
+        @Override
+        protected boolean isSinglePass() {
+            return true;
+        }
+
+        @Override
+        protected List<String> indexTables() throws DataSetException {
+            Set<String> tableNames = new HashSet<>();
+            List<String> orderedNames = new ArrayList<>();
+            XMLStreamReader reader = null;
+            try {
+                reader = xmlInputFactory.createXMLStreamReader(new ByteArrayInputStream(content));
+                int depth = 0;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamReader.DTD) {
+                        columns.clear();
+                        return null;
+                    }
+                    if (event == XMLStreamReader.START_ELEMENT) {
+                        depth++;
+                        if (depth == 2) {
+                            String tableName = reader.getLocalName().toUpperCase();
+                            if (tableNames.add(tableName)) {
+                                orderedNames.add(reader.getLocalName());
+                                columns.put(tableName, new LinkedHashMap<String, String>());
+                            }
+                            Map<String, String> tableColumns = columns.get(tableName);
+                            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                                String column = reader.getAttributeLocalName(i);
+                                if (!tableColumns.containsKey(column.toUpperCase())) {
+                                    tableColumns.put(column.toUpperCase(), column);
+                                }
+                            }
+                        }
+                    } else if (event == XMLStreamReader.END_ELEMENT) {
+                        depth--;
+                    }
+                }
+                return orderedNames;
+            } catch (XMLStreamException e) {
+                //reported with line and column when parsing
+                columns.clear();
+                return null;
+            } finally {
+                if (reader != null) {
+                    try {
+                        reader.close();
+                    } catch (XMLStreamException e) {
+                        //ignore
+                    }
+                }
+            }
+        }
+
+        @Override
+        protected Map<String, ITable> loadTables(Collection<String> tableNames) throws DataSetException {
+            FlatXmlProducer producer = new FlatXmlProducer(new InputSource(new ByteArrayInputStream(content)), true, false, false);
+            CachedDataSet dataSet = new CachedDataSet();
+            producer.setConsumer(tableNames == null ? dataSet : new TableFilterConsumer(dataSet, tableNames));
+            producer.produce();
+            return tablesOf(dataSet);
+        }
+    }
+
+    /**
+     * Merges tables of its datasets, tables with the same name are combined in dataset order.
+     */
+    private static class Composite extends LazyDataSet {
+
+        private final IDataSet[] dataSets;
+
+        Composite(IDataSet[] dataSets) {
+            this.dataSets = dataSets;
+        }
+
+        @Override
+        protected List<String> indexTables() throws DataSetException {
+            List<String> tableNames = new ArrayList<>();
+            Set<String> upperCaseNames = new HashSet<>();
+            for (IDataSet dataSet : dataSets) {
+                for (String tableName : dataSet.getTableNames()) {
+                    if (upperCaseNames.add(tableName.toUpperCase())) {
+                        tableNames.add(tableName);
+                    }
+                }
+            }
+            return tableNames;
+        }
+
+        @Override
+        protected Map<String, ITable> loadTables(Collection<String> tableNames) throws DataSetException {
+            Map<String, List<ITable>> dataSetTables = new LinkedHashMap<>();
+            for (String tableName : tableNames == null ? indexTables() : tableNames) {
+                dataSetTables.put(tableName.toUpperCase(), new ArrayList<ITable>());
+            }
+            for (IDataSet dataSet : dataSets) {
+                if (tableNames == null) {
+                    //materialize each dataset at once
+                    for (ITable table : dataSet.getTables()) {
+                        dataSetTables.get(table.getTableMetaData().getTableName().toUpperCase()).add(table);
+                    }
+                    continue;
+                }
+                Set<String> names = new HashSet<>();
+                for (String tableName : dataSet.getTableNames()) {
+                    names.add(tableName.toUpperCase());
+                }
+                for (String tableName : tableNames) {
+                    if (names.contains(tableName.toUpperCase())) {
+                        dataSetTables.get(tableName.toUpperCase()).add(dataSet.getTable(tableName));
+                    }
+                }
+            }
+            Map<String, ITable> tables = new LinkedHashMap<>();
+            for (List<ITable> sameNameTables : dataSetTables.values()) {
+                ITable table = sameNameTables.get(0);
+                if (sameNameTables.size() > 1) {
+                    table = new CompositeTable(table.getTableMetaData(), sameNameTables.toArray(new ITable[sameNameTables.size()]));
+                }
+                tables.put(table.getTableMetaData().getTableName(), table);
+            }
+            return tables;
+        }
+    }
+
+    /**
+     * Forwards only the given tables to its delegate.
+     */
+    private static class TableFilterConsumer implements IDataSetConsumer {
+
+        private final IDataSetConsumer delegate;
+
+        private final Set<String> tableNames = new HashSet<>();
+
+        private boolean accepted;
+
+        TableFilterConsumer(IDataSetConsumer delegate, Collection<String> tableNames) {
+            this.delegate = delegate;
+            for (String tableName : tableNames) {
+                this.tableNames.add(tableName.toUpperCase());
+            }
+        }
+
+        @Override
+        public void startDataSet() throws DataSetException {
+            delegate.startDataSet();
+        }
+
+        @Override
+        public void endDataSet() throws DataSetException {
+            delegate.endDataSet();
+        }
+
+        @Override
+        public void startTable(ITableMetaData metaData) throws DataSetException {
+            accepted = tableNames.contains(metaData.getTableName().toUpperCase());
+            if (accepted) {
+                delegate.startTable(metaData);
+            }
+        }
+
+        @Override
+        public void endTable() throws DataSetException {
+            if (accepted) {
+                delegate.endTable();
+            }
+        }
+
+        @Override
+        public void row(Object[] values) throws DataSetException {
+            if (accepted) {
+                delegate.row(values);
+            }
+        }
+    }
+}
@@ -22,12 +22,21 @@ import org.dbunit.operation.DatabaseOperation;
 
  UPDATE
  This strategy updates existing rows using data provided in the datasets. If dataset contain a row which is not present in the database (identified by its primary key) then exception is thrown.
+
+ BULK_INSERT
+ Same as INSERT but rows are inserted in chunks of DBUnit batchSize rows, using multi row inserts or JDBC batches (see BulkInsertOperation).
+ Bulk operations are resolved by the dataset executor, {@link #getOperation()} returns the equivalent DBUnit operation.
+
+ CLEAN_BULK_INSERT
+ Same as BULK_INSERT after removal of all data present in the tables.
  */
 public enum SeedStrategy {
     CLEAN_INSERT(DatabaseOperation.CLEAN_INSERT),
     INSERT(DatabaseOperation.INSERT),
     REFRESH(DatabaseOperation.REFRESH),
-    UPDATE(DatabaseOperation.UPDATE);
+    UPDATE(DatabaseOperation.UPDATE),
+    BULK_INSERT(DatabaseOperation.INSERT),
+    CLEAN_BULK_INSERT(DatabaseOperation.CLEAN_INSERT);
 
     private final DatabaseOperation operation;
 
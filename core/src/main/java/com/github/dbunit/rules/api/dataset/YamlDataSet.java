@@ -5,93 +5,46 @@ package com.github.dbunit.rules.api.dataset;
  */
 
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.dbunit.dataset.*;
-import org.dbunit.dataset.datatype.DataType;
-import org.yaml.snakeyaml.Yaml;
+import org.dbunit.dataset.stream.DefaultConsumer;
 
 public class YamlDataSet implements IDataSet {
 
-  private Map<String, MyTable> tables = new HashMap<String, MyTable>();
+  private Map<String, ColumnarTable> tables = new LinkedHashMap<String, ColumnarTable>();
 
   public YamlDataSet(InputStream source) {
-    @SuppressWarnings("unchecked")
-    Map<String, List<Map<String, Object>>> data = (Map<String, List<Map<String, Object>>>) new Yaml().load(source);
-    if(data != null){
-      for (Map.Entry<String, List<Map<String, Object>>> ent : data.entrySet()) {
-        String tableName = ent.getKey();
-        List<Map<String, Object>> rows = ent.getValue();
-        createTable(tableName.toUpperCase(), rows);
-      }
+    YamlDataSetProducer producer = new YamlDataSetProducer(source);
+    try {
+      producer.setConsumer(new TablesConsumer());
+      producer.produce();
+    } catch (DataSetException e) {
+      throw new RuntimeException(e.getMessage(), e);
     }
-
   }
 
-  class MyTable implements ITable {
-    String                    name;
-
-    List<Map<String, Object>> data;
-
-    ITableMetaData            meta;
-
-    MyTable(String name, List<String> columnNames) {
-      this.name = name;
-      this.data = new ArrayList<Map<String, Object>>();
-      meta = createMeta(name, columnNames);
-    }
-
-    ITableMetaData createMeta(String name, List<String> columnNames) {
-      Column[] columns = null;
-      if (columnNames != null) {
-        columns = new Column[columnNames.size()];
-        for (int i = 0; i < columnNames.size(); i++)
-          columns[i] = new Column(columnNames.get(i), DataType.UNKNOWN);
-      } else{
-        columns = new Column[0];
-      }
-      return new DefaultTableMetaData(name, columns);
-    }
-
-    public int getRowCount() {
-      return data.size();
-    }
+  class TablesConsumer extends DefaultConsumer {
 
-    public ITableMetaData getTableMetaData() {
-      return meta;
-    }
+    ColumnarTable current;
 
-    public Object getValue(int row, String column) throws DataSetException {
-      if (data.size() <= row)
-        throw new RowOutOfBoundsException("" + row);
-      return data.get(row).get(column.toUpperCase());
+    @Override
+    public void startTable(ITableMetaData metaData) throws DataSetException {
+      current = new ColumnarTable(metaData);
     }
 
-    public void addRow(Map<String, Object> values) {
-      data.add(convertMap(values));
+    @Override
+    public void row(Object[] values) throws DataSetException {
+      current.addRow(values);
     }
 
-    Map<String, Object> convertMap(Map<String, Object> values) {
-      Map<String, Object> ret = new HashMap<String, Object>();
-      for (Map.Entry<String, Object> ent : values.entrySet()) {
-        ret.put(ent.getKey().toUpperCase(), ent.getValue());
-      }
-      return ret;
-    }
-
-  }
-
-  MyTable createTable(String name, List<Map<String, Object>> rows) {
-    MyTable table = new MyTable(name, (rows != null && rows.size() > 0) ? new ArrayList<String>(rows.get(0).keySet()) : null);
-    if(rows != null){
-      for (Map<String, Object> values : rows)
-        table.addRow(values);
+    @Override
+    public void endTable() throws DataSetException {
+      current.trimToSize();
+      tables.put(current.getTableMetaData().getTableName().toUpperCase(), current);
+      current = null;
     }
-    tables.put(name.toUpperCase(), table);
-    return table;
   }
 
   public ITable getTable(String tableName) throws DataSetException {
@@ -99,9 +52,9 @@ public class YamlDataSet implements IDataSet {
   }
 
   public ITableMetaData getTableMetaData(final String tableName) throws DataSetException {
-    MyTable myTable = tables.get(tableName.toUpperCase());
-    if(myTable != null){
-      return tables.get(tableName.toUpperCase()).getTableMetaData();
+    ColumnarTable table = tables.get(tableName.toUpperCase());
+    if(table != null){
+      return table.getTableMetaData();
     }
     return null;
   }
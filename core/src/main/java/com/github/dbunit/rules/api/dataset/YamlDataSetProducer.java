@@ -0,0 +1,284 @@
+package com.github.dbunit.rules.api.dataset;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.stream.DefaultConsumer;
+import org.dbunit.dataset.stream.IDataSetConsumer;
+import org.dbunit.dataset.stream.IDataSetProducer;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.reader.UnicodeReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streams a YAML dataset to a {@link IDataSetConsumer} using SnakeYAML event (parse) API so rows are emitted as they
+ * are read, without building the intermediate document object tree.
+ *
+ * Columns of a table are the keys of its first row, keys of subsequent rows not present in first row are ignored.
+ * Anchored rows can be reused by aliases and merge keys (<code>&lt;&lt;: *defaults</code>), as in document based
+ * loading.
+ */
+public class YamlDataSetProducer implements IDataSetProducer {
+
+    private final InputStream source;
+
+    private final Resolver resolver = new Resolver();
+
+    private final ScalarConstructor constructor = new ScalarConstructor();
+
+    private final Map<String, Object> anchors = new HashMap<>();
+
+    private IDataSetConsumer consumer = new DefaultConsumer();
+
+    private Iterator<Event> events;
+
+    public YamlDataSetProducer(InputStream source) {
+        this.source = source;
+    }
+
+    @Override
+    public void setConsumer(IDataSetConsumer consumer) throws DataSetException {
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void produce() throws DataSetException {
+        try {
+            events = new Yaml().parse(new UnicodeReader(source)).iterator();
+            consumer.startDataSet();
+            nextEvent();//stream start
+            Event event = nextEvent();
+            if (event.is(Event.ID.DocumentStart)) {
+                event = nextEvent();
+                if (event.is(Event.ID.MappingStart)) {
+                    produceTables();
+                } else if (!isEmptyScalar(event)) {
+                    throw new DataSetException("Invalid yaml dataset, expected a mapping of tables but found " + event);
+                }
+            }
+            consumer.endDataSet();
+        } catch (DataSetException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DataSetException("Could not parse yaml dataset.", e);
+        } finally {
+            anchors.clear();
+        }
+    }
+
+    private void produceTables() throws DataSetException {
+        Event event;
+        while (!(event = nextEvent()).is(Event.ID.MappingEnd)) {
+            if (!event.is(Event.ID.Scalar)) {
+                throw new DataSetException("Invalid yaml dataset, expected a table name but found " + event);
+            }
+            String tableName = ((ScalarEvent) event).getValue().toUpperCase();
+            event = nextEvent();
+            if (event.is(Event.ID.SequenceStart)) {
+                produceRows(tableName);
+            } else if (isEmptyScalar(event)) {
+                consumer.startTable(new DefaultTableMetaData(tableName, new Column[0]));
+                consumer.endTable();
+            } else {
+                throw new DataSetException(String.format("Invalid yaml dataset, expected a list of rows for table '%s' but found %s", tableName, event));
+            }
+        }
+    }
+
+    private void produceRows(String tableName) throws DataSetException {
+        Map<String, Integer> columnIndexes = null;
+        Event event;
+        while (!(event = nextEvent()).is(Event.ID.SequenceEnd)) {
+            if (isEmptyScalar(event)) {
+                continue;
+            }
+            Map<String, Object> row = readRow(tableName, event);
+            if (columnIndexes == null) {
+                columnIndexes = produceFirstRow(tableName, row);
+            } else {
+                produceRow(columnIndexes, row);
+            }
+        }
+        if (columnIndexes == null) {
+            //no rows
+            consumer.startTable(new DefaultTableMetaData(tableName, new Column[0]));
+        }
+        consumer.endTable();
+    }
+
+    /**
+     * first row defines table columns
+     */
+    private Map<String, Integer> produceFirstRow(String tableName, Map<String, Object> row) throws DataSetException {
+        Map<String, Integer> columnIndexes = new HashMap<>(row.size() * 2);
+        Column[] columns = new Column[row.size()];
+        int i = 0;
+        for (String columnName : row.keySet()) {
+            columns[i] = new Column(columnName, DataType.UNKNOWN);
+            columnIndexes.put(columnName.toUpperCase(), i++);
+        }
+        consumer.startTable(new DefaultTableMetaData(tableName, columns));
+        consumer.row(row.values().toArray());
+        return columnIndexes;
+    }
+
+    private void produceRow(Map<String, Integer> columnIndexes, Map<String, Object> row) throws DataSetException {
+        Object[] values = new Object[columnIndexes.size()];
+        for (Map.Entry<String, Object> column : row.entrySet()) {
+            Integer index = columnIndexes.get(column.getKey().toUpperCase());
+            if (index != null) {
+                values[index] = column.getValue();
+            }
+        }
+        consumer.row(values);
+    }
+
+    /**
+     * @param event start of the row, a mapping or an alias of an anchored one
+     * @return row columns and values, in document order
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readRow(String tableName, Event event) throws DataSetException {
+        if (event.is(Event.ID.Alias)) {
+            Object row = getAnchored(tableName, (AliasEvent) event);
+            if (!(row instanceof Map)) {
+                throw new DataSetException(String.format("Invalid yaml dataset, alias '%s' in table '%s' is not a row", ((AliasEvent) event).getAnchor(), tableName));
+            }
+            return (Map<String, Object>) row;
+        }
+        if (!event.is(Event.ID.MappingStart)) {
+            throw new DataSetException(String.format("Invalid yaml dataset, expected a row for table '%s' but found %s", tableName, event));
+        }
+        Map<String, Object> row = new LinkedHashMap<>();
+        Map<String, Object> merged = null;
+        Event columnEvent;
+        while (!(columnEvent = nextEvent()).is(Event.ID.MappingEnd)) {
+            String columnName = readColumnName(tableName, columnEvent);
+            if (isMergeKey((ScalarEvent) columnEvent)) {
+                if (merged == null) {
+                    merged = new LinkedHashMap<>();
+                }
+                merge(tableName, nextEvent(), merged);
+            } else {
+                row.put(columnName, readValue(tableName, nextEvent()));
+            }
+        }
+        if (merged != null) {
+            //merged columns come first, like SnakeYAML document construction, and are overridden by row own columns
+            merged.putAll(row);
+            row = merged;
+        }
+        String anchor = ((NodeEvent) event).getAnchor();
+        if (anchor != null) {
+            anchors.put(anchor, row);
+        }
+        return row;
+    }
+
+    /**
+     * adds columns of a merge key value (a row, an alias of one or a list of them) which are not merged yet, earlier
+     * rows take precedence
+     */
+    private void merge(String tableName, Event event, Map<String, Object> merged) throws DataSetException {
+        if (event.is(Event.ID.SequenceStart)) {
+            while (!(event = nextEvent()).is(Event.ID.SequenceEnd)) {
+                merge(tableName, event, merged);
+            }
+            return;
+        }
+        for (Map.Entry<String, Object> column : readRow(tableName, event).entrySet()) {
+            if (!merged.containsKey(column.getKey())) {
+                merged.put(column.getKey(), column.getValue());
+            }
+        }
+    }
+
+    private boolean isMergeKey(ScalarEvent event) {
+        return Tag.MERGE.equals(resolveScalar(event).getTag());
+    }
+
+    private String readColumnName(String tableName, Event event) throws DataSetException {
+        if (!event.is(Event.ID.Scalar)) {
+            throw new DataSetException(String.format("Invalid yaml dataset, expected a column name for table '%s' but found %s", tableName, event));
+        }
+        return ((ScalarEvent) event).getValue();
+    }
+
+    private Object readValue(String tableName, Event event) throws DataSetException {
+        if (event.is(Event.ID.Alias)) {
+            Object value = getAnchored(tableName, (AliasEvent) event);
+            if (value instanceof Map) {
+                throw new DataSetException(String.format("Invalid yaml dataset, only scalar column values are supported in table '%s' but found alias of a row '%s'", tableName, ((AliasEvent) event).getAnchor()));
+            }
+            return value;
+        }
+        if (!event.is(Event.ID.Scalar)) {
+            throw new DataSetException(String.format("Invalid yaml dataset, only scalar column values are supported in table '%s' but found %s", tableName, event));
+        }
+        Object value = constructor.construct(resolveScalar((ScalarEvent) event));
+        String anchor = ((NodeEvent) event).getAnchor();
+        if (anchor != null) {
+            anchors.put(anchor, value);
+        }
+        return value;
+    }
+
+    private Object getAnchored(String tableName, AliasEvent event) throws DataSetException {
+        String anchor = event.getAnchor();
+        if (!anchors.containsKey(anchor)) {
+            throw new DataSetException(String.format("Invalid yaml dataset, unknown alias '%s' in table '%s'", anchor, tableName));
+        }
+        return anchors.get(anchor);
+    }
+
+    /**
+     * same tag resolution SnakeYAML composer does when building the document tree
+     */
+    private ScalarNode resolveScalar(ScalarEvent event) {
+        Tag tag;
+        if (event.getTag() == null || "!".equals(event.getTag())) {
+            tag = resolver.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar());
+        } else {
+            tag = new Tag(event.getTag());
+        }
+        return new ScalarNode(tag, event.getValue(), event.getStartMark(), event.getEndMark(), event.getStyle());
+    }
+
+    private boolean isEmptyScalar(Event event) {
+        return event.is(Event.ID.Scalar) && Tag.NULL.equals(resolveScalar((ScalarEvent) event).getTag());
+    }
+
+    private Event nextEvent() throws DataSetException {
+        if (!events.hasNext()) {
+            throw new DataSetException("Invalid yaml dataset, unexpected end of document.");
+        }
+        return events.next();
+    }
+
+    /**
+     * exposes SnakeYAML scalar constructors (int, float, bool, timestamp, null, str...)
+     * without keeping track of constructed nodes like document based construction does.
+     */
+    private static class ScalarConstructor extends SafeConstructor {
+
+        Object construct(ScalarNode node) {
+            return getConstructor(node).construct(node);
+        }
+    }
+}
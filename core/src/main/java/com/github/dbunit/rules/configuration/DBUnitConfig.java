@@ -22,6 +22,42 @@ public class DBUnitConfig {
 
     private boolean leakHunter = false;
 
+    private boolean cacheDataSets = false;
+
+    private int dataSetCacheSize = 100;
+
+    private boolean parallelDataSetLoading = false;
+
+    private boolean lazyDataSets = false;
+
+    private boolean typedDataSets = false;
+
+    private boolean nativeBulkLoad = false;
+
+    private boolean selectiveCleanup = false;
+
+    private boolean parallelSeeding = false;
+
+    private boolean cacheStatements = false;
+
+    private int statementCacheSize = 100;
+
+    private boolean cacheTableOrdering = false;
+
+    private boolean fastClean = false;
+
+    private boolean parallelCleanup = false;
+
+    private boolean skipEmptyTables = false;
+
+    private boolean cacheMetadata = false;
+
+    private int cleanupParallelism = 4;
+
+    private String tableOrderingCacheFile = "";
+
+    private String metadataCacheFile = "";
+
     private Map<String, Object> properties;
 
     private ConnectionConfig connectionConfig = new ConnectionConfig();
@@ -45,6 +81,19 @@ public class DBUnitConfig {
         dbUnitConfig.cacheConnection(dbUnit.cacheConnection()).
                 cacheTableNames(dbUnit.cacheTableNames()).
                 leakHunter(dbUnit.leakHunter()).
+                cacheDataSets(dbUnit.cacheDataSets()).
+                parallelDataSetLoading(dbUnit.parallelDataSetLoading()).
+                lazyDataSets(dbUnit.lazyDataSets()).
+                typedDataSets(dbUnit.typedDataSets()).
+                nativeBulkLoad(dbUnit.nativeBulkLoad()).
+                selectiveCleanup(dbUnit.selectiveCleanup()).
+                parallelSeeding(dbUnit.parallelSeeding()).
+                cacheStatements(dbUnit.cacheStatements()).
+                cacheTableOrdering(dbUnit.cacheTableOrdering()).
+                fastClean(dbUnit.fastClean()).
+                parallelCleanup(dbUnit.parallelCleanup()).
+                skipEmptyTables(dbUnit.skipEmptyTables()).
+                cacheMetadata(dbUnit.cacheMetadata()).
                 addDBUnitProperty("batchedStatements", dbUnit.batchedStatements()).
                 addDBUnitProperty("batchSize", dbUnit.batchSize()).
                 addDBUnitProperty("allowEmptyFields", dbUnit.allowEmptyFields()).
@@ -108,6 +157,71 @@ public class DBUnitConfig {
         return this;
     }
 
+    public DBUnitConfig cacheDataSets(boolean cacheDataSets) {
+        this.cacheDataSets = cacheDataSets;
+        return this;
+    }
+
+    public DBUnitConfig parallelDataSetLoading(boolean parallelDataSetLoading) {
+        this.parallelDataSetLoading = parallelDataSetLoading;
+        return this;
+    }
+
+    public DBUnitConfig lazyDataSets(boolean lazyDataSets) {
+        this.lazyDataSets = lazyDataSets;
+        return this;
+    }
+
+    public DBUnitConfig typedDataSets(boolean typedDataSets) {
+        this.typedDataSets = typedDataSets;
+        return this;
+    }
+
+    public DBUnitConfig nativeBulkLoad(boolean nativeBulkLoad) {
+        this.nativeBulkLoad = nativeBulkLoad;
+        return this;
+    }
+
+    public DBUnitConfig selectiveCleanup(boolean selectiveCleanup) {
+        this.selectiveCleanup = selectiveCleanup;
+        return this;
+    }
+
+    public DBUnitConfig parallelSeeding(boolean parallelSeeding) {
+        this.parallelSeeding = parallelSeeding;
+        return this;
+    }
+
+    public DBUnitConfig cacheStatements(boolean cacheStatements) {
+        this.cacheStatements = cacheStatements;
+        return this;
+    }
+
+    public DBUnitConfig cacheTableOrdering(boolean cacheTableOrdering) {
+        this.cacheTableOrdering = cacheTableOrdering;
+        return this;
+    }
+
+    public DBUnitConfig fastClean(boolean fastClean) {
+        this.fastClean = fastClean;
+        return this;
+    }
+
+    public DBUnitConfig parallelCleanup(boolean parallelCleanup) {
+        this.parallelCleanup = parallelCleanup;
+        return this;
+    }
+
+    public DBUnitConfig skipEmptyTables(boolean skipEmptyTables) {
+        this.skipEmptyTables = skipEmptyTables;
+        return this;
+    }
+
+    public DBUnitConfig cacheMetadata(boolean cacheMetadata) {
+        this.cacheMetadata = cacheMetadata;
+        return this;
+    }
+
     public DBUnitConfig addDBUnitProperty(String name, Object value) {
         properties.put(name, value);
         return this;
@@ -167,6 +281,150 @@ public class DBUnitConfig {
         return cacheTableNames;
     }
 
+    public boolean isCacheDataSets() {
+        return cacheDataSets;
+    }
+
+    public void setCacheDataSets(boolean cacheDataSets) {
+        this.cacheDataSets = cacheDataSets;
+    }
+
+    public int getDataSetCacheSize() {
+        return dataSetCacheSize;
+    }
+
+    public void setDataSetCacheSize(int dataSetCacheSize) {
+        this.dataSetCacheSize = dataSetCacheSize;
+    }
+
+    public boolean isParallelDataSetLoading() {
+        return parallelDataSetLoading;
+    }
+
+    public void setParallelDataSetLoading(boolean parallelDataSetLoading) {
+        this.parallelDataSetLoading = parallelDataSetLoading;
+    }
+
+    public boolean isLazyDataSets() {
+        return lazyDataSets;
+    }
+
+    public void setLazyDataSets(boolean lazyDataSets) {
+        this.lazyDataSets = lazyDataSets;
+    }
+
+    public boolean isTypedDataSets() {
+        return typedDataSets;
+    }
+
+    public void setTypedDataSets(boolean typedDataSets) {
+        this.typedDataSets = typedDataSets;
+    }
+
+    public boolean isNativeBulkLoad() {
+        return nativeBulkLoad;
+    }
+
+    public void setNativeBulkLoad(boolean nativeBulkLoad) {
+        this.nativeBulkLoad = nativeBulkLoad;
+    }
+
+    public boolean isSelectiveCleanup() {
+        return selectiveCleanup;
+    }
+
+    public void setSelectiveCleanup(boolean selectiveCleanup) {
+        this.selectiveCleanup = selectiveCleanup;
+    }
+
+    public boolean isParallelSeeding() {
+        return parallelSeeding;
+    }
+
+    public void setParallelSeeding(boolean parallelSeeding) {
+        this.parallelSeeding = parallelSeeding;
+    }
+
+    public boolean isCacheStatements() {
+        return cacheStatements;
+    }
+
+    public void setCacheStatements(boolean cacheStatements) {
+        this.cacheStatements = cacheStatements;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    public boolean isCacheTableOrdering() {
+        return cacheTableOrdering;
+    }
+
+    public void setCacheTableOrdering(boolean cacheTableOrdering) {
+        this.cacheTableOrdering = cacheTableOrdering;
+    }
+
+    public boolean isFastClean() {
+        return fastClean;
+    }
+
+    public void setFastClean(boolean fastClean) {
+        this.fastClean = fastClean;
+    }
+
+    public boolean isParallelCleanup() {
+        return parallelCleanup;
+    }
+
+    public void setParallelCleanup(boolean parallelCleanup) {
+        this.parallelCleanup = parallelCleanup;
+    }
+
+    public boolean isSkipEmptyTables() {
+        return skipEmptyTables;
+    }
+
+    public void setSkipEmptyTables(boolean skipEmptyTables) {
+        this.skipEmptyTables = skipEmptyTables;
+    }
+
+    public boolean isCacheMetadata() {
+        return cacheMetadata;
+    }
+
+    public void setCacheMetadata(boolean cacheMetadata) {
+        this.cacheMetadata = cacheMetadata;
+    }
+
+    public int getCleanupParallelism() {
+        return cleanupParallelism;
+    }
+
+    public void setCleanupParallelism(int cleanupParallelism) {
+        this.cleanupParallelism = cleanupParallelism;
+    }
+
+    public String getTableOrderingCacheFile() {
+        return tableOrderingCacheFile;
+    }
+
+    public void setTableOrderingCacheFile(String tableOrderingCacheFile) {
+        this.tableOrderingCacheFile = tableOrderingCacheFile;
+    }
+
+    public String getMetadataCacheFile() {
+        return metadataCacheFile;
+    }
+
+    public void setMetadataCacheFile(String metadataCacheFile) {
+        this.metadataCacheFile = metadataCacheFile;
+    }
+
     public boolean isLeakHunter() {
         return leakHunter;
     }
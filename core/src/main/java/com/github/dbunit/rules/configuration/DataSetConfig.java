@@ -17,6 +17,9 @@ public class DataSetConfig {
     private boolean cleanBefore = false;
     private boolean cleanAfter = false;
     private boolean transactional = false;
+    private boolean useSnapshot = false;
+    private boolean readOnly = false;
+    private boolean seedOnce = false;
     private String[] tableOrdering = {};
     private String[] executeStatementsBefore = {};
     private String[] executeStatementsAfter = {};
@@ -105,6 +108,21 @@ public class DataSetConfig {
     }
 
 
+    public DataSetConfig useSnapshot(boolean useSnapshot) {
+        this.useSnapshot = useSnapshot;
+        return this;
+    }
+
+    public DataSetConfig readOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+        return this;
+    }
+
+    public DataSetConfig seedOnce(boolean seedOnce) {
+        this.seedOnce = seedOnce;
+        return this;
+    }
+
     public DataSetConfig from(DataSet dataSet) {
         if(dataSet != null){
             return name(dataSet.value()).strategy(dataSet.strategy()).
@@ -117,6 +135,9 @@ public class DataSetConfig {
                     cleanBefore(dataSet.cleanBefore()).
                     cleanAfter(dataSet.cleanAfter()).
                     transactional(dataSet.transactional()).
+                    useSnapshot(dataSet.useSnapshot()).
+                    readOnly(dataSet.readOnly()).
+                    seedOnce(dataSet.seedOnce()).
                     executeStatementsAfter(dataSet.executeStatementsAfter()).
                     executeScriptsAfter(dataSet.executeScriptsAfter());
         } else{
@@ -146,6 +167,18 @@ public class DataSetConfig {
        return transactional;
     }
 
+    public boolean isUseSnapshot() {
+        return useSnapshot;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public boolean isSeedOnce() {
+        return seedOnce;
+    }
+
     public String[] getTableOrdering() {
         return tableOrdering;
     }
@@ -202,6 +235,18 @@ public class DataSetConfig {
         this.transactional = transactional;
     }
 
+    public void setUseSnapshot(boolean useSnapshot) {
+        this.useSnapshot = useSnapshot;
+    }
+
+    public void setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    public void setSeedOnce(boolean seedOnce) {
+        this.seedOnce = seedOnce;
+    }
+
     @Override
     public String toString() {
         return name;
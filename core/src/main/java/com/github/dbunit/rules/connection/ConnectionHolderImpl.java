@@ -11,17 +11,45 @@ public class ConnectionHolderImpl implements ConnectionHolder {
 
     private Connection connection;
 
+    private transient WriteTracker writeTracker;
+
+    private transient Connection trackedConnection;
+
     public ConnectionHolderImpl(Connection connection) {
         this.connection = connection;
     }
 
     @Override
     public Connection getConnection() {
-        return connection;
+        return writeTracker != null ? trackedConnection : connection;
     }
 
     public void setConnection(Connection connection) {
         this.connection = connection;
+        if (writeTracker != null) {
+            writeTracker.invalidate();
+            trackedConnection = WriteTrackingConnection.wrap(connection, writeTracker);
+        }
+    }
+
+    /**
+     * Starts tracking tables written through the connection returned by this holder.
+     * @return write tracker of this holder
+     */
+    public synchronized WriteTracker trackWrites() {
+        if (writeTracker == null) {
+            WriteTracker tracker = new WriteTracker();
+            trackedConnection = WriteTrackingConnection.wrap(connection, tracker);
+            writeTracker = tracker;
+        }
+        return writeTracker;
+    }
+
+    /**
+     * @return write tracker or <code>null</code> if writes are not being tracked
+     */
+    public WriteTracker getWriteTracker() {
+        return writeTracker;
     }
 
 }
@@ -0,0 +1,454 @@
+package com.github.dbunit.rules.connection;
+
+import com.github.dbunit.rules.util.DriverUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps results of schema metadata lookups (tables, columns, primary and foreign keys) made through its
+ * {@link #getConnection() connection}, so DBUnit, sequence filtering and clean up don't query database metadata again.
+ *
+ * Results are kept in {@link CachedRowSet cached rowsets} and replayed by read only result sets. When a file is given
+ * results are also stored in it (on {@link #close()} and JVM exit), keyed by connection url and user, along with a
+ * {@link #getSchemaFingerprint(Connection) fingerprint} of the schema. Stored results are only loaded if the fingerprint
+ * still matches, schema changes within a run are only detected through {@link #clear()}.
+ */
+public class MetadataCache {
+
+    private static final Logger log = LoggerFactory.getLogger(MetadataCache.class);
+
+    private static final Set<String> CACHED_METHODS = new HashSet<>(Arrays.asList("getTables", "getColumns", "getPrimaryKeys",
+            "getImportedKeys", "getExportedKeys", "getCrossReference", "getSchemas"));
+
+    /**
+     * guards cache files, which may be shared by caches of different connections
+     */
+    private static final Object fileLock = new Object();
+
+    private static final Set<MetadataCache> unsavedCaches = Collections.newSetFromMap(new ConcurrentHashMap<MetadataCache, Boolean>());
+
+    private static Thread shutdownHook;
+
+    private final Connection connection;
+
+    private final Connection proxy;
+
+    private final Path file;
+
+    private final Map<String, CachedResult> results = new ConcurrentHashMap<>();
+
+    private String databaseId;
+
+    private String fingerprint;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param file file where results are stored across runs, or <code>null</code>/empty to only cache them in memory
+     */
+    public MetadataCache(Connection connection, String file) {
+        this.connection = connection;
+        this.file = file == null || "".equals(file.trim()) ? null : Paths.get(file);
+        this.proxy = (Connection) Proxy.newProxyInstance(MetadataCache.class.getClassLoader(), new Class[]{Connection.class}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if ("getMetaData".equals(method.getName())) {
+                    DatabaseMetaData metaData = MetadataCache.this.connection.getMetaData();
+                    return Proxy.newProxyInstance(MetadataCache.class.getClassLoader(), new Class[]{DatabaseMetaData.class}, new CachingMetaData(metaData));
+                }
+                return delegate(MetadataCache.this.connection, method, args);
+            }
+        });
+        load();
+    }
+
+    /**
+     * @return connection whose metadata lookups are cached
+     */
+    public Connection getConnection() {
+        return proxy;
+    }
+
+    /**
+     * @return if cache wraps given connection
+     */
+    public boolean isFor(Connection connection) {
+        return this.connection == connection;
+    }
+
+    /**
+     * @return number of lookups answered from cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of lookups made on database
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Forgets cached results, including stored ones of cache database, e.g. when schema changes.
+     */
+    public void clear() {
+        results.clear();
+        if (file != null) {
+            fingerprint = null;
+            unsavedCaches.add(this);
+            registerShutdownHook();
+        }
+    }
+
+    /**
+     * Stores results in cache file, if there is one. Wrapped connection is not closed.
+     */
+    public void close() {
+        if (unsavedCaches.remove(this)) {
+            store();
+        }
+    }
+
+    private void load() {
+        if (file == null) {
+            return;
+        }
+        try {
+            databaseId = connection.getMetaData().getURL() + "|" + connection.getMetaData().getUserName();
+            fingerprint = getSchemaFingerprint(connection);
+        } catch (SQLException e) {
+            log.warn("Could not identify database of metadata cache, results will not be stored.", e);
+            databaseId = null;
+            return;
+        }
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        synchronized (fileLock) {
+            StoredResults stored = read().get(databaseId);
+            if (stored != null && stored.fingerprint.equals(fingerprint)) {
+                results.putAll(stored.results);
+                log.debug(String.format("Loaded %d metadata results from '%s'.", stored.results.size(), file));
+            }
+        }
+    }
+
+    private void store() {
+        if (file == null || databaseId == null) {
+            return;
+        }
+        synchronized (fileLock) {
+            try {
+                if (fingerprint == null) {
+                    fingerprint = getSchemaFingerprint(connection);
+                }
+                Map<String, StoredResults> stored = Files.isRegularFile(file) ? read() : new HashMap<String, StoredResults>();
+                stored.put(databaseId, new StoredResults(fingerprint, new HashMap<>(results)));
+                Path parent = file.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                Path temp = Files.createTempFile(parent, "dbunit-rules-", ".tmp");
+                try (ObjectOutputStream output = new ObjectOutputStream(Files.newOutputStream(temp))) {
+                    output.writeObject(stored);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException | SQLException e) {
+                log.warn(String.format("Could not write metadata cache file '%s'.", file), e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, StoredResults> read() {
+        try (InputStream input = Files.newInputStream(file); ObjectInputStream objects = new ObjectInputStream(input)) {
+            return (Map<String, StoredResults>) objects.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            log.warn(String.format("Could not read metadata cache file '%s', it will be overwritten.", file), e);
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * @return checksum of database schema (tables, columns, primary and foreign keys), cheap compared to the lookups it
+     * validates: object count and last DDL time on Oracle, a single columns lookup plus a constraints query on other
+     * databases, falling back to key lookups per table when the database has no known constraints view
+     */
+    public static String getSchemaFingerprint(Connection connection) throws SQLException {
+        CRC32 checksum = new CRC32();
+        DatabaseMetaData metaData = connection.getMetaData();
+        update(checksum, metaData.getDatabaseProductVersion());
+        String driverName = DriverUtils.getDriverName(connection);
+        if (DriverUtils.isOracle(driverName)) {
+            try (Statement statement = connection.createStatement()) {
+                update(checksum, statement, "SELECT COUNT(*), MAX(LAST_DDL_TIME) FROM USER_OBJECTS");
+            }
+            return Long.toHexString(checksum.getValue());
+        }
+        try (ResultSet tables = metaData.getTables(null, null, "%", new String[]{"TABLE", "VIEW"})) {
+            update(checksum, tables, "TABLE_SCHEM", "TABLE_NAME", "TABLE_TYPE");
+        }
+        try (ResultSet columns = metaData.getColumns(null, null, "%", "%")) {
+            update(checksum, columns, "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "DATA_TYPE", "TYPE_NAME", "COLUMN_SIZE",
+                    "DECIMAL_DIGITS", "NULLABLE");
+        }
+        String constraints = getConstraintsQuery(driverName);
+        if (constraints != null) {
+            try (Statement statement = connection.createStatement()) {
+                update(checksum, statement, constraints);
+            }
+        } else {
+            List<String[]> tableNames = new ArrayList<>();
+            try (ResultSet tables = metaData.getTables(null, null, "%", new String[]{"TABLE"})) {
+                while (tables.next()) {
+                    tableNames.add(new String[]{tables.getString("TABLE_CAT"), tables.getString("TABLE_SCHEM"), tables.getString("TABLE_NAME")});
+                }
+            }
+            for (String[] table : tableNames) {
+                try (ResultSet primaryKeys = metaData.getPrimaryKeys(table[0], table[1], table[2])) {
+                    update(checksum, primaryKeys, "COLUMN_NAME", "KEY_SEQ");
+                }
+                try (ResultSet importedKeys = metaData.getImportedKeys(table[0], table[1], table[2])) {
+                    update(checksum, importedKeys, "PKTABLE_SCHEM", "PKTABLE_NAME", "PKCOLUMN_NAME", "FKCOLUMN_NAME", "KEY_SEQ");
+                }
+            }
+        }
+        return Long.toHexString(checksum.getValue());
+    }
+
+    /**
+     * @return query listing primary and foreign keys with their columns, or <code>null</code> if database has no known
+     * constraints view
+     */
+    private static String getConstraintsQuery(String driverName) {
+        if (DriverUtils.isH2(driverName)) {
+            return "SELECT PKTABLE_SCHEMA, PKTABLE_NAME, PKCOLUMN_NAME, FKTABLE_SCHEMA, FKTABLE_NAME, FKCOLUMN_NAME, FK_NAME "
+                    + "FROM INFORMATION_SCHEMA.CROSS_REFERENCES ORDER BY FK_NAME, ORDINAL_POSITION";
+        }
+        if (DriverUtils.isHsql(driverName) || DriverUtils.isMysql(driverName) || DriverUtils.isPostgre(driverName)) {
+            //key columns of primary, unique and foreign keys, foreign keys referencing unique ones
+            return "SELECT K.TABLE_SCHEMA, K.TABLE_NAME, K.COLUMN_NAME, K.CONSTRAINT_NAME, R.UNIQUE_CONSTRAINT_NAME "
+                    + "FROM INFORMATION_SCHEMA.KEY_COLUMN_USAGE K LEFT JOIN INFORMATION_SCHEMA.REFERENTIAL_CONSTRAINTS R "
+                    + "ON R.CONSTRAINT_SCHEMA = K.CONSTRAINT_SCHEMA AND R.CONSTRAINT_NAME = K.CONSTRAINT_NAME "
+                    + "ORDER BY K.TABLE_SCHEMA, K.TABLE_NAME, K.CONSTRAINT_NAME, K.ORDINAL_POSITION";
+        }
+        return null;
+    }
+
+    private static void update(CRC32 checksum, Statement statement, String query) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(query)) {
+            int columnCount = resultSet.getMetaData().getColumnCount();
+            String[] columns = new String[columnCount];
+            while (resultSet.next()) {
+                for (int i = 0; i < columnCount; i++) {
+                    columns[i] = resultSet.getString(i + 1);
+                }
+                update(checksum, Arrays.toString(columns));
+            }
+        }
+    }
+
+    private static void update(CRC32 checksum, ResultSet resultSet, String... columns) throws SQLException {
+        StringBuilder row = new StringBuilder();
+        while (resultSet.next()) {
+            row.setLength(0);
+            for (String column : columns) {
+                row.append(resultSet.getString(column)).append('|');
+            }
+            update(checksum, row.toString());
+        }
+    }
+
+    private static void update(CRC32 checksum, String value) {
+        checksum.update((value + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static synchronized void registerShutdownHook() {
+        if (shutdownHook == null) {
+            shutdownHook = new Thread("dbunit-rules-metadata-cache") {
+                @Override
+                public void run() {
+                    for (MetadataCache cache : unsavedCaches.toArray(new MetadataCache[0])) {
+                        cache.close();
+                    }
+                }
+            };
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+    }
+
+    private static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class CachingMetaData implements InvocationHandler {
+
+        private final DatabaseMetaData metaData;
+
+        CachingMetaData(DatabaseMetaData metaData) {
+            this.metaData = metaData;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("getConnection".equals(method.getName())) {
+                return MetadataCache.this.proxy;
+            }
+            if (!CACHED_METHODS.contains(method.getName()) || method.getReturnType() != ResultSet.class) {
+                return delegate(metaData, method, args);
+            }
+            String key = method.getName() + Arrays.deepToString(args);
+            CachedResult result = results.get(key);
+            if (result != null) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+                try (ResultSet resultSet = (ResultSet) delegate(metaData, method, args)) {
+                    result = new CachedResult(resultSet);
+                }
+                results.put(key, result);
+                if (file != null && unsavedCaches.add(MetadataCache.this)) {
+                    registerShutdownHook();
+                }
+            }
+            return result.toResultSet();
+        }
+    }
+
+    private static class StoredResults implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String fingerprint;
+
+        private final HashMap<String, CachedResult> results;
+
+        StoredResults(String fingerprint, HashMap<String, CachedResult> results) {
+            this.fingerprint = fingerprint;
+            this.results = results;
+        }
+    }
+
+    /**
+     * rows of a metadata result set, kept by a {@link CachedRowSet} which converts values for any getter
+     */
+    private static class CachedResult implements Serializable {
+
+        private static final long serialVersionUID = 2L;
+
+        /**
+         * column labels, rowsets only look columns up by name which may differ, e.g. aliased columns
+         */
+        private final String[] labels;
+
+        private final CachedRowSet rows;
+
+        CachedResult(ResultSet resultSet) throws SQLException {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            labels = new String[metaData.getColumnCount()];
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = metaData.getColumnLabel(i + 1);
+            }
+            rows = RowSetProvider.newFactory().createCachedRowSet();
+            rows.populate(resultSet);
+        }
+
+        ResultSet toResultSet() throws SQLException {
+            return (ResultSet) Proxy.newProxyInstance(MetadataCache.class.getClassLoader(), new Class[]{ResultSet.class},
+                    new CachedResultSet(labels, rows.createShared()));
+        }
+    }
+
+    /**
+     * result set over a shared copy (own cursor) of cached rows, with columns found by label
+     */
+    private static class CachedResultSet implements InvocationHandler {
+
+        private final String[] labels;
+
+        private final ResultSet rows;
+
+        private boolean closed;
+
+        CachedResultSet(String[] labels, ResultSet rows) {
+            this.labels = labels;
+            this.rows = rows;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "findColumn":
+                    return findColumn((String) args[0]);
+                case "close":
+                    //closing a shared rowset releases rows of all its copies
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                default:
+                    break;
+            }
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            if (parameterTypes.length > 0 && parameterTypes[0] == String.class && method.getName().startsWith("get")) {
+                parameterTypes = parameterTypes.clone();
+                parameterTypes[0] = int.class;
+                args = args.clone();
+                args[0] = findColumn((String) args[0]);
+                return delegate(rows, ResultSet.class.getMethod(method.getName(), parameterTypes), args);
+            }
+            return delegate(rows, method, args);
+        }
+
+        private int findColumn(String label) throws SQLException {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i].equalsIgnoreCase(label)) {
+                    return i + 1;
+                }
+            }
+            return rows.findColumn(label);
+        }
+    }
+}
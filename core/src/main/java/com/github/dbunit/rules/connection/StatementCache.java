@@ -0,0 +1,244 @@
+package com.github.dbunit.rules.connection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps statements created through its {@link #getConnection() connection} open after they are closed, so they can be
+ * reused by next statements with the same sql, e.g. DBUnit inserts and deletes of a table seeded by every test.
+ *
+ * Prepared statements are cached by sql (which is built from table metadata by DBUnit operations) and plain statements,
+ * which don't depend on sql, share a single entry. Only idle statements are cached: a statement requested while an
+ * equivalent one is in use is created as usual and closed when released if its sql is already cached. Statements whose
+ * options (e.g. max rows or query timeout) were changed or which failed are always closed. Least recently used statements
+ * are closed when cache reaches its maximum size.
+ */
+public class StatementCache {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementCache.class);
+
+    /**
+     * cache key of plain statements, prepared statement keys are their sql
+     */
+    private static final String PLAIN_STATEMENT = "\u0000statement";
+
+    private final Connection connection;
+
+    private final Connection proxy;
+
+    private final Map<String, Statement> idleStatements;
+
+    private boolean closed;
+
+    private long hits;
+
+    private long misses;
+
+    public StatementCache(Connection connection, final int maxSize) {
+        this.connection = connection;
+        this.proxy = (Connection) Proxy.newProxyInstance(StatementCache.class.getClassLoader(), new Class[]{Connection.class}, new CachingConnection());
+        this.idleStatements = new LinkedHashMap<String, Statement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Statement> eldest) {
+                if (size() > maxSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return connection whose statements are cached
+     */
+    public Connection getConnection() {
+        return proxy;
+    }
+
+    /**
+     * @return if cache wraps given connection
+     */
+    public boolean isFor(Connection connection) {
+        return this.connection == connection;
+    }
+
+    /**
+     * @return number of statements taken from cache
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return number of statements created because no idle one was cached
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return number of idle cached statements
+     */
+    public synchronized int size() {
+        return idleStatements.size();
+    }
+
+    /**
+     * Closes cached statements, statements in use are closed when released. Wrapped connection is not closed.
+     */
+    public void close() {
+        List<Statement> statements;
+        synchronized (this) {
+            closed = true;
+            statements = new ArrayList<>(idleStatements.values());
+            idleStatements.clear();
+        }
+        for (Statement statement : statements) {
+            closeQuietly(statement);
+        }
+    }
+
+    private synchronized Statement borrow(String key) {
+        Statement statement = closed ? null : idleStatements.remove(key);
+        if (statement != null && isClosed(statement)) {
+            //closed behind the cache, e.g. through its result set
+            statement = null;
+        }
+        if (statement != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return statement;
+    }
+
+    private void release(String key, Statement statement, boolean reusable) {
+        if (reusable) {
+            try {
+                if (statement instanceof PreparedStatement) {
+                    ((PreparedStatement) statement).clearParameters();
+                }
+                statement.clearBatch();
+                statement.clearWarnings();
+            } catch (SQLException | UnsupportedOperationException e) {
+                reusable = false;
+            }
+        }
+        synchronized (this) {
+            if (reusable && !closed && !idleStatements.containsKey(key)) {
+                idleStatements.put(key, statement);
+                return;
+            }
+        }
+        closeQuietly(statement);
+    }
+
+    private static boolean isClosed(Statement statement) {
+        try {
+            return statement.isClosed();
+        } catch (SQLException | AbstractMethodError e) {
+            return true;
+        }
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            log.warn("Could not close cached statement.", e);
+        }
+    }
+
+    private static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class CachingConnection implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("close".equals(name)) {
+                StatementCache.this.close();
+            }
+            boolean plain = "createStatement".equals(name) && method.getParameterTypes().length == 0;
+            if (!plain && !("prepareStatement".equals(name) && method.getParameterTypes().length == 1)) {
+                return delegate(connection, method, args);
+            }
+            String key = plain ? PLAIN_STATEMENT : (String) args[0];
+            Statement statement = borrow(key);
+            if (statement == null) {
+                statement = (Statement) delegate(connection, method, args);
+            }
+            Class<?> type = plain ? Statement.class : PreparedStatement.class;
+            return Proxy.newProxyInstance(StatementCache.class.getClassLoader(), new Class[]{type}, new CachedStatement(key, statement));
+        }
+    }
+
+    private class CachedStatement implements InvocationHandler {
+
+        private final String key;
+
+        private final Statement statement;
+
+        private boolean released;
+
+        private boolean reusable = true;
+
+        CachedStatement(String key, Statement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("close".equals(name)) {
+                if (!released) {
+                    released = true;
+                    release(key, statement, reusable);
+                }
+                return null;
+            }
+            if ("isClosed".equals(name) && released) {
+                return true;
+            }
+            if ("getConnection".equals(name)) {
+                return StatementCache.this.proxy;
+            }
+            if (released) {
+                throw new SQLException("Statement is closed.");
+            }
+            if (name.startsWith("set") && method.getDeclaringClass() == Statement.class && !"setFetchSize".equals(name)
+                    || "closeOnCompletion".equals(name)) {
+                //statement options would leak into next users of the statement, fetch size (set by DBUnit on every
+                //query) is just a hint
+                reusable = false;
+            }
+            try {
+                return delegate(statement, method, args);
+            } catch (SQLException e) {
+                reusable = false;
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.dbunit.rules.connection;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records tables written (insert, update, delete, merge and truncate statements) through a tracked connection, see
+ * {@link ConnectionHolderImpl#trackWrites()}.
+ *
+ * Tracking is <i>complete</i> when every write since last {@link #reset()} could be attributed to a table, which is
+ * never the case before the first reset because nothing is known about writes made before tracking started.
+ */
+public class WriteTracker {
+
+    private static final Pattern WRITE_STATEMENT = Pattern.compile("^(?:insert(?:\\s+ignore)?\\s+into|replace(?:\\s+into)?|merge\\s+into|upsert\\s+into|update(?:\\s+only)?|delete(?:\\s+from)?|truncate(?:\\s+table)?)\\s+([^\\s(,;]+)", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern READ_STATEMENT = Pattern.compile("^(?:select|with|values|show|explain|describe|set|commit|rollback|savepoint|release)\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern LEADING_COMMENTS = Pattern.compile("^(?:\\s+|--[^\\n]*(?:\\n|$)|/\\*.*?\\*/)+", Pattern.DOTALL);
+
+    private final Set<String> writtenTables = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    private final AtomicLong writeCount = new AtomicLong();
+
+    private volatile boolean complete;
+
+    /**
+     * @return upper case names, as written in statements (possibly qualified), of tables written since last reset
+     */
+    public Set<String> getWrittenTables() {
+        return Collections.unmodifiableSet(new HashSet<>(writtenTables));
+    }
+
+    /**
+     * @return if all writes since last reset were attributed to a table
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return number of write statements ever executed through tracked connection
+     */
+    public long getWriteCount() {
+        return writeCount.get();
+    }
+
+    /**
+     * Forgets written tables, should be called when all tables are known to be clean.
+     */
+    public void reset() {
+        writtenTables.clear();
+        complete = true;
+    }
+
+    /**
+     * Marks tracking as incomplete, e.g. when tracked connection is replaced.
+     */
+    public void invalidate() {
+        complete = false;
+    }
+
+    void record(String sql) {
+        if (sql == null) {
+            return;
+        }
+        String statement = LEADING_COMMENTS.matcher(sql).replaceFirst("");
+        if (READ_STATEMENT.matcher(statement).find()) {
+            return;
+        }
+        writeCount.incrementAndGet();
+        String table = getWrittenTable(statement);
+        if (table != null) {
+            writtenTables.add(table);
+        } else {
+            //ddl, procedure calls and so on: we can't tell which tables were changed
+            complete = false;
+        }
+    }
+
+    /**
+     * @param sql statement without leading comments
+     * @return upper case name of table written by given statement or <code>null</code> if it is not a (recognized) write
+     * statement
+     */
+    static String getWrittenTable(String sql) {
+        Matcher matcher = WRITE_STATEMENT.matcher(sql);
+        if (!matcher.find()) {
+            return null;
+        }
+        return matcher.group(1).replace("\"", "").replace("`", "").replace("[", "").replace("]", "").toUpperCase();
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.dbunit.rules.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Connection proxy which reports statements executed through it to a {@link WriteTracker}.
+ */
+class WriteTrackingConnection implements InvocationHandler {
+
+    private final Connection connection;
+
+    private final WriteTracker tracker;
+
+    private Connection proxy;
+
+    private WriteTrackingConnection(Connection connection, WriteTracker tracker) {
+        this.connection = connection;
+        this.tracker = tracker;
+    }
+
+    static Connection wrap(Connection connection, WriteTracker tracker) {
+        WriteTrackingConnection handler = new WriteTrackingConnection(connection, tracker);
+        handler.proxy = (Connection) Proxy.newProxyInstance(WriteTrackingConnection.class.getClassLoader(), new Class[]{Connection.class}, handler);
+        return handler.proxy;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Object result = delegate(connection, method, args);
+        if (result instanceof Statement) {
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            Class<?> type = result instanceof CallableStatement ? CallableStatement.class : result instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return Proxy.newProxyInstance(WriteTrackingConnection.class.getClassLoader(), new Class[]{type}, new TrackingStatement((Statement) result, sql));
+        }
+        return result;
+    }
+
+    private static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class TrackingStatement implements InvocationHandler {
+
+        private final Statement statement;
+
+        /**
+         * sql of prepared statements
+         */
+        private final String sql;
+
+        TrackingStatement(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("getConnection".equals(name)) {
+                return WriteTrackingConnection.this.proxy;
+            }
+            Object result = delegate(statement, method, args);
+            if (name.startsWith("execute") && !"executeQuery".equals(name) || "addBatch".equals(name)) {
+                tracker.record(args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.github.dbunit.rules.dataset;
+
+import com.github.dbunit.rules.configuration.GlobalConfig;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per JVM cache of parsed datasets.
+ *
+ * Entries are keyed by dataset resource name plus a hash of its content so a changed file is never served from cache.
+ * Datasets on file system are keyed by file size and last modification time instead so a cache hit does not read the file,
+ * content of other resources (e.g. jar entries) does not change while JVM is running so it is hashed only once.
+ * Least recently used datasets are evicted when cache reaches its maximum size (<code>dataSetCacheSize</code> in dbunit.yml).
+ *
+ * Cached datasets are shared among tests (and executors) so they must not be modified, callers only wrap them
+ * (e.g. FilteredDataSet, ReplacementDataSet).
+ */
+public class DataSetCache {
+
+    private static DataSetCache instance;
+
+    private final Map<String, IDataSet> dataSets;
+
+    private final int maxSize;
+
+    private final Map<String, String> resourceKeys = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    public DataSetCache(final int maxSize) {
+        this.maxSize = maxSize;
+        this.dataSets = new LinkedHashMap<String, IDataSet>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IDataSet> eldest) {
+                boolean evict = size() > DataSetCache.this.maxSize;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    public static synchronized DataSetCache getInstance() {
+        if (instance == null) {
+            instance = new DataSetCache(GlobalConfig.instance().getDbUnitConfig().getDataSetCacheSize());
+        }
+        return instance;
+    }
+
+    /**
+     * @param name dataset resource name
+     * @param content dataset raw content
+     * @return cache key for given dataset
+     */
+    public static String key(String name, byte[] content) {
+        return name + "#" + hash(content);
+    }
+
+    /**
+     * @param name dataset resource name
+     * @param size dataset file size
+     * @param lastModified dataset file last modification time
+     * @return cache key for given dataset file
+     */
+    public static String key(String name, long size, long lastModified) {
+        return name + "#" + size + "@" + lastModified;
+    }
+
+    /**
+     * @param url dataset resource url
+     * @return key previously calculated for given resource or null if there is none
+     */
+    public String getResourceKey(URL url) {
+        return resourceKeys.get(url.toString());
+    }
+
+    public void putResourceKey(URL url, String key) {
+        resourceKeys.put(url.toString(), key);
+    }
+
+    /**
+     * @param key dataset key, see {@link #key(String, byte[])}
+     * @return cached dataset or null if there is no dataset cached for given key
+     */
+    public IDataSet get(String key) {
+        IDataSet dataSet = peek(key);
+        if (dataSet != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return dataSet;
+    }
+
+    /**
+     * Same as {@link #get(String)} but the lookup is not counted as a hit or miss.
+     */
+    public IDataSet peek(String key) {
+        synchronized (dataSets) {
+            return dataSets.get(key);
+        }
+    }
+
+    public void put(String key, IDataSet dataSet) throws DataSetException {
+        if (maxSize <= 0) {
+            return;
+        }
+        //initializes dataset internal table map before sharing it among threads
+        dataSet.getTableNames();
+        synchronized (dataSets) {
+            dataSets.put(key, dataSet);
+        }
+    }
+
+    public int size() {
+        synchronized (dataSets) {
+            return dataSets.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (dataSets) {
+            dataSets.clear();
+        }
+        resourceKeys.clear();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(content);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Could not calculate dataset content hash.", e);
+        }
+    }
+}
@@ -1,23 +1,33 @@
 package com.github.dbunit.rules.dataset;
 
 import com.github.dbunit.rules.api.connection.ConnectionHolder;
+import com.github.dbunit.rules.api.dataset.BinaryDataSet;
+import com.github.dbunit.rules.api.dataset.CsvDataSet;
 import com.github.dbunit.rules.api.dataset.DataSetExecutor;
 import com.github.dbunit.rules.api.dataset.JSONDataSet;
+import com.github.dbunit.rules.api.dataset.LazyDataSet;
+import com.github.dbunit.rules.api.dataset.SeedStrategy;
 import com.github.dbunit.rules.api.dataset.YamlDataSet;
 import com.github.dbunit.rules.assertion.DataSetAssertion;
 import com.github.dbunit.rules.configuration.DBUnitConfig;
 import com.github.dbunit.rules.configuration.DataSetConfig;
+import com.github.dbunit.rules.connection.ConnectionHolderImpl;
+import com.github.dbunit.rules.connection.MetadataCache;
+import com.github.dbunit.rules.connection.StatementCache;
+import com.github.dbunit.rules.connection.WriteTracker;
+import com.github.dbunit.rules.dataset.operation.BulkInsertOperation;
+import com.github.dbunit.rules.dataset.operation.NativeBulkLoadOperation;
 import com.github.dbunit.rules.exception.DataBaseSeedingException;
 import com.github.dbunit.rules.replacer.DateTimeReplacer;
 import com.github.dbunit.rules.replacer.ScriptReplacer;
 import com.github.dbunit.rules.util.DriverUtils;
+import com.github.dbunit.rules.util.EntityManagerProvider;
 import org.dbunit.DatabaseUnitException;
 import org.dbunit.database.AmbiguousTableNameException;
 import org.dbunit.database.DatabaseConfig;
 import org.dbunit.database.DatabaseConnection;
 import org.dbunit.database.DatabaseSequenceFilter;
 import org.dbunit.dataset.*;
-import org.dbunit.dataset.csv.CsvDataSet;
 import org.dbunit.dataset.excel.XlsDataSet;
 import org.dbunit.dataset.filter.DefaultColumnFilter;
 import org.dbunit.dataset.filter.ITableFilter;
@@ -28,25 +38,43 @@ import org.dbunit.ext.hsqldb.HsqldbDataTypeFactory;
 import org.dbunit.ext.mysql.MySqlDataTypeFactory;
 import org.dbunit.ext.oracle.Oracle10DataTypeFactory;
 import org.dbunit.ext.postgresql.PostgresqlDataTypeFactory;
+import org.dbunit.operation.CompositeOperation;
 import org.dbunit.operation.DatabaseOperation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.RandomAccessFile;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
 
 /**
  * Created by pestano on 26/07/15.
@@ -65,6 +93,23 @@ public class DataSetExecutorImpl implements DataSetExecutor {
 
     private static String SEQUENCE_TABLE_NAME;
 
+    private static final List<String> SUPPORTED_EXTENSIONS = Arrays.asList("yml", "xml", "csv", "xls", "json", "dbub");
+
+    private static final int MAX_DATASET_LOADER_THREADS = 8;
+
+    /**
+     * statements sent to the database per batch by {@link #executeStatements(String[])}
+     */
+    private static final int STATEMENT_BATCH_SIZE = 100;
+
+    private static ForkJoinPool dataSetLoaderPool;
+
+    private static final DatabaseOperation BULK_INSERT = new BulkInsertOperation();
+
+    private static final DatabaseOperation NATIVE_BULK_LOAD = new NativeBulkLoadOperation();
+
+    private static final boolean JPA_PRESENT = isJpaPresentOnClasspath();
+
     private DatabaseConnection databaseConnection;
 
     private ConnectionHolder connectionHolder;
@@ -74,6 +119,79 @@ public class DataSetExecutorImpl implements DataSetExecutor {
     private List<String> tableNames;
 
     private String driverName;
+
+    private final Map<String, IDataSet> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * identifies last seeded dataset, see {@link #getSeedFingerprint(DataSetConfig)}
+     */
+    private volatile String seedFingerprint;
+
+    /**
+     * if false database is known to be unchanged since last seed
+     */
+    private volatile boolean databaseDirty = true;
+
+    /**
+     * write count of connection write tracker when last dataset was seeded
+     */
+    private volatile long seedWriteCount = -1;
+
+    /**
+     * tables of last seeded {@link DataSetConfig#isSeedOnce() seed once} dataset and their checksum right after seeding
+     */
+    private volatile String[] seedOnceTables;
+
+    private volatile long seedOnceChecksum;
+
+    /**
+     * auto commit of executor connection before current rollback test or <code>null</code> if test changes are not
+     * rolled back through executor connection, see {@link #beginRollbackTest(boolean)}
+     */
+    private Boolean rollbackAutoCommit;
+
+    /**
+     * savepoint of current rollback test when it runs on top of {@link #beginLayer(DataSetConfig) layers}
+     */
+    private Savepoint rollbackSavepoint;
+
+    /**
+     * true between {@link #beginRollbackTest(boolean)} and {@link #endRollbackTest()}
+     */
+    private boolean rollbackTest;
+
+    /**
+     * layered datasets, last begun first
+     */
+    private final Deque<Layer> layers = new ArrayDeque<>();
+
+    /**
+     * auto commit of executor connection before first layer
+     */
+    private boolean layersAutoCommit;
+
+    private final DatabaseColumnTypes columnTypes = new DatabaseColumnTypes(this);
+
+    private final ParallelSeeding parallelSeeding = new ParallelSeeding(this);
+
+    private final TableOrderCache tableOrderCache = new TableOrderCache(this);
+
+    /**
+     * statements of executor connection, see {@link DBUnitConfig#isCacheStatements()}
+     */
+    private StatementCache statementCache;
+
+    private MetadataCache metadataCache;
+
+    /**
+     * typed datasets by their (cached) source dataset
+     */
+    private final Map<IDataSet, IDataSet> typedDataSets = Collections.synchronizedMap(new LinkedHashMap<IDataSet, IDataSet>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<IDataSet, IDataSet> eldest) {
+            return size() > dbUnitConfig.getDataSetCacheSize();
+        }
+    });
     
     
     static {
@@ -119,7 +237,20 @@ public class DataSetExecutorImpl implements DataSetExecutor {
             StringBuilder sb = new StringBuilder(150);
             sb.append("cacheConnection: ").append("" + dbUnitConfig.isCacheConnection()).append("\n").
                     append("cacheTableNames: ").append(dbUnitConfig.isCacheTableNames()).append("\n").
-                    append("leakHunter: ").append("" + dbUnitConfig.isLeakHunter()).append("\n");
+                    append("leakHunter: ").append("" + dbUnitConfig.isLeakHunter()).append("\n").
+                    append("cacheDataSets: ").append(dbUnitConfig.isCacheDataSets()).append("\n").
+                    append("parallelDataSetLoading: ").append(dbUnitConfig.isParallelDataSetLoading()).append("\n").
+                    append("lazyDataSets: ").append(dbUnitConfig.isLazyDataSets()).append("\n").
+                    append("typedDataSets: ").append(dbUnitConfig.isTypedDataSets()).append("\n").
+                    append("nativeBulkLoad: ").append(dbUnitConfig.isNativeBulkLoad()).append("\n").
+                    append("selectiveCleanup: ").append(dbUnitConfig.isSelectiveCleanup()).append("\n").
+                    append("parallelSeeding: ").append(dbUnitConfig.isParallelSeeding()).append("\n").
+                    append("cacheStatements: ").append(dbUnitConfig.isCacheStatements()).append("\n").
+                    append("cacheTableOrdering: ").append(dbUnitConfig.isCacheTableOrdering()).append("\n").
+                    append("fastClean: ").append(dbUnitConfig.isFastClean()).append("\n").
+                    append("parallelCleanup: ").append(dbUnitConfig.isParallelCleanup()).append("\n").
+                    append("skipEmptyTables: ").append(dbUnitConfig.isSkipEmptyTables()).append("\n").
+                    append("cacheMetadata: ").append(dbUnitConfig.isCacheMetadata()).append("\n");
 
             for (Entry<String, Object> entry : dbUnitConfig.getProperties().entrySet()) {
                 sb.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
@@ -129,9 +260,19 @@ public class DataSetExecutorImpl implements DataSetExecutor {
 
         if (dataSetConfig != null) {
             try {
+                if (dbUnitConfig.isSelectiveCleanup() && connectionHolder instanceof ConnectionHolderImpl && getWriteTracker() == null) {
+                    ((ConnectionHolderImpl) connectionHolder).trackWrites();
+                    initDatabaseConnection();
+                }
                 if(databaseConnection == null || !dbUnitConfig.isCacheConnection()){
                     initDatabaseConnection();
                 }
+                if (dataSetConfig.isSeedOnce() && dataSetConfig.getName() != null && !"".equals(dataSetConfig.getName())
+                        && isSeeded(getSeedFingerprint(dataSetConfig))) {
+                    //before statements, scripts and clean up only run along with the seed
+                    log.info(String.format("Skipping seed of dataset '%s' on executor '%s', it was seeded once and left intact by previous tests.", dataSetConfig.getName(), executorId));
+                    return;
+                }
                 if (dataSetConfig.isDisableConstraints()) {
                     disableConstraints();
                 }
@@ -154,17 +295,30 @@ public class DataSetExecutorImpl implements DataSetExecutor {
                 }
 
                 if (dataSetConfig.getName() != null && !"".equals(dataSetConfig.getName())) {
-                    IDataSet resultingDataSet = loadDataSet(dataSetConfig.getName());
-
-                    resultingDataSet = performSequenceFiltering(dataSetConfig, resultingDataSet);
-
-                    resultingDataSet = performTableOrdering(dataSetConfig, resultingDataSet);
+                    String fingerprint = getSeedFingerprint(dataSetConfig);
+                    if (isSeeded(fingerprint)) {
+                        log.info(String.format("Skipping seed of dataset '%s' on executor '%s', database has not changed since it was seeded.", dataSetConfig.getName(), executorId));
+                        seeded(fingerprint, dataSetConfig, seedOnceTables);
+                        return;
+                    }
+                    seedFingerprint = null;
+                    if (dataSetConfig.isUseSnapshot() && hasSnapshot(dataSetConfig.getName())) {
+                        restoreSnapshot(dataSetConfig.getName());
+                        seeded(fingerprint, dataSetConfig, snapshots.get(dataSetConfig.getName()).getTableNames());
+                        return;
+                    }
+                    IDataSet resultingDataSet = prepareDataSet(dataSetConfig);
 
-                    resultingDataSet = performReplacements(resultingDataSet);
+                    if (!dbUnitConfig.isParallelSeeding() || !isTransactionFree() || !parallelSeeding.seed(resultingDataSet, dataSetConfig.getstrategy())) {
+                        DatabaseOperation operation = getOperation(dataSetConfig.getstrategy());
 
-                    DatabaseOperation operation = dataSetConfig.getstrategy().getOperation();
+                        operation.execute(databaseConnection, resultingDataSet);
+                    }
 
-                    operation.execute(databaseConnection, resultingDataSet);
+                    if (dataSetConfig.isUseSnapshot()) {
+                        createSnapshot(dataSetConfig.getName(), resultingDataSet.getTableNames());
+                    }
+                    seeded(fingerprint, dataSetConfig, resultingDataSet.getTableNames());
                 }
 
             } catch (Exception e) {
@@ -175,53 +329,248 @@ public class DataSetExecutorImpl implements DataSetExecutor {
         }
     }
 
+    /**
+     * @return loaded dataset after sequence filtering, table ordering and replacements
+     */
+    private IDataSet prepareDataSet(DataSetConfig dataSetConfig) throws DatabaseUnitException, IOException, SQLException {
+        IDataSet resultingDataSet = dbUnitConfig.isTypedDataSets() ? loadTypedDataSet(dataSetConfig.getName()) : loadDataSet(dataSetConfig.getName());
+
+        resultingDataSet = performSequenceFiltering(dataSetConfig, resultingDataSet);
+
+        resultingDataSet = performTableOrdering(dataSetConfig, resultingDataSet);
+
+        return performReplacements(resultingDataSet);
+    }
+
     /**
      * @param name one or more (comma separated) dataset names to instance
      * @return loaded dataset (in case of multiple dataSets they will be merged in one using composite dataset)
      */
     public IDataSet loadDataSet(String name) throws DataSetException, IOException {
         String[] dataSetNames = name.trim().split(",");
+        boolean cacheDataSets = dbUnitConfig.isCacheDataSets();
+        DataSetCache dataSetCache = cacheDataSets ? DataSetCache.getInstance() : null;
+        StringBuilder compositeKey = new StringBuilder();
+        List<String> names = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        if (cacheDataSets) {
+            for (String dataSet : dataSetNames) {
+                String dataSetName = dataSet.trim();
+                String key = getDataSetKey(dataSetCache, dataSetName, getExtension(dataSetName));
+                names.add(dataSetName);
+                keys.add(key);
+                compositeKey.append(key).append(",");
+            }
+            IDataSet cachedComposite = dataSetCache.get(compositeKey.toString());
+            if (cachedComposite != null) {
+                return cachedComposite;
+            }
+        } else {
+            for (String dataSet : dataSetNames) {
+                names.add(dataSet.trim());
+            }
+        }
+
+        List<IDataSet> dataSets = new ArrayList<>();
+        if (dbUnitConfig.isParallelDataSetLoading() && names.size() > 1) {
+            dataSets.addAll(loadDataSetsInParallel(names, keys));
+        } else {
+            for (int i = 0; i < names.size(); i++) {
+                IDataSet target = loadDataSet(names.get(i), cacheDataSets ? keys.get(i) : null);
+                if (target != null) {
+                    dataSets.add(target);
+                }
+            }
+        }
+
+        if (dataSets.isEmpty()) {
+            throw new RuntimeException("No dataset loaded for name " + name);
+        }
+
+        IDataSet[] loadedDataSets = dataSets.toArray(new IDataSet[dataSets.size()]);
+        IDataSet dataSet = dbUnitConfig.isLazyDataSets() ? LazyDataSet.composite(loadedDataSets) : new CompositeDataSet(loadedDataSets);
+        if (cacheDataSets && dataSets.size() == names.size()) {
+            dataSetCache.put(compositeKey.toString(), dataSet);
+        }
+        return dataSet;
+    }
+
+    /**
+     * @param name one or more (comma separated) dataset names to instance
+     * @return loaded dataset with column types resolved from database metadata and values converted to these types.
+     * When datasets are cached the typed dataset is also cached (per executor) along with the loaded dataset.
+     */
+    public IDataSet loadTypedDataSet(String name) throws DatabaseUnitException, IOException, SQLException {
+        if (databaseConnection == null) {
+            initDatabaseConnection();
+        }
+        IDataSet dataSet = loadDataSet(name);
+        if (!dbUnitConfig.isCacheDataSets()) {
+            return new TypedDataSet(dataSet, columnTypes);
+        }
+        synchronized (typedDataSets) {
+            IDataSet typedDataSet = typedDataSets.get(dataSet);
+            if (typedDataSet == null) {
+                typedDataSet = new TypedDataSet(dataSet, columnTypes);
+                typedDataSets.put(dataSet, typedDataSet);
+            }
+            return typedDataSet;
+        }
+    }
+
+    /**
+     * @param key dataset cache key, <code>null</code> if cache is disabled
+     * @return parsed dataset or <code>null</code> if dataset extension is not supported
+     */
+    private IDataSet loadDataSet(String dataSetName, String key) throws DataSetException, IOException {
+        String extension = getExtension(dataSetName);
+        if (key == null) {
+            return parseDataSet(dataSetName, extension, "csv".equals(extension) ? null : getDataSetStream(dataSetName));
+        }
+        //hits and misses are counted by the composite lookup
+        DataSetCache dataSetCache = DataSetCache.getInstance();
+        IDataSet target = dataSetCache.peek(key);
+        if (target == null) {
+            target = parseDataSet(dataSetName, extension, "csv".equals(extension) ? null : getDataSetStream(dataSetName));
+            if (target != null) {
+                dataSetCache.put(key, target);
+            }
+        }
+        return target;
+    }
 
+    /**
+     * Loads each dataset in a fork/join task, loaded datasets are returned in the same order as dataset names.
+     */
+    private List<IDataSet> loadDataSetsInParallel(List<String> names, final List<String> keys) throws DataSetException, IOException {
+        List<Callable<IDataSet>> tasks = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            final String dataSetName = names.get(i);
+            final String key = keys.isEmpty() ? null : keys.get(i);
+            tasks.add(new Callable<IDataSet>() {
+                @Override
+                public IDataSet call() throws Exception {
+                    return loadDataSet(dataSetName, key);
+                }
+            });
+        }
         List<IDataSet> dataSets = new ArrayList<>();
-        for (String dataSet : dataSetNames) {
-            IDataSet target = null;
-            String dataSetName = dataSet.trim();
-            String extension = dataSetName.substring(dataSetName.lastIndexOf('.') + 1).toLowerCase();
-            switch (extension) {
-                case "yml": {
-                    target = new YamlDataSet(getDataSetStream(dataSetName));
-                    break;
+        for (Future<IDataSet> result : getDataSetLoaderPool().invokeAll(tasks)) {
+            try {
+                IDataSet target = result.get();
+                if (target != null) {
+                    dataSets.add(target);
                 }
-                case "xml": {
-                    target = new FlatXmlDataSetBuilder().build(getDataSetStream(dataSetName));
-                    break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DataSetException("Interrupted while loading datasets " + names, e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause.getCause() != null && cause.getClass().equals(cause.getCause().getClass())) {
+                    //fork/join rethrows a copy of the exception thrown by the worker thread
+                    cause = cause.getCause();
                 }
-                case "csv": {
-                    target = new CsvDataSet(new File(getClass().getClassLoader().getResource(dataSetName).getFile()).getParentFile());
-                    break;
+                if (cause instanceof DataSetException) {
+                    throw (DataSetException) cause;
                 }
-                case "xls": {
-                    target = new XlsDataSet(getDataSetStream(dataSetName));
-                    break;
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
                 }
-                case "json": {
-                    target = new JSONDataSet(getDataSetStream(dataSetName));
-                    break;
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
                 }
-                default:
-                    log.error("Unsupported dataset extension");
+                throw new DataSetException(cause);
             }
+        }
+        return dataSets;
+    }
 
-            if (target != null) {
-                dataSets.add(target);
+    private static synchronized ForkJoinPool getDataSetLoaderPool() {
+        if (dataSetLoaderPool == null) {
+            dataSetLoaderPool = new ForkJoinPool(Math.min(MAX_DATASET_LOADER_THREADS, Runtime.getRuntime().availableProcessors()));
+        }
+        return dataSetLoaderPool;
+    }
+
+    private String getExtension(String dataSetName) {
+        return dataSetName.substring(dataSetName.lastIndexOf('.') + 1).toLowerCase();
+    }
+
+    private IDataSet parseDataSet(String dataSetName, String extension, InputStream dataSetStream) throws DataSetException, IOException {
+        switch (extension) {
+            case "yml": {
+                return dbUnitConfig.isLazyDataSets() ? LazyDataSet.yaml(dataSetStream) : new YamlDataSet(dataSetStream);
+            }
+            case "xml": {
+                return dbUnitConfig.isLazyDataSets() ? LazyDataSet.flatXml(dataSetStream) : new FlatXmlDataSetBuilder().build(dataSetStream);
             }
+            case "csv": {
+                return new CsvDataSet(getDataSetUrl(dataSetName));
+            }
+            case "xls": {
+                return new XlsDataSet(dataSetStream);
+            }
+            case "json": {
+                return dbUnitConfig.isLazyDataSets() ? LazyDataSet.json(dataSetStream) : new JSONDataSet(dataSetStream);
+            }
+            case "dbub": {
+                return new BinaryDataSet(dataSetStream);
+            }
+            default:
+                log.error("Unsupported dataset extension");
+                return null;
         }
+    }
 
-        if (dataSets.isEmpty()) {
-            throw new RuntimeException("No dataset loaded for name " + name);
+    /**
+     * @return dataset cache key, files are validated by size and last modification time (csv datasets, which span a directory, by content)
+     * and other resources are hashed only once.
+     */
+    private String getDataSetKey(DataSetCache dataSetCache, String dataSetName, String extension) throws IOException {
+        if (!SUPPORTED_EXTENSIONS.contains(extension)) {
+            return DataSetCache.key(dataSetName, new byte[0]);
+        }
+        URL url = getDataSetUrl(dataSetName);
+        if ("file".equals(url.getProtocol())) {
+            if ("csv".equals(extension)) {
+                return DataSetCache.key(dataSetName, readDataSetContent(dataSetName, extension));
+            }
+            File file;
+            try {
+                file = new File(url.toURI());
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid dataset url " + url, e);
+            }
+            return DataSetCache.key(dataSetName, file.length(), file.lastModified());
+        }
+        String key = dataSetCache.getResourceKey(url);
+        if (key == null) {
+            key = DataSetCache.key(dataSetName, readDataSetContent(dataSetName, extension));
+            dataSetCache.putResourceKey(url, key);
         }
+        return key;
+    }
 
-        return new CompositeDataSet(dataSets.toArray(new IDataSet[dataSets.size()]));
+    /**
+     * @return raw dataset content used to calculate its cache key. For csv datasets it is the content of all files in dataset directory.
+     */
+    private byte[] readDataSetContent(String dataSetName, String extension) throws IOException {
+        if (!SUPPORTED_EXTENSIONS.contains(extension)) {
+            //will be reported as unsupported when parsing
+            return new byte[0];
+        }
+        if ("csv".equals(extension)) {
+            return CsvDataSet.readContent(getDataSetUrl(dataSetName));
+        }
+        try (InputStream is = getDataSetStream(dataSetName)) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                content.write(buffer, 0, read);
+            }
+            return content.toByteArray();
+        }
     }
 
     @Override
@@ -229,6 +578,270 @@ public class DataSetExecutorImpl implements DataSetExecutor {
         return connectionHolder;
     }
 
+    /**
+     * @return if dataset with given fingerprint is seeded and database has not changed since then
+     */
+    private boolean isSeeded(String fingerprint) {
+        WriteTracker writeTracker = getWriteTracker();
+        if (writeTracker != null && writeTracker.getWriteCount() != seedWriteCount) {
+            databaseDirty = true;
+        }
+        return !databaseDirty && fingerprint.equals(seedFingerprint);
+    }
+
+    private void seeded(String fingerprint, DataSetConfig dataSetConfig, String[] tableNames) throws DatabaseUnitException, SQLException {
+        WriteTracker writeTracker = getWriteTracker();
+        if (dataSetConfig.isSeedOnce() && tableNames != null) {
+            Connection connection = databaseConnection.getConnection();
+            if (!connection.getAutoCommit() && layers.isEmpty()) {
+                connection.commit();
+            }
+            seedOnceChecksum = getChecksum(tableNames);
+            seedOnceTables = tableNames;
+        } else {
+            seedOnceTables = null;
+        }
+        seedFingerprint = fingerprint;
+        seedWriteCount = writeTracker != null ? writeTracker.getWriteCount() : -1;
+        //tracked writes only make the database dirty (writes through other connections, e.g. JPA, are not tracked),
+        //seed once datasets are verified after each test, see endRollbackTest()
+        databaseDirty = !dataSetConfig.isReadOnly() && !dataSetConfig.isSeedOnce();
+    }
+
+    @Override
+    public void beginRollbackTest(boolean jdbcTransaction) {
+        rollbackAutoCommit = null;
+        rollbackSavepoint = null;
+        rollbackTest = true;
+        if (!layers.isEmpty()) {
+            //layers are not committed, test can only be rolled back to a savepoint
+            try {
+                rollbackSavepoint = databaseConnection.getConnection().setSavepoint();
+            } catch (SQLException e) {
+                throw new RuntimeException(String.format("Could not create test savepoint on executor '%s'.", executorId), e);
+            }
+        } else if (jdbcTransaction) {
+            try {
+                Connection connection = connectionHolder.getConnection();
+                rollbackAutoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+            } catch (SQLException e) {
+                throw new RuntimeException(String.format("Could not start transaction on executor '%s'.", executorId), e);
+            }
+        }
+    }
+
+    @Override
+    public boolean endRollbackTest() {
+        boolean intact;
+        try {
+            if (rollbackSavepoint != null) {
+                Connection connection = databaseConnection.getConnection();
+                connection.rollback(rollbackSavepoint);
+                releaseSavepoint(connection, rollbackSavepoint);
+            } else if (rollbackAutoCommit != null) {
+                Connection connection = connectionHolder.getConnection();
+                connection.rollback();
+                connection.setAutoCommit(rollbackAutoCommit);
+            }
+            String[] tableNames = seedOnceTables;
+            intact = tableNames != null && getChecksum(tableNames) == seedOnceChecksum;
+        } catch (DatabaseUnitException | SQLException e) {
+            log.warn(String.format("Could not verify rollback on executor '%s'.", executorId), e);
+            intact = false;
+        } finally {
+            rollbackAutoCommit = null;
+            rollbackSavepoint = null;
+            rollbackTest = false;
+        }
+        if (intact) {
+            WriteTracker writeTracker = getWriteTracker();
+            //rolled back writes
+            seedWriteCount = writeTracker != null ? writeTracker.getWriteCount() : -1;
+            databaseDirty = false;
+        } else {
+            log.warn(String.format("Dataset tables of executor '%s' were changed despite test rollback (e.g. by a commit or DDL statement), dataset will be seeded again.", executorId));
+            databaseDirty = true;
+        }
+        return intact;
+    }
+
+    @Override
+    public void beginLayer(DataSetConfig dataSetConfig) {
+        if (dataSetConfig == null || dataSetConfig.getName() == null || "".equals(dataSetConfig.getName())) {
+            throw new RuntimeException(String.format("Layer of executor '%s' must declare a dataset.", executorId));
+        }
+        try {
+            if (databaseConnection == null || !dbUnitConfig.isCacheConnection()) {
+                initDatabaseConnection();
+            }
+            Connection connection = databaseConnection.getConnection();
+            if (layers.isEmpty()) {
+                layersAutoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+            }
+            Layer layer = new Layer(dataSetConfig.getName(), connection.setSavepoint(), seedFingerprint, seedOnceTables, seedOnceChecksum);
+            layers.push(layer);
+            if (dataSetConfig.getExecuteStatementsBefore() != null && dataSetConfig.getExecuteStatementsBefore().length > 0) {
+                executeStatements(dataSetConfig.getExecuteStatementsBefore());
+            }
+            if (dataSetConfig.getExecuteScriptsBefore() != null && dataSetConfig.getExecuteScriptsBefore().length > 0) {
+                for (int i = 0; i < dataSetConfig.getExecuteScriptsBefore().length; i++) {
+                    executeScript(dataSetConfig.getExecuteScriptsBefore()[i]);
+                }
+            }
+            IDataSet resultingDataSet = prepareDataSet(dataSetConfig);
+            //layers extend the data below them, clean strategies would delete it
+            getOperation(getLayerStrategy(dataSetConfig.getstrategy())).execute(databaseConnection, resultingDataSet);
+
+            Set<String> tables = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            if (layer.seedOnceTables != null) {
+                tables.addAll(Arrays.asList(layer.seedOnceTables));
+            }
+            tables.addAll(Arrays.asList(resultingDataSet.getTableNames()));
+            seedOnceTables = tables.toArray(new String[tables.size()]);
+            seedOnceChecksum = getChecksum(seedOnceTables);
+            seedFingerprint = getSeedFingerprint(dataSetConfig);
+            WriteTracker writeTracker = getWriteTracker();
+            seedWriteCount = writeTracker != null ? writeTracker.getWriteCount() : -1;
+            databaseDirty = false;
+            log.info(String.format("Dataset '%s' layered on executor '%s' (depth %d).", dataSetConfig.getName(), executorId, layers.size()));
+        } catch (Exception e) {
+            throw new DataBaseSeedingException("Could not layer dataset: " + dataSetConfig, e);
+        }
+    }
+
+    @Override
+    public void endLayer() {
+        Layer layer = layers.poll();
+        if (layer == null) {
+            return;
+        }
+        seedFingerprint = layer.seedFingerprint;
+        seedOnceTables = layer.seedOnceTables;
+        seedOnceChecksum = layer.seedOnceChecksum;
+        boolean intact;
+        try {
+            Connection connection = databaseConnection.getConnection();
+            connection.rollback(layer.savepoint);
+            releaseSavepoint(connection, layer.savepoint);
+            if (layers.isEmpty()) {
+                connection.setAutoCommit(layersAutoCommit);
+            }
+            intact = seedOnceTables == null || getChecksum(seedOnceTables) == seedOnceChecksum;
+        } catch (DatabaseUnitException | SQLException e) {
+            log.warn(String.format("Could not roll back layer '%s' of executor '%s'.", layer.name, executorId), e);
+            intact = false;
+        }
+        if (intact && seedOnceTables != null) {
+            WriteTracker writeTracker = getWriteTracker();
+            seedWriteCount = writeTracker != null ? writeTracker.getWriteCount() : -1;
+            databaseDirty = false;
+        } else {
+            databaseDirty = true;
+        }
+    }
+
+    private static SeedStrategy getLayerStrategy(SeedStrategy strategy) {
+        if (strategy == SeedStrategy.CLEAN_INSERT) {
+            return SeedStrategy.INSERT;
+        }
+        if (strategy == SeedStrategy.CLEAN_BULK_INSERT) {
+            return SeedStrategy.BULK_INSERT;
+        }
+        return strategy;
+    }
+
+    private static void releaseSavepoint(Connection connection, Savepoint savepoint) {
+        try {
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLException | UnsupportedOperationException e) {
+            //released on commit or rollback anyway
+            log.debug("Could not release savepoint.", e);
+        }
+    }
+
+    /**
+     * @return checksum of current rows of given tables
+     */
+    private long getChecksum(String[] tableNames) throws DatabaseUnitException, SQLException {
+        CRC32 checksum = new CRC32();
+        IDataSet current = databaseConnection.createDataSet(tableNames);
+        for (String tableName : tableNames) {
+            ITable table = current.getTable(tableName);
+            Column[] columns = table.getTableMetaData().getColumns();
+            checksum.update(tableName.getBytes(StandardCharsets.UTF_8));
+            for (int row = 0; row < table.getRowCount(); row++) {
+                for (Column column : columns) {
+                    Object value = table.getValue(row, column.getColumnName());
+                    checksum.update((value == null ? "\u0000" : "\u0001" + value).getBytes(StandardCharsets.UTF_8));
+                }
+                checksum.update('\n');
+            }
+        }
+        return checksum.getValue();
+    }
+
+    /**
+     * @return tracker of writes made through executor connection or <code>null</code> if writes are not tracked, see
+     * {@link DBUnitConfig#isSelectiveCleanup()}
+     */
+    private WriteTracker getWriteTracker() {
+        return connectionHolder instanceof ConnectionHolderImpl ? ((ConnectionHolderImpl) connectionHolder).getWriteTracker() : null;
+    }
+
+    /**
+     * @return false if rows may be written through connections which are not tracked: parallel seeding and clean up
+     * connections or an entity manager open on executor database
+     */
+    private boolean isEveryWriteTracked() throws SQLException {
+        if (dbUnitConfig.isParallelSeeding() || dbUnitConfig.isParallelCleanup()) {
+            return false;
+        }
+        return !JPA_PRESENT || !EntityManagerProvider.isEntityManagerActive(connectionHolder.getConnection());
+    }
+
+    /**
+     * @return false while layers or a rollback test are active: their changes live in executor connection transaction,
+     * which parallel seeding and clean up commit, and writes of other connections can't be rolled back
+     */
+    private boolean isTransactionFree() {
+        return layers.isEmpty() && !rollbackTest;
+    }
+
+    private static boolean isJpaPresentOnClasspath() {
+        try {
+            Class.forName("javax.persistence.EntityManager");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private String getSeedFingerprint(DataSetConfig dataSetConfig) {
+        return String.format("%s|%s|%s|%s", dataSetConfig.getName(), dataSetConfig.getstrategy(),
+                dataSetConfig.isUseSequenceFiltering(), Arrays.toString(dataSetConfig.getTableOrdering()));
+    }
+
+    /**
+     * Tells the executor database was changed outside of it, so next dataset will be seeded even if it is the same as
+     * the last one seeded by a read only test.
+     */
+    public void markDatabaseDirty() {
+        databaseDirty = true;
+    }
+
+    DatabaseOperation getOperation(SeedStrategy strategy) {
+        DatabaseOperation bulkInsert = dbUnitConfig.isNativeBulkLoad() ? NATIVE_BULK_LOAD : BULK_INSERT;
+        if (strategy == SeedStrategy.BULK_INSERT) {
+            return bulkInsert;
+        }
+        if (strategy == SeedStrategy.CLEAN_BULK_INSERT) {
+            return new CompositeOperation(DatabaseOperation.DELETE_ALL, bulkInsert);
+        }
+        return strategy.getOperation();
+    }
+
     private IDataSet performTableOrdering(DataSetConfig dataSet, IDataSet target) throws AmbiguousTableNameException {
         if (dataSet.getTableOrdering().length > 0) {
             target = new FilteredDataSet(new SequenceTableFilter(dataSet.getTableOrdering()), target);
@@ -238,13 +851,51 @@ public class DataSetExecutorImpl implements DataSetExecutor {
 
     private IDataSet performSequenceFiltering(DataSetConfig dataSet, IDataSet target) throws DataSetException, SQLException {
         if (dataSet.isUseSequenceFiltering()) {
-            ITableFilter filteredTable = new DatabaseSequenceFilter(databaseConnection, target.getTableNames());
+            ITableFilter filteredTable = getSequenceFilter(target.getTableNames());
             target = new FilteredDataSet(filteredTable, target);
         }
         return target;
     }
 
 
+    /**
+     * @return filter ordering given tables by foreign keys, with orders cached by table set when
+     * {@link DBUnitConfig#isCacheTableOrdering()} is enabled
+     */
+    private ITableFilter getSequenceFilter(String[] tableNames) throws DataSetException, SQLException {
+        if (dbUnitConfig.isCacheTableOrdering()) {
+            return new SequenceTableFilter(tableOrderCache.getTableOrder(tableNames));
+        }
+        return new DatabaseSequenceFilter(databaseConnection, tableNames);
+    }
+
+    /**
+     * Forgets cached table orders, including the ones stored in <code>tableOrderingCacheFile</code>, e.g. after
+     * changing database schema outside executor.
+     */
+    public void clearTableOrderCache() {
+        tableOrderCache.clear();
+    }
+
+    /**
+     * Forgets cached schema metadata, including the one stored in <code>metadataCacheFile</code>, and column types
+     * of typed datasets, e.g. after changing database schema outside executor.
+     */
+    public synchronized void clearMetadataCache() {
+        if (metadataCache != null) {
+            metadataCache.clear();
+        }
+        clearColumnTypes();
+    }
+
+    /**
+     * Forgets column types read from database and datasets converted to them.
+     */
+    private void clearColumnTypes() {
+        columnTypes.clear();
+        typedDataSets.clear();
+    }
+
     private void configDatabaseProperties() throws SQLException {
         DatabaseConfig config = databaseConnection.getConfig();
         for (Entry<String, Object> p : dbUnitConfig.getProperties().entrySet()) {
@@ -270,20 +921,27 @@ public class DataSetExecutorImpl implements DataSetExecutor {
     private void disableConstraints() throws SQLException {
 
         String driverName = getDriverName(connectionHolder);
+        String sql = null;
         if (DriverUtils.isHsql(driverName)) {
-            connectionHolder.getConnection().createStatement().execute("SET DATABASE REFERENTIAL INTEGRITY FALSE;");
+            sql = "SET DATABASE REFERENTIAL INTEGRITY FALSE;";
         }
 
         if (DriverUtils.isH2(driverName)) {
-            connectionHolder.getConnection().createStatement().execute("SET foreign_key_checks = 0;");
+            sql = "SET foreign_key_checks = 0;";
         }
 
         if (DriverUtils.isMysql(driverName)) {
-            connectionHolder.getConnection().createStatement().execute(" SET FOREIGN_KEY_CHECKS=0;");
+            sql = " SET FOREIGN_KEY_CHECKS=0;";
         }
 
         if (DriverUtils.isPostgre(driverName) || DriverUtils.isOracle(driverName)) {
-            connectionHolder.getConnection().createStatement().execute("SET CONSTRAINTS ALL DEFERRED;");
+            sql = "SET CONSTRAINTS ALL DEFERRED;";
+        }
+
+        if (sql != null) {
+            try (java.sql.Statement statement = getStatementConnection().createStatement()) {
+                statement.execute(sql);
+            }
         }
 
     }
@@ -297,18 +955,35 @@ public class DataSetExecutorImpl implements DataSetExecutor {
     }
 
     public void executeStatements(String[] statements) {
+        databaseDirty = true;
+        if (TableOrderCache.changesSchema(statements)) {
+            tableOrderCache.clear();
+            clearMetadataCache();
+        }
         if (statements != null && statements.length > 0 && !"".equals(statements[0].trim())) {
             try {
-                boolean autoCommit = connectionHolder.getConnection().getAutoCommit();
-                connectionHolder.getConnection().setAutoCommit(false);
-                java.sql.Statement statement = connectionHolder.getConnection().createStatement(ResultSet.TYPE_SCROLL_SENSITIVE,
-                        ResultSet.CONCUR_UPDATABLE);
-                for (String stm : statements) {
-                    statement.addBatch(stm);
+                Connection connection = connectionHolder.getConnection();
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try (java.sql.Statement statement = connection.createStatement()) {
+                    for (int i = 0; i < statements.length; i++) {
+                        statement.addBatch(statements[i]);
+                        if ((i + 1) % STATEMENT_BATCH_SIZE == 0 || i == statements.length - 1) {
+                            statement.executeBatch();
+                        }
+                    }
+                    //layers are not committed, see beginLayer
+                    if (layers.isEmpty()) {
+                        connection.commit();
+                    }
+                } catch (SQLException e) {
+                    if (layers.isEmpty()) {
+                        connection.rollback();
+                    }
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
                 }
-                statement.executeBatch();
-                connectionHolder.getConnection().commit();
-                connectionHolder.getConnection().setAutoCommit(autoCommit);
             } catch (Exception e) {
                 log.error("Could not createDataSet statements:" + e.getMessage(), e);
             }
@@ -324,14 +999,68 @@ public class DataSetExecutorImpl implements DataSetExecutor {
 
 
     private void initDatabaseConnection() throws DatabaseUnitException, SQLException {
-         databaseConnection = new DatabaseConnection(connectionHolder.getConnection());
+         databaseConnection = new DatabaseConnection(getStatementConnection());
          configDatabaseProperties();
     }
 
+    /**
+     * @return executor connection, wrapped by executor metadata and statement caches when they are enabled. Caches are
+     * replaced (statements closed and metadata stored) when executor connection changes.
+     */
+    private synchronized Connection getStatementConnection() throws SQLException {
+        Connection connection = getMetadataConnection(connectionHolder.getConnection());
+        if (!dbUnitConfig.isCacheStatements()) {
+            closeStatementCache();
+            return connection;
+        }
+        if (statementCache == null || !statementCache.isFor(connection)) {
+            closeStatementCache();
+            statementCache = new StatementCache(connection, dbUnitConfig.getStatementCacheSize());
+        }
+        return statementCache.getConnection();
+    }
+
+    private void closeStatementCache() {
+        if (statementCache != null) {
+            statementCache.close();
+            statementCache = null;
+        }
+    }
+
+    StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    private Connection getMetadataConnection(Connection connection) {
+        if (!dbUnitConfig.isCacheMetadata()) {
+            closeMetadataCache();
+            return connection;
+        }
+        if (metadataCache == null || !metadataCache.isFor(connection)) {
+            closeMetadataCache();
+            metadataCache = new MetadataCache(connection, dbUnitConfig.getMetadataCacheFile());
+        }
+        return metadataCache.getConnection();
+    }
+
+    private void closeMetadataCache() {
+        if (metadataCache != null) {
+            metadataCache.close();
+            metadataCache = null;
+        }
+    }
+
 
     public void setConnectionHolder(ConnectionHolder connectionHolder) {
         this.connectionHolder = connectionHolder;
+        this.databaseDirty = true;
+        //savepoints belong to previous connection
+        layers.clear();
+        parallelSeeding.close();
+        tableOrderCache.reset();
+        clearColumnTypes();
         try {
+            //also closes statements of previous connection
             initDatabaseConnection();
         }catch (Exception e){
             log.error("Could not initialize dbunit connection.",e);
@@ -383,51 +1112,196 @@ public class DataSetExecutorImpl implements DataSetExecutor {
         return executors.get(id);
     }
 
-    private InputStream getDataSetStream(String dataSet) {
-        if (!dataSet.startsWith("/")) {
-            dataSet = "/" + dataSet;
-        }
-        InputStream is = getClass().getResourceAsStream(dataSet);
-        if (is == null) {//if not found try to get from datasets folder
-            is = getClass().getResourceAsStream("/datasets" + dataSet);
+    private URL getDataSetUrl(String dataSet) {
+        URL url = ResourceIndex.getInstance().resolve(dataSet, ResourceIndex.DATASETS_ROOT);
+        if (url == null) {
+            throw new RuntimeException(String.format("Could not find dataset '%s' under 'resources' or 'resources/datasets' directory.", dataSet.startsWith("/") ? dataSet.substring(1) : dataSet));
         }
-        if(is == null){
-            throw new RuntimeException(String.format("Could not find dataset '%s' under 'resources' or 'resources/datasets' directory.",dataSet.substring(1)));
+        return url;
+    }
+
+    private InputStream getDataSetStream(String dataSet) {
+        try {
+            return getDataSetUrl(dataSet).openStream();
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Could not read dataset '%s'.", dataSet), e);
         }
-        return is;
     }
 
     /**
      * @throws SQLException
      */
     public void clearDatabase(DataSetConfig dataset) throws SQLException {
-        Connection connection = connectionHolder.getConnection();
+        databaseDirty = true;
+        Connection connection = getStatementConnection();
+        WriteTracker writeTracker = getWriteTracker();
+        if (writeTracker != null && writeTracker.isComplete() && (dataset == null || dataset.getTableOrdering() == null || dataset.getTableOrdering().length == 0)
+                && isEveryWriteTracked() && clearWrittenTables(connection, writeTracker.getWrittenTables())) {
+            writeTracker.reset();
+            return;
+        }
+
+        if (dbUnitConfig.isFastClean() && truncateTables(connection, dataset != null && dataset.isDisableConstraints())) {
+            if (writeTracker != null) {
+                writeTracker.reset();
+            }
+            return;
+        }
+
+        if (dbUnitConfig.isParallelCleanup() && isTransactionFree() && (dataset == null || dataset.getTableOrdering() == null || dataset.getTableOrdering().length == 0)
+                && clearTablesInParallel(connection)) {
+            if (writeTracker != null) {
+                writeTracker.reset();
+            }
+            return;
+        }
 
         if (dataset != null && dataset.getTableOrdering() != null && dataset.getTableOrdering().length > 0) {
+            List<String> orderedTables = new ArrayList<>();
             for (String table : dataset.getTableOrdering()) {
-                if (table.toUpperCase().contains(SEQUENCE_TABLE_NAME)) {
+                if (!table.toUpperCase().contains(SEQUENCE_TABLE_NAME)) {
                     //tables containing 'SEQ'will NOT be cleared see https://github.com/rmpestano/dbunit-rules/issues/26
-                    continue;
+                    orderedTables.add(table);
+                }
+            }
+            for (String table : withoutEmptyTables(connection, orderedTables)) {
+                try (PreparedStatement statement = connection.prepareStatement("DELETE FROM " + table + " where 1=1")) {
+                    statement.executeUpdate();
                 }
-                connection.createStatement().executeUpdate("DELETE FROM " + table + " where 1=1");
                 connection.commit();
             }
         }
         //clear remaining tables in any order(if there are any, also no problem clearing again)
-        List<String> tables = getTableNames(connection);
-        for (String tableName : tables) {
-            if (tableName.toUpperCase().contains("SEQ")) {
+        List<String> tables = new ArrayList<>();
+        for (String tableName : getTableNames(connection)) {
+            if (!tableName.toUpperCase().contains("SEQ")) {
                 //tables containing 'SEQ' will NOT be cleared see https://github.com/rmpestano/dbunit-rules/issues/26
-                continue;
+                tables.add(tableName);
             }
+        }
+        for (String tableName : withoutEmptyTables(connection, tables)) {
             try {
-                connection.createStatement().executeUpdate("DELETE FROM " + tableName + " where 1=1");
+                try (PreparedStatement statement = connection.prepareStatement("DELETE FROM " + tableName + " where 1=1")) {
+                    statement.executeUpdate();
+                }
                 connection.commit();
             } catch (Exception e) {
                 log.warn("Could not clear table " + tableName + ", message:"+e.getMessage()+", cause: "+e.getCause());
             }
         }
+        if (writeTracker != null) {
+            writeTracker.reset();
+        }
+
+    }
+
+    /**
+     * truncates all tables, except sequence ones, in a single batch, see {@link DBUnitConfig#isFastClean()}
+     * @return <code>false</code> if database does not support truncate clean up or it failed, in which case table rows
+     * must be deleted
+     * @param constraintsDisabled if dataset disabled constraints before clean up, they are left disabled
+     */
+    private boolean truncateTables(Connection connection, boolean constraintsDisabled) throws SQLException {
+        String driverName = getDriverName(connectionHolder);
+        if (!TruncateCleanup.isSupported(driverName)) {
+            return false;
+        }
+        List<String> tables = new ArrayList<>();
+        for (String tableName : getTableNames(connection)) {
+            if (!tableName.toUpperCase().contains("SEQ")) {
+                //tables containing 'SEQ' will NOT be cleared see https://github.com/rmpestano/dbunit-rules/issues/26
+                tables.add(tableName);
+            }
+        }
+        try {
+            TruncateCleanup.truncate(connection, driverName, withoutEmptyTables(connection, tables), constraintsDisabled);
+            return true;
+        } catch (SQLException e) {
+            log.warn("Could not truncate tables, deleting their rows instead.", e);
+            return false;
+        }
+    }
+
+    /**
+     * @return given tables without the empty ones when {@link DBUnitConfig#isSkipEmptyTables()} is enabled, otherwise
+     * (or if emptiness could not be checked) all given tables
+     */
+    private List<String> withoutEmptyTables(Connection connection, List<String> tables) throws SQLException {
+        if (!dbUnitConfig.isSkipEmptyTables() || tables.isEmpty()) {
+            return tables;
+        }
+        try {
+            List<String> nonEmptyTables = EmptyTables.getNonEmptyTables(connection, getDriverName(connectionHolder), tables);
+            if (nonEmptyTables != null) {
+                log.debug(String.format("%d of %d tables have rows and will be cleared.", nonEmptyTables.size(), tables.size()));
+                return nonEmptyTables;
+            }
+        } catch (SQLException e) {
+            log.warn("Could not check which tables are empty, clearing all of them.", e);
+        }
+        return tables;
+    }
+
+    /**
+     * deletes rows of all tables known to DBUnit, except sequence ones, see {@link DBUnitConfig#isParallelCleanup()}
+     * @return <code>false</code> if tables could not be cleared in parallel, in which case they must be cleared sequentially
+     */
+    private boolean clearTablesInParallel(Connection connection) throws SQLException {
+        try {
+            List<String> tables = new ArrayList<>();
+            for (String tableName : databaseConnection.createDataSet().getTableNames()) {
+                if (!tableName.toUpperCase().contains("SEQ")) {
+                    //tables containing 'SEQ' will NOT be cleared see https://github.com/rmpestano/dbunit-rules/issues/26
+                    tables.add(tableName);
+                }
+            }
+            tables = withoutEmptyTables(connection, tables);
+            return parallelSeeding.clear(tables.toArray(new String[tables.size()]));
+        } catch (DatabaseUnitException e) {
+            log.warn("Could not clear tables in parallel, clearing them sequentially.", e);
+            return false;
+        }
+    }
 
+    /**
+     * deletes rows of given tables, in reverse foreign key order
+     * @return <code>false</code> if some table is unknown to DBUnit, e.g. from another schema, or tables could not be
+     * ordered and nothing was deleted
+     */
+    private boolean clearWrittenTables(Connection connection, Set<String> writtenTables) throws SQLException {
+        if (writtenTables.isEmpty()) {
+            return true;
+        }
+        try {
+            Map<String, String> databaseTables = new HashMap<>();
+            for (String tableName : databaseConnection.createDataSet().getTableNames()) {
+                databaseTables.put(tableName.toUpperCase(), tableName);
+            }
+            List<String> tables = new ArrayList<>();
+            for (String writtenTable : writtenTables) {
+                String tableName = databaseTables.get(writtenTable);
+                if (tableName == null && writtenTable.contains(".")) {
+                    tableName = databaseTables.get(writtenTable.substring(writtenTable.lastIndexOf('.') + 1));
+                }
+                if (tableName == null) {
+                    log.debug(String.format("Table '%s' not found, clearing all tables.", writtenTable));
+                    return false;
+                }
+                if (!tableName.toUpperCase().contains("SEQ")) {
+                    //tables containing 'SEQ' will NOT be cleared see https://github.com/rmpestano/dbunit-rules/issues/26
+                    tables.add(tableName);
+                }
+            }
+            ITableFilter filter = getSequenceFilter(tables.toArray(new String[tables.size()]));
+            DatabaseOperation.DELETE_ALL.execute(databaseConnection, new FilteredDataSet(filter, databaseConnection.createDataSet()));
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+            return true;
+        } catch (DatabaseUnitException e) {
+            log.warn("Could not clear written tables, clearing all tables.", e);
+            return false;
+        }
     }
 
     private List<String> getTableNames(Connection con) {
@@ -473,66 +1347,29 @@ public class DataSetExecutorImpl implements DataSetExecutor {
     }
 
     public void executeScript(String scriptPath) {
+        databaseDirty = true;
         if (scriptPath != null && !"".equals(scriptPath)) {
             if (!scriptPath.startsWith("/")) {
                 scriptPath = "/" + scriptPath;
             }
-            URL resource = getClass().getResource(scriptPath.trim());
-            String absolutePath = "";
-            if (resource != null) {
-                absolutePath = resource.getFile();
-            } else {
-                resource = getClass().getResource("/scripts" + scriptPath.trim());
-                if (resource != null) {
-                    absolutePath = resource.getFile();
-                }
-            }
+            URL resource = ResourceIndex.getInstance().resolve(scriptPath, ResourceIndex.SCRIPTS_ROOT);
             if (resource == null) {
                 throw new RuntimeException(String.format("Could not find script %s in classpath", scriptPath));
             }
 
-            File scriptFile = new File(absolutePath);
-
-            String[] scriptsStatements = readScriptStatements(scriptFile);
-            if (scriptsStatements != null && scriptsStatements.length > 0) {
-                executeStatements(scriptsStatements);
-            }
-        }
-    }
-
-    private String[] readScriptStatements(File scriptFile) {
-        RandomAccessFile rad = null;
-        int lineNum = 0;
-        try {
-            rad = new RandomAccessFile(scriptFile, "r");
-            String line;
-            List<String> scripts = new ArrayList<>();
-            while ((line = rad.readLine()) != null) {
-                //a line can have multiple scripts separated by ;
-                String[] lineScripts = line.split(";");
-                for (int i = 0; i < lineScripts.length; i++) {
-                    scripts.add(lineScripts[i]);
-                }
-                lineNum++;
+            List<String> scriptStatements;
+            try {
+                scriptStatements = SqlScript.getStatements(resource);
+            } catch (IOException e) {
+                log.warn(String.format("Could not read script file %s.", resource), e);
+                return;
             }
-            return scripts.toArray(new String[scripts.size()]);
-        } catch (Exception e) {
-            log.warn(String.format("Could not read script file %s. Error in line %d.", scriptFile.getAbsolutePath(), lineNum), e);
-            return null;
-        } finally {
-            if (rad != null) {
-                try {
-                    rad.close();
-                } catch (IOException e) {
-                    log.warn("Could not close script file " + scriptFile.getAbsolutePath());
-
-                }
+            if (!scriptStatements.isEmpty()) {
+                executeStatements(scriptStatements.toArray(new String[scriptStatements.size()]));
             }
         }
-
     }
 
-
     public void compareCurrentDataSetWith(DataSetConfig expectedDataSetConfig, String[] excludeCols) throws DatabaseUnitException {
         IDataSet current = null;
         IDataSet expected = null;
@@ -542,7 +1379,7 @@ public class DataSetExecutorImpl implements DataSetExecutor {
                 initDatabaseConnection();
             }
             current = databaseConnection.createDataSet();
-            expected = loadDataSet(expectedDataSetConfig.getName());
+            expected = dbUnitConfig.isTypedDataSets() ? loadTypedDataSet(expectedDataSetConfig.getName()) : loadDataSet(expectedDataSetConfig.getName());
         } catch (Exception e) {
             throw new RuntimeException("Could not create dataset to compare.", e);
         }
@@ -581,4 +1418,63 @@ public class DataSetExecutorImpl implements DataSetExecutor {
     public DatabaseConnection getDBUnitConnection() {
         return databaseConnection;
     }
+
+    @Override
+    public void createSnapshot(String name, String... tableNames) {
+        try {
+            if (databaseConnection == null) {
+                initDatabaseConnection();
+            }
+            String[] tables = tableNames.length > 0 ? tableNames : databaseConnection.createDataSet().getTableNames();
+            snapshots.put(name, new CachedDataSet(databaseConnection.createDataSet(tables)));
+        } catch (DatabaseUnitException | SQLException e) {
+            throw new RuntimeException(String.format("Could not create snapshot '%s' of executor '%s'.", name, executorId), e);
+        }
+    }
+
+    @Override
+    public void restoreSnapshot(String name) {
+        databaseDirty = true;
+        IDataSet snapshot = snapshots.get(name);
+        if (snapshot == null) {
+            throw new RuntimeException(String.format("Snapshot '%s' not found in executor '%s'.", name, executorId));
+        }
+        try {
+            if (databaseConnection == null) {
+                initDatabaseConnection();
+            }
+            getOperation(SeedStrategy.CLEAN_BULK_INSERT).execute(databaseConnection, snapshot);
+        } catch (DatabaseUnitException | SQLException e) {
+            throw new RuntimeException(String.format("Could not restore snapshot '%s' of executor '%s'.", name, executorId), e);
+        }
+    }
+
+    @Override
+    public boolean hasSnapshot(String name) {
+        return snapshots.containsKey(name);
+    }
+
+    /**
+     * dataset seeded after a savepoint, with seed state it was layered on
+     */
+    private static class Layer {
+
+        private final String name;
+
+        private final Savepoint savepoint;
+
+        private final String seedFingerprint;
+
+        private final String[] seedOnceTables;
+
+        private final long seedOnceChecksum;
+
+        Layer(String name, Savepoint savepoint, String seedFingerprint, String[] seedOnceTables, long seedOnceChecksum) {
+            this.name = name;
+            this.savepoint = savepoint;
+            this.seedFingerprint = seedFingerprint;
+            this.seedOnceTables = seedOnceTables;
+            this.seedOnceChecksum = seedOnceChecksum;
+        }
+    }
 }
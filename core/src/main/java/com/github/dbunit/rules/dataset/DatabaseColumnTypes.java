@@ -0,0 +1,69 @@
+package com.github.dbunit.rules.dataset;
+
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.NoSuchTableException;
+import org.dbunit.dataset.datatype.DataType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Column types of database tables, read from dbunit connection metadata once per table and executor.
+ */
+class DatabaseColumnTypes {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseColumnTypes.class);
+
+    private final DataSetExecutorImpl executor;
+
+    private final Map<String, Map<String, DataType>> tables = new ConcurrentHashMap<>();
+
+    DatabaseColumnTypes(DataSetExecutorImpl executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @return column types by upper case column name or <code>null</code> if table is not found in database
+     */
+    Map<String, DataType> get(String tableName) throws DataSetException {
+        Map<String, DataType> columnTypes = tables.get(tableName.toUpperCase());
+        if (columnTypes == null) {
+            columnTypes = read(tableName);
+            if (columnTypes != null) {
+                //missing tables are not cached, they may be created later (e.g. by a script)
+                tables.put(tableName.toUpperCase(), columnTypes);
+            }
+        }
+        return columnTypes;
+    }
+
+    void clear() {
+        tables.clear();
+    }
+
+    private Map<String, DataType> read(String tableName) throws DataSetException {
+        DatabaseConnection connection = executor.getDBUnitConnection();
+        if (connection == null) {
+            return null;
+        }
+        try {
+            Map<String, DataType> columnTypes = new HashMap<>();
+            for (Column column : connection.createDataSet().getTableMetaData(tableName).getColumns()) {
+                columnTypes.put(column.getColumnName().toUpperCase(), column.getDataType());
+            }
+            return Collections.unmodifiableMap(columnTypes);
+        } catch (NoSuchTableException e) {
+            log.debug(String.format("Table %s not found in database, its column types will not be resolved.", tableName));
+            return null;
+        } catch (SQLException e) {
+            throw new DataSetException(String.format("Could not read column types of table %s.", tableName), e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.dbunit.rules.dataset;
+
+import com.github.dbunit.rules.util.DriverUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds which tables have rows with a single query per chunk of tables, a <code>UNION ALL</code> of <code>EXISTS</code>
+ * probes, see {@link com.github.dbunit.rules.configuration.DBUnitConfig#isSkipEmptyTables()}.
+ *
+ * Catalog row counts (e.g. <code>information_schema.TABLES</code> or <code>pg_stat_user_tables</code>) are not used
+ * because most databases only estimate them and may report tables with rows as empty.
+ */
+class EmptyTables {
+
+    /**
+     * tables probed by each query
+     */
+    static final int CHUNK_SIZE = 50;
+
+    private EmptyTables() {
+    }
+
+    /**
+     * @param driverName lower case driver name of connection
+     * @return given tables which have rows, in the same order, or <code>null</code> if database is not supported
+     */
+    static List<String> getNonEmptyTables(Connection connection, String driverName, List<String> tableNames) throws SQLException {
+        String singleRow = getSingleRowTable(driverName);
+        if (singleRow == null) {
+            return null;
+        }
+        List<String> nonEmptyTables = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            for (int chunk = 0; chunk < tableNames.size(); chunk += CHUNK_SIZE) {
+                List<String> tables = tableNames.subList(chunk, Math.min(chunk + CHUNK_SIZE, tableNames.size()));
+                try (ResultSet resultSet = statement.executeQuery(getProbe(singleRow, tables))) {
+                    boolean[] nonEmpty = new boolean[tables.size()];
+                    while (resultSet.next()) {
+                        nonEmpty[resultSet.getInt(1)] = true;
+                    }
+                    for (int i = 0; i < tables.size(); i++) {
+                        if (nonEmpty[i]) {
+                            nonEmptyTables.add(tables.get(i));
+                        }
+                    }
+                }
+            }
+        }
+        return nonEmptyTables;
+    }
+
+    static String getProbe(String singleRow, List<String> tableNames) {
+        StringBuilder probe = new StringBuilder();
+        for (int i = 0; i < tableNames.size(); i++) {
+            if (i > 0) {
+                probe.append(" UNION ALL ");
+            }
+            probe.append("SELECT ").append(i);
+            if (!"".equals(singleRow)) {
+                probe.append(" FROM ").append(singleRow);
+            }
+            probe.append(" WHERE EXISTS (SELECT 1 FROM ").append(tableNames.get(i)).append(")");
+        }
+        return probe.toString();
+    }
+
+    /**
+     * @return table with a single row to select probes from, empty if select doesn't need one or <code>null</code> if
+     * database is not supported
+     */
+    private static String getSingleRowTable(String driverName) {
+        if (DriverUtils.isPostgre(driverName)) {
+            return "";
+        }
+        if (DriverUtils.isHsql(driverName)) {
+            return "(VALUES(0))";
+        }
+        if (DriverUtils.isH2(driverName) || DriverUtils.isMysql(driverName) || DriverUtils.isOracle(driverName)) {
+            return "DUAL";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,333 @@
+package com.github.dbunit.rules.dataset;
+
+import com.github.dbunit.rules.api.dataset.SeedStrategy;
+import com.github.dbunit.rules.configuration.ConnectionConfig;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.DatabaseConfig;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.operation.DatabaseOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Seeds insert strategies (INSERT, CLEAN_INSERT and bulk variants) by foreign key levels: tables without references to
+ * other dataset tables are inserted first, then tables referencing only them and so on. Tables of the same level are
+ * inserted concurrently, each one on a connection of a small per executor pool, and committed before next level starts.
+ *
+ * Tables are also cleared the same way in reverse level order, see {@link #clear(String[])}, so a table is only
+ * cleared after the tables referencing it and tables being cleared at the same time never reference each other.
+ *
+ * Pool connections are opened with executor connection config or, when it has no url, with executor connection url and
+ * user name. Private in memory databases (not shared among connections), datasets with circular references and
+ * connections which can't be opened fall back to sequential seeding on executor connection.
+ */
+class ParallelSeeding {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelSeeding.class);
+
+    static final int MAX_SEEDING_CONNECTIONS = 4;
+
+    private static ExecutorService seedingPool;
+
+    private final DataSetExecutorImpl executor;
+
+    private final BlockingQueue<Connection> idleConnections = new LinkedBlockingQueue<>();
+
+    private volatile boolean unsupported;
+
+    ParallelSeeding(DataSetExecutorImpl executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @return <code>false</code> if dataset was not seeded because parallel seeding is not supported for given strategy
+     * or database, in which case it must be seeded sequentially
+     */
+    boolean seed(IDataSet dataSet, SeedStrategy strategy) throws DatabaseUnitException, SQLException {
+        if (unsupported || !isInsertStrategy(strategy)) {
+            return false;
+        }
+        DatabaseConnection databaseConnection = executor.getDBUnitConnection();
+        Connection connection = databaseConnection.getConnection();
+        if (isPrivateInMemoryDatabase(connection.getMetaData().getURL())) {
+            log.debug("Database is not shared among connections, seeding sequentially.");
+            unsupported = true;
+            return false;
+        }
+        List<List<ITable>> levels = getLevels(databaseConnection, dataSet);
+        if (levels == null) {
+            log.debug("Dataset tables have circular references, seeding sequentially.");
+            return false;
+        }
+        try {
+            idleConnections.add(borrowConnection());
+        } catch (SQLException e) {
+            log.warn("Could not open seeding connection, datasets will be seeded sequentially.", e);
+            unsupported = true;
+            return false;
+        }
+        if (strategy == SeedStrategy.CLEAN_INSERT || strategy == SeedStrategy.CLEAN_BULK_INSERT) {
+            List<ITable> tables = new ArrayList<>();
+            for (List<ITable> level : levels) {
+                tables.addAll(level);
+            }
+            //deletes in reverse level order
+            DatabaseOperation.DELETE_ALL.execute(databaseConnection, new DefaultDataSet(tables.toArray(new ITable[tables.size()])));
+        }
+        if (!connection.getAutoCommit()) {
+            //other connections must see deleted rows
+            connection.commit();
+        }
+        DatabaseOperation insert = executor.getOperation(strategy == SeedStrategy.CLEAN_INSERT || strategy == SeedStrategy.INSERT ? SeedStrategy.INSERT : SeedStrategy.BULK_INSERT);
+        for (List<ITable> level : levels) {
+            executeLevel(level, insert, MAX_SEEDING_CONNECTIONS);
+        }
+        return true;
+    }
+
+    /**
+     * Deletes rows of given tables by reverse foreign key level, tables of the same level concurrently on up to
+     * <code>cleanupParallelism</code> pool connections, committing each table before next level starts.
+     * @return <code>false</code> if tables were not cleared because parallel clean up is not supported for tables or
+     * database, in which case they must be cleared sequentially
+     */
+    boolean clear(String[] tableNames) throws DatabaseUnitException, SQLException {
+        if (unsupported) {
+            return false;
+        }
+        DatabaseConnection databaseConnection = executor.getDBUnitConnection();
+        Connection connection = databaseConnection.getConnection();
+        if (isPrivateInMemoryDatabase(connection.getMetaData().getURL())) {
+            log.debug("Database is not shared among connections, clearing tables sequentially.");
+            unsupported = true;
+            return false;
+        }
+        ITable[] tables = new ITable[tableNames.length];
+        for (int i = 0; i < tableNames.length; i++) {
+            tables[i] = new DefaultTable(tableNames[i]);
+        }
+        List<List<ITable>> levels = getLevels(databaseConnection, new DefaultDataSet(tables));
+        if (levels == null) {
+            log.debug("Tables have circular references, clearing them sequentially.");
+            return false;
+        }
+        try {
+            idleConnections.add(borrowConnection());
+        } catch (SQLException e) {
+            log.warn("Could not open clean up connection, tables will be cleared sequentially.", e);
+            unsupported = true;
+            return false;
+        }
+        if (!connection.getAutoCommit()) {
+            //locks of executor connection would block clean up connections
+            connection.commit();
+        }
+        for (int i = levels.size() - 1; i >= 0; i--) {
+            executeLevel(levels.get(i), DatabaseOperation.DELETE_ALL, executor.getDBUnitConfig().getCleanupParallelism());
+        }
+        return true;
+    }
+
+    private boolean isInsertStrategy(SeedStrategy strategy) {
+        return strategy == SeedStrategy.INSERT || strategy == SeedStrategy.CLEAN_INSERT
+                || strategy == SeedStrategy.BULK_INSERT || strategy == SeedStrategy.CLEAN_BULK_INSERT;
+    }
+
+    /**
+     * executes given operation on each table of a level, using at most <code>parallelism</code> connections at once
+     */
+    private void executeLevel(List<ITable> level, final DatabaseOperation operation, int parallelism) throws DatabaseUnitException, SQLException {
+        final Queue<ITable> pending = new ConcurrentLinkedQueue<>(level);
+        List<Future<Void>> results = new ArrayList<>();
+        int workers = Math.min(Math.max(parallelism, 1), level.size());
+        for (int i = 0; i < workers; i++) {
+            results.add(getSeedingPool().submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    ITable table;
+                    while ((table = pending.poll()) != null) {
+                        executeTable(table, operation);
+                    }
+                    return null;
+                }
+            }));
+        }
+        try {
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseUnitException("Interrupted while executing dataset operation.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DatabaseUnitException) {
+                throw (DatabaseUnitException) cause;
+            }
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new DatabaseUnitException(cause);
+        }
+    }
+
+    private void executeTable(ITable table, DatabaseOperation operation) throws DatabaseUnitException, SQLException {
+        Connection connection = borrowConnection();
+        boolean broken = true;
+        try {
+            operation.execute(createDatabaseConnection(connection), new DefaultDataSet(table));
+            connection.commit();
+            broken = false;
+        } finally {
+            if (broken) {
+                try {
+                    connection.rollback();
+                } catch (SQLException e) {
+                    log.warn("Could not rollback pool connection.", e);
+                }
+            }
+            idleConnections.add(connection);
+        }
+    }
+
+    private IDatabaseConnection createDatabaseConnection(Connection connection) throws DatabaseUnitException {
+        DatabaseConnection executorConnection = executor.getDBUnitConnection();
+        DatabaseConnection databaseConnection = new DatabaseConnection(connection, executorConnection.getSchema());
+        for (DatabaseConfig.ConfigProperty property : DatabaseConfig.ALL_PROPERTIES) {
+            Object value = executorConnection.getConfig().getProperty(property.getProperty());
+            if (value != null) {
+                databaseConnection.getConfig().setProperty(property.getProperty(), value);
+            }
+        }
+        return databaseConnection;
+    }
+
+    private Connection borrowConnection() throws SQLException {
+        Connection connection = idleConnections.poll();
+        if (connection != null) {
+            return connection;
+        }
+        ConnectionConfig connectionConfig = executor.getDBUnitConfig().getConnectionConfig();
+        Connection executorConnection = executor.getDBUnitConnection().getConnection();
+        boolean configured = connectionConfig != null && connectionConfig.getUrl() != null && !"".equals(connectionConfig.getUrl());
+        String url = configured ? connectionConfig.getUrl() : executorConnection.getMetaData().getURL();
+        String user = configured ? connectionConfig.getUser() : executorConnection.getMetaData().getUserName();
+        String password = connectionConfig != null && connectionConfig.getPassword() != null ? connectionConfig.getPassword() : "";
+        connection = DriverManager.getConnection(url, user, password);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    /**
+     * Closes pool connections, e.g. when executor connection changes.
+     */
+    void close() {
+        Connection connection;
+        while ((connection = idleConnections.poll()) != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.warn("Could not close seeding connection.", e);
+            }
+        }
+        unsupported = false;
+    }
+
+    /**
+     * @return dataset tables grouped by foreign key level, in dataset order inside each level, or <code>null</code> if
+     * tables have circular references
+     */
+    static List<List<ITable>> getLevels(IDatabaseConnection databaseConnection, IDataSet dataSet) throws DatabaseUnitException, SQLException {
+        Map<String, ITable> tables = new LinkedHashMap<>();
+        for (String tableName : dataSet.getTableNames()) {
+            tables.put(tableName.toUpperCase(), dataSet.getTable(tableName));
+        }
+        Map<String, Set<String>> parents = new HashMap<>();
+        IDataSet databaseDataSet = databaseConnection.createDataSet();
+        for (String table : tables.keySet()) {
+            Set<String> tableParents = new HashSet<>();
+            String tableName = databaseDataSet.getTableMetaData(table).getTableName();
+            try (ResultSet importedKeys = databaseConnection.getConnection().getMetaData().getImportedKeys(null, databaseConnection.getSchema(), tableName)) {
+                while (importedKeys.next()) {
+                    String parent = importedKeys.getString("PKTABLE_NAME").toUpperCase();
+                    if (!parent.equals(table) && tables.containsKey(parent)) {
+                        tableParents.add(parent);
+                    }
+                }
+            }
+            parents.put(table, tableParents);
+        }
+        List<List<ITable>> levels = new ArrayList<>();
+        Set<String> inserted = new HashSet<>();
+        while (inserted.size() < tables.size()) {
+            List<ITable> level = new ArrayList<>();
+            List<String> levelTables = new ArrayList<>();
+            for (Map.Entry<String, ITable> table : tables.entrySet()) {
+                if (!inserted.contains(table.getKey()) && inserted.containsAll(parents.get(table.getKey()))) {
+                    level.add(table.getValue());
+                    levelTables.add(table.getKey());
+                }
+            }
+            if (level.isEmpty()) {
+                return null;
+            }
+            inserted.addAll(levelTables);
+            levels.add(level);
+        }
+        return levels;
+    }
+
+    /**
+     * @return if url points to an in memory database which is private to the connection, e.g. an unnamed H2 database
+     */
+    static boolean isPrivateInMemoryDatabase(String url) {
+        String lowerUrl = url == null ? "" : url.toLowerCase();
+        return lowerUrl.equals("jdbc:h2:mem:") || lowerUrl.startsWith("jdbc:h2:mem:;")
+                || lowerUrl.equals("jdbc:sqlite:") || lowerUrl.startsWith("jdbc:sqlite::memory:");
+    }
+
+    private static synchronized ExecutorService getSeedingPool() {
+        if (seedingPool == null) {
+            //operations bound their own parallelism, see executeLevel()
+            seedingPool = Executors.newCachedThreadPool(new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "dbunit-rules-seeding-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return seedingPool;
+    }
+}
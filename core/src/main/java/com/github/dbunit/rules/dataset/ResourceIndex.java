@@ -0,0 +1,156 @@
+package com.github.dbunit.rules.dataset;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Resolves dataset and script resources. Resource roots (<code>datasets</code> and <code>scripts</code>) are scanned
+ * once, on first use, so names under them are resolved from memory. Other names are looked up in the classpath once and
+ * the result, found or not, is cached.
+ */
+public class ResourceIndex {
+
+    public static final String DATASETS_ROOT = "datasets";
+
+    public static final String SCRIPTS_ROOT = "scripts";
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceIndex.class);
+
+    private static final URL NOT_FOUND;
+
+    private static ResourceIndex instance;
+
+    private final ClassLoader classLoader;
+
+    private final String[] roots;
+
+    private final Map<String, URL> resources = new ConcurrentHashMap<>();
+
+    private volatile boolean scanned;
+
+    static {
+        try {
+            NOT_FOUND = new URL("file:/");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public ResourceIndex(ClassLoader classLoader, String... roots) {
+        this.classLoader = classLoader;
+        this.roots = roots;
+    }
+
+    public static synchronized ResourceIndex getInstance() {
+        if (instance == null) {
+            instance = new ResourceIndex(ResourceIndex.class.getClassLoader(), DATASETS_ROOT, SCRIPTS_ROOT);
+        }
+        return instance;
+    }
+
+    /**
+     * @param name resource name, relative to classpath root or to given root directory
+     * @param root directory where resource is searched if not found in classpath root
+     * @return resource url or <code>null</code> if resource is not found
+     */
+    public URL resolve(String name, String root) {
+        String path = name.trim();
+        while (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        URL url = find(path);
+        if (url == null) {
+            url = find(root + "/" + path);
+        }
+        return url;
+    }
+
+    /**
+     * Forgets indexed and cached resources, next lookup will scan resource roots again.
+     */
+    public void clear() {
+        resources.clear();
+        scanned = false;
+    }
+
+    private URL find(String path) {
+        if (!scanned) {
+            scan();
+        }
+        URL url = resources.get(path);
+        if (url == null) {
+            //not indexed, e.g. outside resource roots or created after scanning
+            url = classLoader.getResource(path);
+            resources.put(path, url != null ? url : NOT_FOUND);
+        }
+        return url == NOT_FOUND ? null : url;
+    }
+
+    private synchronized void scan() {
+        if (scanned) {
+            return;
+        }
+        for (String root : roots) {
+            try {
+                Enumeration<URL> rootUrls = classLoader.getResources(root);
+                while (rootUrls.hasMoreElements()) {
+                    URL rootUrl = rootUrls.nextElement();
+                    if ("file".equals(rootUrl.getProtocol())) {
+                        scanDirectory(root, Paths.get(rootUrl.toURI()));
+                    } else if ("jar".equals(rootUrl.getProtocol())) {
+                        scanJar(root, rootUrl);
+                    }
+                }
+            } catch (IOException | URISyntaxException e) {
+                log.warn(String.format("Could not index resources of '%s' directory, they will be looked up in classpath.", root), e);
+            }
+        }
+        scanned = true;
+    }
+
+    private void scanDirectory(final String root, final Path directory) throws IOException {
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                String path = root + "/" + directory.relativize(file).toString().replace('\\', '/');
+                if (!resources.containsKey(path)) {
+                    resources.put(path, file.toUri().toURL());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void scanJar(String root, URL rootUrl) throws IOException {
+        URLConnection connection = rootUrl.openConnection();
+        if (!(connection instanceof JarURLConnection)) {
+            return;
+        }
+        JarFile jarFile = ((JarURLConnection) connection).getJarFile();
+        String jarUrl = rootUrl.toString().substring(0, rootUrl.toString().lastIndexOf("!/") + 2);
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            JarEntry entry = entries.nextElement();
+            if (!entry.isDirectory() && entry.getName().startsWith(root + "/") && !resources.containsKey(entry.getName())) {
+                resources.put(entry.getName(), new URL(jarUrl + entry.getName()));
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.github.dbunit.rules.dataset;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Splits SQL scripts into statements, see {@link DataSetExecutorImpl#executeScript(String)}. Scripts are read through
+ * a buffer, from the file system or from jars, and parsed once per resource.
+ *
+ * Statements end with <code>;</code> and may span lines. Semicolons inside quotes (<code>'...'</code>,
+ * <code>"..."</code>, <code>`...`</code>), dollar quotes (<code>$$...$$</code>, <code>$tag$...$tag$</code>) and
+ * comments (<code>--</code>, <code>/*...*&#47;</code>) don't end statements, comments are not sent to the database.
+ * Scripts without any <code>;</code> are executed one statement per line, as before.
+ */
+class SqlScript {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * longest dollar quote tag looked ahead for
+     */
+    private static final int MAX_TAG_LENGTH = 64;
+
+    private static final ConcurrentMap<String, List<String>> statementsCache = new ConcurrentHashMap<>();
+
+    private final BufferedReader reader;
+
+    private final List<String> statements = new ArrayList<>();
+
+    private final StringBuilder statement = new StringBuilder();
+
+    /**
+     * statements of a script without terminators, one per line, dropped once a terminator is found
+     */
+    private List<String> lines = new ArrayList<>();
+
+    private final StringBuilder line = new StringBuilder();
+
+    private SqlScript(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader, BUFFER_SIZE);
+    }
+
+    /**
+     * @return statements of given script (UTF-8), parsed on first call
+     */
+    static List<String> getStatements(URL script) throws IOException {
+        String key = script.toExternalForm();
+        List<String> statements = statementsCache.get(key);
+        if (statements == null) {
+            try (Reader reader = new InputStreamReader(script.openStream(), StandardCharsets.UTF_8)) {
+                statements = Collections.unmodifiableList(parse(reader));
+            }
+            statementsCache.putIfAbsent(key, statements);
+        }
+        return statements;
+    }
+
+    static List<String> parse(Reader reader) throws IOException {
+        return new SqlScript(reader).parse();
+    }
+
+    private List<String> parse() throws IOException {
+        int c;
+        while ((c = reader.read()) != -1) {
+            char ch = (char) c;
+            if (ch == '\'' || ch == '"' || ch == '`') {
+                append(ch);
+                readQuoted(ch);
+            } else if (ch == '$') {
+                append(ch);
+                readDollarQuoted();
+            } else if (ch == '-' && next('-')) {
+                skipLineComment();
+            } else if (ch == '/' && next('*')) {
+                skipBlockComment();
+            } else if (ch == ';') {
+                add(statements, statement);
+                lines = null;
+            } else if (ch == '\n' && lines != null) {
+                statement.append(ch);
+                add(lines, line);
+            } else {
+                append(ch);
+            }
+        }
+        add(statements, statement);
+        if (lines != null) {
+            add(lines, line);
+            return lines;
+        }
+        return statements;
+    }
+
+    private void readQuoted(char quote) throws IOException {
+        int c;
+        //doubled (escaped) quotes are read as two quoted strings
+        while ((c = reader.read()) != -1) {
+            append((char) c);
+            if (c == quote) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * reads a dollar quoted string if <code>$</code> starts one, e.g. <code>$body$</code>, otherwise only the tag
+     * characters, e.g. of a <code>$1</code> parameter
+     */
+    private void readDollarQuoted() throws IOException {
+        StringBuilder tag = new StringBuilder("$");
+        reader.mark(MAX_TAG_LENGTH);
+        int c;
+        while ((c = reader.read()) != -1 && tag.length() < MAX_TAG_LENGTH && c != '$') {
+            if (!Character.isLetterOrDigit(c) && c != '_') {
+                break;
+            }
+            tag.append((char) c);
+        }
+        if (c != '$' || (tag.length() > 1 && Character.isDigit(tag.charAt(1)))) {
+            reader.reset();
+            return;
+        }
+        tag.append('$');
+        append(tag.substring(1));
+        String end = tag.toString();
+        StringBuilder body = new StringBuilder();
+        while ((c = reader.read()) != -1) {
+            append((char) c);
+            body.append((char) c);
+            if (c == '$' && body.length() >= end.length() && body.substring(body.length() - end.length()).equals(end)) {
+                return;
+            }
+        }
+    }
+
+    private void skipLineComment() throws IOException {
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '\n') {
+                if (lines != null) {
+                    statement.append('\n');
+                    add(lines, line);
+                } else {
+                    append('\n');
+                }
+                return;
+            }
+        }
+    }
+
+    private void skipBlockComment() throws IOException {
+        int c;
+        int previous = -1;
+        while ((c = reader.read()) != -1) {
+            if (previous == '*' && c == '/') {
+                break;
+            }
+            previous = c;
+        }
+        append(' ');
+    }
+
+    /**
+     * @return if next character is the given one, consuming it in that case
+     */
+    private boolean next(char expected) throws IOException {
+        reader.mark(1);
+        if (reader.read() == expected) {
+            return true;
+        }
+        reader.reset();
+        return false;
+    }
+
+    private void append(char ch) {
+        statement.append(ch);
+        if (lines != null) {
+            line.append(ch);
+        }
+    }
+
+    private void append(String text) {
+        statement.append(text);
+        if (lines != null) {
+            line.append(text);
+        }
+    }
+
+    private static void add(List<String> statements, StringBuilder statement) {
+        String sql = statement.toString().trim();
+        if (!sql.isEmpty()) {
+            statements.add(sql);
+        }
+        statement.setLength(0);
+    }
+}
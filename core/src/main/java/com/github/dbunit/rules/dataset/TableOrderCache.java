@@ -0,0 +1,239 @@
+package com.github.dbunit.rules.dataset;
+
+import com.github.dbunit.rules.connection.MetadataCache;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.database.DatabaseSequenceFilter;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.ITable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Foreign key order of table sets, computed by {@link DatabaseSequenceFilter} once per executor and set of table names
+ * (case insensitive). Orders are forgotten when the executor runs DDL statements, when its connection changes or
+ * explicitly, see {@link DataSetExecutorImpl#clearTableOrderCache()}.
+ *
+ * When <code>tableOrderingCacheFile</code> is configured orders are also stored in that (properties) file, keyed by
+ * database url, user and schema, so next runs don't compute them again. Stored orders are only used while the
+ * {@link MetadataCache#getSchemaFingerprint(java.sql.Connection) schema fingerprint} stored with them still matches,
+ * e.g. a foreign key added by a migration between runs discards them.
+ */
+class TableOrderCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TableOrderCache.class);
+
+    /**
+     * suffix of database id keying the schema fingerprint, table names can't contain it
+     */
+    private static final String FINGERPRINT_KEY = "#fingerprint";
+
+    private static final Pattern DDL_STATEMENT = Pattern.compile("^\\s*(?:create|alter|drop|rename)\\b", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * guards cache files, which may be shared by executors
+     */
+    private static final Object fileLock = new Object();
+
+    private final DataSetExecutorImpl executor;
+
+    private final Map<String, String[]> orders = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+
+    /**
+     * schema fingerprint of stored orders, computed when they are loaded or first stored
+     */
+    private volatile String fingerprint;
+
+    TableOrderCache(DataSetExecutorImpl executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @return given tables ordered so referenced tables come before tables referencing them
+     */
+    String[] getTableOrder(String[] tableNames) throws DataSetException, SQLException {
+        String key = getKey(tableNames);
+        if (!loaded) {
+            load();
+        }
+        String[] order = orders.get(key);
+        if (order == null) {
+            order = sort(tableNames);
+            orders.put(key, order);
+            store();
+        }
+        return order;
+    }
+
+    /**
+     * Forgets table orders, including stored ones of executor database.
+     */
+    void clear() {
+        orders.clear();
+        loaded = true;
+        fingerprint = null;
+        store();
+    }
+
+    /**
+     * Forgets table orders in memory, e.g. when executor connection changes. Stored orders of new database will be
+     * loaded on next use.
+     */
+    void reset() {
+        orders.clear();
+        loaded = false;
+        fingerprint = null;
+    }
+
+    /**
+     * @return if some of given statements changes database schema
+     */
+    static boolean changesSchema(String[] statements) {
+        if (statements == null) {
+            return false;
+        }
+        for (String statement : statements) {
+            if (statement != null && DDL_STATEMENT.matcher(statement).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String[] sort(String[] tableNames) throws DataSetException, SQLException {
+        ITable[] tables = new ITable[tableNames.length];
+        for (int i = 0; i < tableNames.length; i++) {
+            tables[i] = new DefaultTable(tableNames[i]);
+        }
+        return new DatabaseSequenceFilter(executor.getDBUnitConnection(), tableNames).getTableNames(new DefaultDataSet(tables));
+    }
+
+    private static String getKey(String[] tableNames) {
+        TreeSet<String> names = new TreeSet<>();
+        for (String tableName : tableNames) {
+            names.add(tableName.toUpperCase());
+        }
+        return join(names);
+    }
+
+    private static String join(Collection<String> names) {
+        StringBuilder joined = new StringBuilder();
+        for (String name : names) {
+            if (joined.length() > 0) {
+                joined.append(',');
+            }
+            joined.append(name);
+        }
+        return joined.toString();
+    }
+
+    private Path getFile() {
+        String file = executor.getDBUnitConfig().getTableOrderingCacheFile();
+        return file == null || "".equals(file.trim()) ? null : Paths.get(file);
+    }
+
+    /**
+     * @return prefix of executor database keys in cache file
+     */
+    private String getDatabaseId() throws SQLException {
+        DatabaseConnection connection = executor.getDBUnitConnection();
+        DatabaseMetaData metaData = connection.getConnection().getMetaData();
+        return metaData.getURL() + "|" + metaData.getUserName() + "|" + connection.getSchema() + "|";
+    }
+
+    /**
+     * @return fingerprint of executor database schema, not read through executor metadata cache
+     */
+    private String getFingerprint() throws SQLException {
+        if (fingerprint == null) {
+            fingerprint = MetadataCache.getSchemaFingerprint(executor.getConnectionHolder().getConnection());
+        }
+        return fingerprint;
+    }
+
+    private void load() {
+        Path file = getFile();
+        if (file != null && Files.isRegularFile(file)) {
+            try {
+                String databaseId = getDatabaseId();
+                Properties properties = read(file);
+                String storedFingerprint = properties.getProperty(databaseId + FINGERPRINT_KEY);
+                if (storedFingerprint == null || !storedFingerprint.equals(getFingerprint())) {
+                    log.debug(String.format("Schema changed since table orders were stored in '%s', they will be computed again.", file));
+                    loaded = true;
+                    return;
+                }
+                for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+                    String key = (String) entry.getKey();
+                    if (key.startsWith(databaseId) && !key.equals(databaseId + FINGERPRINT_KEY)) {
+                        String names = (String) entry.getValue();
+                        orders.put(key.substring(databaseId.length()), "".equals(names) ? new String[0] : names.split(","));
+                    }
+                }
+            } catch (IOException | SQLException e) {
+                log.warn(String.format("Could not read table ordering cache file '%s'.", file), e);
+            }
+        }
+        loaded = true;
+    }
+
+    private void store() {
+        Path file = getFile();
+        if (file == null || executor.getDBUnitConnection() == null) {
+            return;
+        }
+        synchronized (fileLock) {
+            try {
+                String databaseId = getDatabaseId();
+                Properties properties = Files.isRegularFile(file) ? read(file) : new Properties();
+                for (Object key : properties.keySet().toArray()) {
+                    if (((String) key).startsWith(databaseId)) {
+                        properties.remove(key);
+                    }
+                }
+                for (Map.Entry<String, String[]> order : orders.entrySet()) {
+                    properties.setProperty(databaseId + order.getKey(), join(Arrays.asList(order.getValue())));
+                }
+                properties.setProperty(databaseId + FINGERPRINT_KEY, getFingerprint());
+                if (file.toAbsolutePath().getParent() != null) {
+                    Files.createDirectories(file.toAbsolutePath().getParent());
+                }
+                Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "dbunit-rules-", ".tmp");
+                try (OutputStream output = Files.newOutputStream(temp)) {
+                    properties.store(output, "dbunit rules table ordering cache");
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException | SQLException e) {
+                log.warn(String.format("Could not write table ordering cache file '%s'.", file), e);
+            }
+        }
+    }
+
+    private static Properties read(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        }
+        return properties;
+    }
+}
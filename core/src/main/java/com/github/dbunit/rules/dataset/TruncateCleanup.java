@@ -0,0 +1,105 @@
+package com.github.dbunit.rules.dataset;
+
+import com.github.dbunit.rules.util.DriverUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clears tables with TRUNCATE statements, executed in a single batch, see {@link com.github.dbunit.rules.configuration.DBUnitConfig#isFastClean()}.
+ *
+ * Referential integrity is disabled once before the batch and restored after it on H2 and MySQL, HSQLDB truncates
+ * without checking references (NO CHECK) and PostgreSQL truncates all tables in one statement with CASCADE. Identity
+ * columns are restarted where TRUNCATE supports it (HSQLDB and PostgreSQL, MySQL always restarts them). Other
+ * databases, e.g. Oracle which can't truncate referenced tables without disabling each foreign key, are not supported.
+ * When the dataset already disabled constraints they are left disabled, so the seed following the clean up can insert
+ * tables in any order.
+ */
+class TruncateCleanup {
+
+    private static final Logger log = LoggerFactory.getLogger(TruncateCleanup.class);
+
+    private TruncateCleanup() {
+    }
+
+    /**
+     * @param driverName lower case driver name of connection
+     * @return if database is supported
+     */
+    static boolean isSupported(String driverName) {
+        return DriverUtils.isHsql(driverName) || DriverUtils.isH2(driverName) || DriverUtils.isMysql(driverName) || DriverUtils.isPostgre(driverName);
+    }
+
+    /**
+     * truncates given tables and commits, if connection is not in auto commit mode
+     * @param tableNames tables to truncate, in any order
+     * @param constraintsDisabled if constraints were disabled before, see {@link com.github.dbunit.rules.api.dataset.DataSet#disableConstraints()}
+     */
+    static void truncate(Connection connection, String driverName, List<String> tableNames, boolean constraintsDisabled) throws SQLException {
+        if (tableNames.isEmpty()) {
+            return;
+        }
+        String disableConstraints = null;
+        String enableConstraints = null;
+        List<String> truncates = new ArrayList<>();
+        if (DriverUtils.isPostgre(driverName)) {
+            StringBuilder tables = new StringBuilder();
+            for (String tableName : tableNames) {
+                if (tables.length() > 0) {
+                    tables.append(", ");
+                }
+                tables.append(tableName);
+            }
+            truncates.add("TRUNCATE TABLE " + tables + " RESTART IDENTITY CASCADE");
+        } else {
+            String suffix = "";
+            if (DriverUtils.isHsql(driverName)) {
+                //HSQLDB checks references of truncated tables even with referential integrity disabled
+                suffix = " RESTART IDENTITY AND COMMIT NO CHECK";
+            } else if (DriverUtils.isH2(driverName)) {
+                if (!constraintsDisabled) {
+                    disableConstraints = "SET REFERENTIAL_INTEGRITY FALSE";
+                    enableConstraints = "SET REFERENTIAL_INTEGRITY TRUE";
+                }
+            } else if (DriverUtils.isMysql(driverName)) {
+                if (!constraintsDisabled) {
+                    disableConstraints = "SET FOREIGN_KEY_CHECKS=0";
+                    enableConstraints = "SET FOREIGN_KEY_CHECKS=1";
+                }
+            } else {
+                throw new SQLException(String.format("Truncate clean up is not supported by driver '%s'.", driverName));
+            }
+            for (String tableName : tableNames) {
+                truncates.add("TRUNCATE TABLE " + tableName + suffix);
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            if (disableConstraints != null) {
+                statement.execute(disableConstraints);
+            }
+            try {
+                for (String truncate : truncates) {
+                    statement.addBatch(truncate);
+                }
+                statement.executeBatch();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            } finally {
+                if (enableConstraints != null) {
+                    try {
+                        statement.clearBatch();
+                        statement.execute(enableConstraints);
+                    } catch (SQLException e) {
+                        log.error("Could not restore referential integrity after truncating tables.", e);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.dbunit.rules.dataset;
+
+import com.github.dbunit.rules.api.dataset.ColumnarTable;
+import com.github.dbunit.rules.api.dataset.LazyDataSet;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.datatype.TypeCastException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dataset whose columns declare the actual database column types and whose values are already converted to them, so
+ * dbunit doesn't need to cast each value on every insert or comparison.
+ *
+ * Values which can't be converted (e.g. replacement placeholders like <code>[DAY,NOW]</code>) and columns of tables
+ * not found in database are kept as they are. Tables are converted when they are first used.
+ */
+class TypedDataSet extends LazyDataSet {
+
+    private final IDataSet source;
+
+    private final DatabaseColumnTypes columnTypes;
+
+    TypedDataSet(IDataSet source, DatabaseColumnTypes columnTypes) {
+        this.source = source;
+        this.columnTypes = columnTypes;
+    }
+
+    @Override
+    protected List<String> indexTables() throws DataSetException {
+        return new ArrayList<>(Arrays.asList(source.getTableNames()));
+    }
+
+    @Override
+    protected Map<String, ITable> loadTables(Collection<String> tableNames) throws DataSetException {
+        List<ITable> sourceTables = new ArrayList<>();
+        if (tableNames == null) {
+            sourceTables.addAll(Arrays.asList(source.getTables()));
+        } else {
+            for (String tableName : tableNames) {
+                sourceTables.add(source.getTable(tableName));
+            }
+        }
+        Map<String, ITable> tables = new LinkedHashMap<>();
+        for (ITable table : sourceTables) {
+            ITable typedTable = convert(table);
+            tables.put(typedTable.getTableMetaData().getTableName(), typedTable);
+        }
+        return tables;
+    }
+
+    private ITable convert(ITable table) throws DataSetException {
+        ITableMetaData metaData = table.getTableMetaData();
+        Map<String, DataType> types = columnTypes.get(metaData.getTableName());
+        if (types == null) {
+            return table;
+        }
+        Column[] columns = metaData.getColumns();
+        Column[] typedColumns = new Column[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            DataType dataType = types.get(columns[i].getColumnName().toUpperCase());
+            typedColumns[i] = dataType == null ? columns[i] : new Column(columns[i].getColumnName(), dataType, columns[i].getNullable());
+        }
+        ColumnarTable typedTable = new ColumnarTable(new DefaultTableMetaData(metaData.getTableName(), typedColumns, metaData.getPrimaryKeys()));
+        int rowCount = table.getRowCount();
+        for (int row = 0; row < rowCount; row++) {
+            Object[] values = new Object[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                values[i] = convert(table.getValue(row, columns[i].getColumnName()), typedColumns[i].getDataType());
+            }
+            typedTable.addRow(values);
+        }
+        typedTable.trimToSize();
+        return typedTable;
+    }
+
+    private Object convert(Object value, DataType dataType) {
+        if (value == null || dataType == DataType.UNKNOWN) {
+            return value;
+        }
+        try {
+            return dataType.typeCast(value);
+        } catch (TypeCastException e) {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.github.dbunit.rules.dataset.operation;
+
+import com.github.dbunit.rules.util.DriverUtils;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.DatabaseConfig;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.operation.AbstractOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Inserts dataset tables using multi row inserts (<code>insert into table (...) values (...), (...)</code>) on databases
+ * supporting them (H2, HSQLDB, MySQL and PostgreSQL) and JDBC batches of single row inserts on other databases.
+ *
+ * Rows are sent in chunks of DBUnit <code>batchSize</code> rows and all columns of the dataset table are inserted in
+ * every row, so the column set never changes inside a table. Prepared statements are reused for all chunks with the same
+ * statement, also among tables.
+ */
+public class BulkInsertOperation extends AbstractOperation {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkInsertOperation.class);
+
+    /**
+     * max number of parameters per statement, the lowest limit among supported databases (PostgreSQL)
+     */
+    static final int MAX_STATEMENT_PARAMETERS = 32767;
+
+    @Override
+    public void execute(IDatabaseConnection connection, IDataSet dataSet) throws DatabaseUnitException, SQLException {
+        int chunkSize = Math.max(1, (Integer) connection.getConfig().getProperty(DatabaseConfig.PROPERTY_BATCH_SIZE));
+        boolean multiRowInsert = supportsMultiRowInsert(DriverUtils.getDriverName(connection.getConnection()));
+        Map<String, PreparedStatement> statements = new HashMap<>();
+        try {
+            ITableIterator iterator = dataSet.iterator();
+            while (iterator.next()) {
+                ITable table = iterator.getTable();
+                if (table.getRowCount() == 0 || table.getTableMetaData().getColumns().length == 0) {
+                    continue;
+                }
+                if (multiRowInsert) {
+                    insertRows(connection, table, chunkSize, statements);
+                } else {
+                    insertBatch(connection, table, chunkSize, statements);
+                }
+            }
+        } finally {
+            for (PreparedStatement statement : statements.values()) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    log.warn("Could not close bulk insert statement.", e);
+                }
+            }
+        }
+    }
+
+    public static boolean supportsMultiRowInsert(String driverName) {
+        return DriverUtils.isH2(driverName) || DriverUtils.isHsql(driverName) || DriverUtils.isMysql(driverName) || DriverUtils.isPostgre(driverName);
+    }
+
+    private void insertRows(IDatabaseConnection connection, ITable table, int chunkSize, Map<String, PreparedStatement> statements) throws DatabaseUnitException, SQLException {
+        Column[] columns = table.getTableMetaData().getColumns();
+        Column[] dbColumns = getDatabaseColumns(connection, table.getTableMetaData());
+        int rowsPerStatement = Math.max(1, Math.min(chunkSize, MAX_STATEMENT_PARAMETERS / columns.length));
+        int rowCount = table.getRowCount();
+        for (int firstRow = 0; firstRow < rowCount; firstRow += rowsPerStatement) {
+            int rows = Math.min(rowsPerStatement, rowCount - firstRow);
+            PreparedStatement statement = getStatement(connection, table.getTableMetaData(), dbColumns, rows, statements);
+            int parameter = 1;
+            for (int row = firstRow; row < firstRow + rows; row++) {
+                for (int i = 0; i < columns.length; i++) {
+                    setValue(statement, parameter++, table, row, columns[i], dbColumns[i]);
+                }
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    private void insertBatch(IDatabaseConnection connection, ITable table, int chunkSize, Map<String, PreparedStatement> statements) throws DatabaseUnitException, SQLException {
+        Column[] columns = table.getTableMetaData().getColumns();
+        Column[] dbColumns = getDatabaseColumns(connection, table.getTableMetaData());
+        PreparedStatement statement = getStatement(connection, table.getTableMetaData(), dbColumns, 1, statements);
+        int rowCount = table.getRowCount();
+        for (int row = 0; row < rowCount; row++) {
+            for (int i = 0; i < columns.length; i++) {
+                setValue(statement, i + 1, table, row, columns[i], dbColumns[i]);
+            }
+            statement.addBatch();
+            if ((row + 1) % chunkSize == 0 || row == rowCount - 1) {
+                statement.executeBatch();
+                statement.clearBatch();
+            }
+        }
+    }
+
+    private void setValue(PreparedStatement statement, int parameter, ITable table, int row, Column column, Column dbColumn) throws DatabaseUnitException, SQLException {
+        Object value = table.getValue(row, column.getColumnName());
+        if (value == null || value == ITable.NO_VALUE) {
+            statement.setNull(parameter, dbColumn.getDataType().getSqlType());
+        } else {
+            dbColumn.getDataType().setSqlValue(value, parameter, statement);
+        }
+    }
+
+    /**
+     * @return database columns matching dataset table columns, in the same order
+     */
+    static Column[] getDatabaseColumns(IDatabaseConnection connection, ITableMetaData metaData) throws DatabaseUnitException, SQLException {
+        ITableMetaData dbMetaData = connection.createDataSet().getTableMetaData(metaData.getTableName());
+        Column[] columns = metaData.getColumns();
+        Column[] dbColumns = new Column[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            dbColumns[i] = dbMetaData.getColumns()[dbMetaData.getColumnIndex(columns[i].getColumnName())];
+        }
+        return dbColumns;
+    }
+
+    private PreparedStatement getStatement(IDatabaseConnection connection, ITableMetaData metaData, Column[] dbColumns, int rows, Map<String, PreparedStatement> statements) throws SQLException {
+        StringBuilder sql = new StringBuilder("insert into ");
+        sql.append(getQualifiedName(connection.getSchema(), metaData.getTableName(), connection)).append(" (");
+        StringBuilder values = new StringBuilder("(");
+        for (int i = 0; i < dbColumns.length; i++) {
+            if (i > 0) {
+                sql.append(", ");
+                values.append(", ");
+            }
+            sql.append(getQualifiedName(null, dbColumns[i].getColumnName(), connection));
+            values.append("?");
+        }
+        sql.append(") values ").append(values).append(")");
+        for (int row = 1; row < rows; row++) {
+            sql.append(", ").append(values).append(")");
+        }
+        PreparedStatement statement = statements.get(sql.toString());
+        if (statement == null) {
+            statement = connection.getConnection().prepareStatement(sql.toString());
+            statements.put(sql.toString(), statement);
+        }
+        return statement;
+    }
+}
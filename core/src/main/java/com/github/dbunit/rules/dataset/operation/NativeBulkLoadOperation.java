@@ -0,0 +1,318 @@
+package com.github.dbunit.rules.dataset.operation;
+
+import com.github.dbunit.rules.util.DriverUtils;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.datatype.TypeCastException;
+import org.dbunit.operation.AbstractOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inserts dataset tables using the database native bulk loader:
+ * <ul>
+ * <li>H2: <code>insert into ... select * from csvread(...)</code>, for embedded databases;</li>
+ * <li>HSQLDB: a temporary text table, for file databases (text tables are not available in memory databases);</li>
+ * <li>MySQL: <code>load data local infile</code>, the driver must allow local infile;</li>
+ * <li>PostgreSQL: <code>copy ... from stdin</code> through the driver copy API.</li>
+ * </ul>
+ * Each table is spooled into a CSV file which is loaded with a single statement. Connections not in auto commit mode
+ * (e.g. dataset layers or rollback tests), tables with binary columns, databases without a native loader and failing
+ * loads (e.g. local infile disabled) fall back to {@link BulkInsertOperation}: native loaders may commit the current
+ * transaction, HSQLDB does so when the temporary text table is created.
+ */
+public class NativeBulkLoadOperation extends AbstractOperation {
+
+    private static final Logger log = LoggerFactory.getLogger(NativeBulkLoadOperation.class);
+
+    private static final AtomicInteger tableCounter = new AtomicInteger();
+
+    private final BulkInsertOperation fallback = new BulkInsertOperation();
+
+    @Override
+    public void execute(IDatabaseConnection connection, IDataSet dataSet) throws DatabaseUnitException, SQLException {
+        if (!connection.getConnection().getAutoCommit()) {
+            log.debug("Connection is not in auto commit mode, using bulk inserts to keep the current transaction.");
+            fallback.execute(connection, dataSet);
+            return;
+        }
+        Loader loader = getLoader(connection.getConnection());
+        if (loader == null) {
+            log.debug("No native bulk loader available for current database, using bulk inserts.");
+            fallback.execute(connection, dataSet);
+            return;
+        }
+        ITableIterator iterator = dataSet.iterator();
+        while (iterator.next()) {
+            ITable table = iterator.getTable();
+            if (table.getRowCount() == 0 || table.getTableMetaData().getColumns().length == 0) {
+                continue;
+            }
+            Column[] dbColumns = BulkInsertOperation.getDatabaseColumns(connection, table.getTableMetaData());
+            if (hasBinaryColumn(dbColumns) || !load(connection, loader, table, dbColumns)) {
+                fallback.execute(connection, new DefaultDataSet(table));
+            }
+        }
+    }
+
+    /**
+     * @return <code>false</code> if table could not be loaded and nothing has been inserted
+     */
+    private boolean load(IDatabaseConnection connection, Loader loader, ITable table, Column[] dbColumns) throws DatabaseUnitException, SQLException {
+        String tableName = getQualifiedName(connection.getSchema(), table.getTableMetaData().getTableName(), connection);
+        StringBuilder columns = new StringBuilder();
+        for (int i = 0; i < dbColumns.length; i++) {
+            if (i > 0) {
+                columns.append(", ");
+            }
+            columns.append(getQualifiedName(null, dbColumns[i].getColumnName(), connection));
+        }
+        Path file = null;
+        try {
+            file = Files.createTempFile(loader.getSpoolDirectory(), "dbunit-rules-", ".csv");
+            spool(table, dbColumns, loader, file);
+            loader.load(connection.getConnection(), tableName, columns.toString(), dbColumns.length, file);
+            return true;
+        } catch (IOException e) {
+            throw new DatabaseUnitException(String.format("Could not spool table '%s' for native bulk load.", tableName), e);
+        } catch (SQLException e) {
+            log.warn(String.format("Could not bulk load table '%s' natively, using bulk inserts.", tableName), e);
+            return false;
+        } finally {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn(String.format("Could not delete bulk load file '%s'.", file), e);
+                }
+            }
+        }
+    }
+
+    private void spool(ITable table, Column[] dbColumns, Loader loader, Path file) throws IOException, DatabaseUnitException {
+        Column[] columns = table.getTableMetaData().getColumns();
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int row = 0; row < table.getRowCount(); row++) {
+                for (int i = 0; i < columns.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    Object value = table.getValue(row, columns[i].getColumnName());
+                    if (value == null || value == ITable.NO_VALUE) {
+                        writer.write(loader.getNullValue());
+                    } else {
+                        writer.write('"');
+                        writer.write(loader.format(typeCast(dbColumns[i], value)).replace("\"", "\"\""));
+                        writer.write('"');
+                    }
+                }
+                writer.write('\n');
+            }
+        }
+    }
+
+    private Object typeCast(Column dbColumn, Object value) {
+        try {
+            Object converted = dbColumn.getDataType().typeCast(value);
+            return converted != null ? converted : value;
+        } catch (TypeCastException e) {
+            return value;
+        }
+    }
+
+    private boolean hasBinaryColumn(Column[] dbColumns) {
+        for (Column column : dbColumns) {
+            switch (column.getDataType().getSqlType()) {
+                case Types.BINARY:
+                case Types.VARBINARY:
+                case Types.LONGVARBINARY:
+                case Types.BLOB:
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return native loader for given connection or <code>null</code> if database has no (usable) native loader
+     */
+    static Loader getLoader(Connection connection) throws SQLException {
+        String driverName = DriverUtils.getDriverName(connection);
+        String url = connection.getMetaData().getURL();
+        if (DriverUtils.isH2(driverName)) {
+            return url.startsWith("jdbc:h2:tcp:") || url.startsWith("jdbc:h2:ssl:") ? null : new H2Loader();
+        }
+        if (DriverUtils.isHsql(driverName)) {
+            Path databaseDirectory = HsqldbLoader.getDatabaseDirectory(url);
+            return databaseDirectory != null ? new HsqldbLoader(databaseDirectory) : null;
+        }
+        if (DriverUtils.isMysql(driverName)) {
+            return new MysqlLoader();
+        }
+        if (DriverUtils.isPostgre(driverName)) {
+            return PostgresLoader.isAvailable(connection) ? new PostgresLoader() : null;
+        }
+        return null;
+    }
+
+    static abstract class Loader {
+
+        Path getSpoolDirectory() {
+            return Paths.get(System.getProperty("java.io.tmpdir"));
+        }
+
+        /**
+         * @return unquoted field value read as <code>null</code> by the loader
+         */
+        String getNullValue() {
+            return "";
+        }
+
+        String format(Object value) {
+            return value.toString();
+        }
+
+        abstract void load(Connection connection, String table, String columns, int columnCount, Path file) throws SQLException;
+
+        void execute(Connection connection, String sql) throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    static class H2Loader extends Loader {
+
+        @Override
+        void load(Connection connection, String table, String columns, int columnCount, Path file) throws SQLException {
+            StringBuilder csvColumns = new StringBuilder();
+            for (int i = 1; i <= columnCount; i++) {
+                csvColumns.append(i > 1 ? ",C" : "C").append(i);
+            }
+            execute(connection, String.format("insert into %s (%s) select * from csvread('%s', '%s', 'charset=UTF-8')",
+                    table, columns, escape(file.toAbsolutePath().toString()), csvColumns));
+        }
+    }
+
+    static class HsqldbLoader extends Loader {
+
+        private final Path databaseDirectory;
+
+        HsqldbLoader(Path databaseDirectory) {
+            this.databaseDirectory = databaseDirectory;
+        }
+
+        /**
+         * @return directory of a file database, text table sources must be placed there, or <code>null</code> for other
+         * databases
+         */
+        static Path getDatabaseDirectory(String url) {
+            if (!url.startsWith("jdbc:hsqldb:file:")) {
+                return null;
+            }
+            String path = url.substring("jdbc:hsqldb:file:".length());
+            if (path.contains(";")) {
+                path = path.substring(0, path.indexOf(';'));
+            }
+            Path directory = Paths.get(path).toAbsolutePath().getParent();
+            return directory != null && Files.isDirectory(directory) ? directory : null;
+        }
+
+        @Override
+        Path getSpoolDirectory() {
+            return databaseDirectory;
+        }
+
+        @Override
+        void load(Connection connection, String table, String columns, int columnCount, Path file) throws SQLException {
+            String textTable = "DBUNIT_RULES_BULK_" + tableCounter.incrementAndGet();
+            execute(connection, String.format("create text table %s as (select %s from %s) with no data", textTable, columns, table));
+            try {
+                execute(connection, String.format("set table %s source '%s;fs=,;quoted=true;encoding=UTF-8'", textTable, escape(file.getFileName().toString())));
+                execute(connection, String.format("insert into %s (%s) select %s from %s", table, columns, columns, textTable));
+            } finally {
+                execute(connection, "drop table " + textTable);
+            }
+        }
+    }
+
+    static class MysqlLoader extends Loader {
+
+        @Override
+        String getNullValue() {
+            return "NULL";
+        }
+
+        @Override
+        String format(Object value) {
+            if (value instanceof Boolean) {
+                return (Boolean) value ? "1" : "0";
+            }
+            return value.toString();
+        }
+
+        @Override
+        void load(Connection connection, String table, String columns, int columnCount, Path file) throws SQLException {
+            execute(connection, String.format("load data local infile '%s' into table %s character set utf8 " +
+                            "fields terminated by ',' optionally enclosed by '\"' escaped by '' lines terminated by '\\n' (%s)",
+                    escape(file.toAbsolutePath().toString().replace('\\', '/')), table, columns));
+        }
+    }
+
+    static class PostgresLoader extends Loader {
+
+        private static Class<?> getConnectionClass(Connection connection) throws ClassNotFoundException {
+            return Class.forName("org.postgresql.PGConnection", false, connection.getClass().getClassLoader());
+        }
+
+        static boolean isAvailable(Connection connection) {
+            try {
+                return connection.isWrapperFor(getConnectionClass(connection));
+            } catch (ClassNotFoundException | SQLException | AbstractMethodError e) {
+                return false;
+            }
+        }
+
+        @Override
+        void load(Connection connection, String table, String columns, int columnCount, Path file) throws SQLException {
+            String sql = String.format("copy %s (%s) from stdin with csv", table, columns);
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                Class<?> connectionClass = getConnectionClass(connection);
+                Object copyManager = connectionClass.getMethod("getCopyAPI").invoke(connection.unwrap(connectionClass));
+                Method copyIn = copyManager.getClass().getMethod("copyIn", String.class, Reader.class);
+                copyIn.invoke(copyManager, sql, reader);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException) {
+                    throw (SQLException) e.getCause();
+                }
+                throw new RuntimeException(String.format("Could not copy data into table '%s'.", table), e.getCause());
+            } catch (IOException | ReflectiveOperationException e) {
+                throw new RuntimeException(String.format("Could not copy data into table '%s'.", table), e);
+            }
+        }
+    }
+
+    private static String escape(String literal) {
+        return literal.replace("'", "''");
+    }
+}
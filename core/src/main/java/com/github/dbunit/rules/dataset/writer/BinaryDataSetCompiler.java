@@ -0,0 +1,143 @@
+package com.github.dbunit.rules.dataset.writer;
+
+import com.github.dbunit.rules.api.dataset.BinaryDataSet;
+import com.github.dbunit.rules.api.dataset.JSONDataSet;
+import com.github.dbunit.rules.api.dataset.YamlDataSet;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.xml.FlatXmlDataSetBuilder;
+import org.dbunit.dataset.xml.XmlDataSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Compiles yml, json and xml datasets of a directory (recursively) into binary datasets ({@link BinaryDataSet}).
+ *
+ * Each dataset is written to target directory, keeping its relative path, with <code>.dbub</code> appended to its name,
+ * e.g. <code>yml/users.yml</code> is compiled to <code>yml/users.yml.dbub</code>. Datasets which are up to date are not compiled again.
+ * Xml datasets can be either flat or regular (<code>table</code>, <code>column</code> and <code>row</code> elements) DBUnit xml datasets.
+ *
+ * Usage: <code>BinaryDataSetCompiler sourceDir [targetDir]</code>, if target directory is not provided datasets are compiled into source directory.
+ */
+public class BinaryDataSetCompiler {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryDataSetCompiler.class);
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: BinaryDataSetCompiler sourceDir [targetDir]");
+        }
+        Path source = Paths.get(args[0]);
+        Path target = args.length > 1 ? Paths.get(args[1]) : source;
+        int compiled = new BinaryDataSetCompiler().compile(source, target);
+        log.info(String.format("%d dataset(s) compiled from %s to %s.", compiled, source.toAbsolutePath(), target.toAbsolutePath()));
+    }
+
+    /**
+     * @param sourceDir directory containing text datasets
+     * @param targetDir directory where binary datasets will be written
+     * @return number of compiled datasets
+     * @throws IOException if datasets could not be read or written
+     */
+    public int compile(final Path sourceDir, final Path targetDir) throws IOException {
+        if (!Files.isDirectory(sourceDir)) {
+            log.warn(String.format("Dataset directory %s not found.", sourceDir.toAbsolutePath()));
+            return 0;
+        }
+        final int[] compiled = {0};
+        Files.walkFileTree(sourceDir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                String fileName = file.getFileName().toString();
+                String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase();
+                if (!"yml".equals(extension) && !"json".equals(extension) && !"xml".equals(extension)) {
+                    return FileVisitResult.CONTINUE;
+                }
+                Path targetFile = targetDir.resolve(sourceDir.relativize(file).toString() + "." + BinaryDataSet.EXTENSION);
+                if (Files.exists(targetFile) && Files.getLastModifiedTime(targetFile).compareTo(attrs.lastModifiedTime()) >= 0) {
+                    return FileVisitResult.CONTINUE;
+                }
+                try {
+                    compile(file, extension, targetFile);
+                    compiled[0]++;
+                } catch (DataSetException e) {
+                    throw new IOException("Could not compile dataset " + file, e);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return compiled[0];
+    }
+
+    private void compile(Path file, String extension, Path targetFile) throws IOException, DataSetException {
+        IDataSet dataSet;
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+            switch (extension) {
+                case "yml":
+                    dataSet = new YamlDataSet(is);
+                    break;
+                case "json":
+                    dataSet = new JSONDataSet(is);
+                    break;
+                default:
+                    dataSet = isFlatXml(file) ? new FlatXmlDataSetBuilder().build(is) : new XmlDataSet(is);
+            }
+        }
+        if (targetFile.getParent() != null) {
+            Files.createDirectories(targetFile.getParent());
+        }
+        try (OutputStream os = Files.newOutputStream(targetFile)) {
+            new BinaryDataSetWriter(os).write(dataSet);
+        }
+    }
+
+    /**
+     * @return false if dataset is a regular DBUnit xml dataset, i.e. its first table element has <code>column</code> children
+     */
+    private boolean isFlatXml(Path file) throws IOException, DataSetException {
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            XMLStreamReader reader = factory.createXMLStreamReader(is);
+            try {
+                int depth = 0;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamReader.END_ELEMENT) {
+                        depth--;
+                    }
+                    if (event != XMLStreamReader.START_ELEMENT) {
+                        continue;
+                    }
+                    depth++;
+                    if (depth == 2 && !"table".equals(reader.getLocalName())) {
+                        return true;
+                    }
+                    if (depth == 3) {
+                        return !"column".equals(reader.getLocalName());
+                    }
+                }
+                return true;
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new DataSetException("Could not read xml dataset " + file, e);
+        }
+    }
+}
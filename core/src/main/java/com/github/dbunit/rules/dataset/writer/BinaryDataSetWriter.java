@@ -0,0 +1,198 @@
+package com.github.dbunit.rules.dataset.writer;
+
+import com.github.dbunit.rules.api.dataset.BinaryDataSet;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.github.dbunit.rules.api.dataset.BinaryDataSet.*;
+
+/**
+ * Writes a dataset in binary format, see {@link BinaryDataSet}.
+ */
+public class BinaryDataSetWriter {
+
+    private final DataOutputStream out;
+
+    private final Map<String, Integer> dictionary = new LinkedHashMap<>();
+
+    public BinaryDataSetWriter(OutputStream outputStream) {
+        out = new DataOutputStream(new BufferedOutputStream(outputStream));
+    }
+
+    public synchronized void write(IDataSet dataSet) throws DataSetException {
+        dictionary.clear();
+        try {
+            ITable[] tables = dataSet.getTables();
+            for (ITable table : tables) {
+                collectStrings(table);
+            }
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            writeVarInt(dictionary.size());
+            for (String value : dictionary.keySet()) {
+                byte[] bytes = value.getBytes("UTF-8");
+                writeVarInt(bytes.length);
+                out.write(bytes);
+            }
+            writeVarInt(tables.length);
+            for (ITable table : tables) {
+                writeTable(table);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new DataSetException("Could not write binary dataset.", e);
+        }
+    }
+
+    private void collectStrings(ITable table) throws DataSetException {
+        addToDictionary(table.getTableMetaData().getTableName());
+        for (Column column : table.getTableMetaData().getColumns()) {
+            addToDictionary(column.getColumnName());
+            addToDictionary(column.getDataType().toString());
+            for (int row = 0; row < table.getRowCount(); row++) {
+                Object value = table.getValue(row, column.getColumnName());
+                byte type = typeOf(value);
+                if (type == TYPE_STRING || type == TYPE_BIG_INTEGER || type == TYPE_BIG_DECIMAL) {
+                    addToDictionary(value.toString());
+                }
+            }
+        }
+    }
+
+    private void addToDictionary(String value) {
+        if (!dictionary.containsKey(value)) {
+            dictionary.put(value, dictionary.size());
+        }
+    }
+
+    private void writeTable(ITable table) throws DataSetException, IOException {
+        Column[] columns = table.getTableMetaData().getColumns();
+        int rowCount = table.getRowCount();
+        writeVarInt(dictionary.get(table.getTableMetaData().getTableName()));
+        writeVarInt(columns.length);
+        for (Column column : columns) {
+            writeVarInt(dictionary.get(column.getColumnName()));
+            writeVarInt(dictionary.get(column.getDataType().toString()));
+        }
+        writeVarInt(rowCount);
+        for (Column column : columns) {
+            Object[] values = new Object[rowCount];
+            byte[] present = new byte[(rowCount + 7) / 8];
+            byte columnType = TYPE_NULL;
+            for (int row = 0; row < rowCount; row++) {
+                values[row] = table.getValue(row, column.getColumnName());
+                byte type = typeOf(values[row]);
+                if (type == TYPE_NULL) {
+                    continue;
+                }
+                present[row >> 3] |= 1 << (row & 7);
+                if (columnType == TYPE_NULL) {
+                    columnType = type;
+                } else if (columnType != type) {
+                    columnType = TYPE_MIXED;
+                }
+            }
+            out.writeByte(columnType);
+            if (columnType == TYPE_NULL) {
+                continue;
+            }
+            out.write(present);
+            for (int row = 0; row < rowCount; row++) {
+                if (values[row] == null) {
+                    continue;
+                }
+                byte type = typeOf(values[row]);
+                if (columnType == TYPE_MIXED) {
+                    out.writeByte(type);
+                }
+                writeValue(values[row], type);
+            }
+        }
+    }
+
+    private void writeValue(Object value, byte type) throws IOException {
+        switch (type) {
+            case TYPE_INT:
+                out.writeInt(((Number) value).intValue());
+                break;
+            case TYPE_LONG:
+                out.writeLong((Long) value);
+                break;
+            case TYPE_DOUBLE:
+                out.writeDouble(((Number) value).doubleValue());
+                break;
+            case TYPE_BOOLEAN:
+                out.writeBoolean((Boolean) value);
+                break;
+            case TYPE_DATE:
+                out.writeLong(((Date) value).getTime());
+                break;
+            case TYPE_TIMESTAMP:
+                out.writeLong(((Timestamp) value).getTime());
+                out.writeInt(((Timestamp) value).getNanos());
+                break;
+            case TYPE_BYTES:
+                writeVarInt(((byte[]) value).length);
+                out.write((byte[]) value);
+                break;
+            default:
+                //string, big integer and big decimal
+                writeVarInt(dictionary.get(value.toString()));
+        }
+    }
+
+    private byte typeOf(Object value) {
+        if (value == null) {
+            return TYPE_NULL;
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return TYPE_INT;
+        }
+        if (value instanceof Long) {
+            return TYPE_LONG;
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return TYPE_DOUBLE;
+        }
+        if (value instanceof Boolean) {
+            return TYPE_BOOLEAN;
+        }
+        if (value instanceof Timestamp) {
+            return TYPE_TIMESTAMP;
+        }
+        if (value instanceof Date) {
+            return TYPE_DATE;
+        }
+        if (value instanceof BigInteger) {
+            return TYPE_BIG_INTEGER;
+        }
+        if (value instanceof BigDecimal) {
+            return TYPE_BIG_DECIMAL;
+        }
+        if (value instanceof byte[]) {
+            return TYPE_BYTES;
+        }
+        return TYPE_STRING;
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
@@ -17,6 +17,8 @@ import javax.persistence.EntityManagerFactory;
 import javax.persistence.EntityTransaction;
 import javax.persistence.Persistence;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -196,4 +198,32 @@ public class EntityManagerProvider implements TestRule {
     public static boolean isEntityManagerActive(){
         return instance != null && em().isOpen();
     }
+
+    /**
+     * @param connection jdbc connection
+     * @return true if an entity manager of this provider is open on the same database (url and user) as given connection
+     */
+    public static boolean isEntityManagerActive(Connection connection) {
+        for (EntityManagerProvider provider : providers.values()) {
+            if (provider.em != null && provider.em.isOpen() && provider.conn != null && isSameDatabase(provider.conn, connection)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSameDatabase(Connection connection, Connection other) {
+        if (connection == other) {
+            return true;
+        }
+        try {
+            DatabaseMetaData metaData = connection.getMetaData();
+            DatabaseMetaData otherMetaData = other.getMetaData();
+            return metaData.getURL() != null && metaData.getURL().equals(otherMetaData.getURL())
+                    && (metaData.getUserName() == null ? otherMetaData.getUserName() == null : metaData.getUserName().equalsIgnoreCase(otherMetaData.getUserName()));
+        } catch (SQLException e) {
+            //can't tell, assume it is
+            return true;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.github.dbunit.rules;
+
+import com.github.dbunit.rules.api.dataset.BinaryDataSet;
+import com.github.dbunit.rules.api.dataset.YamlDataSet;
+import com.github.dbunit.rules.configuration.DataSetConfig;
+import com.github.dbunit.rules.connection.ConnectionHolderImpl;
+import com.github.dbunit.rules.dataset.DataSetExecutorImpl;
+import com.github.dbunit.rules.dataset.writer.BinaryDataSetCompiler;
+import com.github.dbunit.rules.dataset.writer.BinaryDataSetWriter;
+import com.github.dbunit.rules.model.User;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static com.github.dbunit.rules.util.EntityManagerProvider.em;
+import static com.github.dbunit.rules.util.EntityManagerProvider.instance;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class BinaryDataSetIt {
+
+    private static DataSetExecutorImpl executor;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        executor = DataSetExecutorImpl.instance("binary-executor", new ConnectionHolderImpl(instance("executor-it").connection()));
+        Path datasets = Paths.get(BinaryDataSetIt.class.getResource("/datasets/yml").toURI()).getParent();
+        new BinaryDataSetCompiler().compile(datasets.resolve("yml"), datasets.resolve("dbub/yml"));
+    }
+
+    @Test
+    public void shouldReadWrittenDataSet() throws Exception {
+        IDataSet yamlDataSet = new YamlDataSet(getClass().getResourceAsStream("/datasets/yml/users.yml"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinaryDataSetWriter(out).write(yamlDataSet);
+        IDataSet binaryDataSet = new BinaryDataSet(new ByteArrayInputStream(out.toByteArray()));
+        assertThat(binaryDataSet.getTableNames()).containsExactly(yamlDataSet.getTableNames());
+        for (ITable table : yamlDataSet.getTables()) {
+            ITable binaryTable = binaryDataSet.getTable(table.getTableMetaData().getTableName());
+            assertThat(binaryTable.getRowCount()).isEqualTo(table.getRowCount());
+            assertThat(binaryTable.getTableMetaData().getColumns()).isEqualTo(table.getTableMetaData().getColumns());
+            for (int row = 0; row < table.getRowCount(); row++) {
+                for (int col = 0; col < table.getTableMetaData().getColumns().length; col++) {
+                    String column = table.getTableMetaData().getColumns()[col].getColumnName();
+                    assertThat(binaryTable.getValue(row, column)).isEqualTo(table.getValue(row, column));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldCompileDataSets() throws Exception {
+        Path datasets = Paths.get(getClass().getResource("/datasets/yml").toURI()).getParent();
+        assertThat(Files.exists(datasets.resolve("dbub/yml/users.yml.dbub"))).isTrue();
+        assertThat(new BinaryDataSetCompiler().compile(datasets.resolve("yml"), datasets.resolve("dbub/yml"))).
+                as("up to date datasets should not be compiled again").isEqualTo(0);
+    }
+
+    @Test
+    public void shouldCompileRegularXmlDataSet() throws Exception {
+        Path datasets = Paths.get(getClass().getResource("/datasets/xml").toURI());
+        Path target = Files.createTempDirectory("dbub");
+        new BinaryDataSetCompiler().compile(datasets, target);
+        try (InputStream is = Files.newInputStream(target.resolve("regularUsers.xml.dbub"))) {
+            ITable user = new BinaryDataSet(is).getTable("USER");
+            assertThat(user.getRowCount()).isEqualTo(2);
+            assertThat(user.getValue(1, "NAME")).isEqualTo("@dbunit");
+        }
+        try (InputStream is = Files.newInputStream(target.resolve("users.xml.dbub"))) {
+            assertThat(new BinaryDataSet(is).getTable("USER").getRowCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void shouldSeedDatabaseUsingBinaryDataSet() {
+        executor.createDataSet(new DataSetConfig("datasets/dbub/yml/users.yml.dbub"));
+        List<User> users = em("executor-it").createQuery("select u from User u order by u.id").getResultList();
+        assertThat(users).hasSize(2);
+        assertThat(users.get(0).getName()).isEqualTo("@realpestano");
+        assertThat(users.get(1).getName()).isEqualTo("@dbunit");
+    }
+
+}
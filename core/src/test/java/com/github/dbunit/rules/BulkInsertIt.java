@@ -0,0 +1,69 @@
+package com.github.dbunit.rules;
+
+import com.github.dbunit.rules.api.dataset.SeedStrategy;
+import com.github.dbunit.rules.configuration.DBUnitConfig;
+import com.github.dbunit.rules.configuration.DataSetConfig;
+import com.github.dbunit.rules.connection.ConnectionHolderImpl;
+import com.github.dbunit.rules.dataset.DataSetExecutorImpl;
+import com.github.dbunit.rules.model.Follower;
+import com.github.dbunit.rules.model.Tweet;
+import com.github.dbunit.rules.model.User;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.List;
+
+import static com.github.dbunit.rules.util.EntityManagerProvider.em;
+import static com.github.dbunit.rules.util.EntityManagerProvider.instance;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class BulkInsertIt {
+
+    @Test
+    public void shouldSeedDatabaseUsingMultiRowInserts() {
+        DataSetExecutorImpl executor = DataSetExecutorImpl.instance("bulk-executor", new ConnectionHolderImpl(instance("executor-it").connection()));
+        executor.createDataSet(new DataSetConfig("datasets/yml/users.yml").strategy(SeedStrategy.CLEAN_BULK_INSERT));
+        assertUsers();
+    }
+
+    @Test
+    public void shouldSeedDatabaseInChunksOfBatchSize() {
+        DataSetExecutorImpl executor = DataSetExecutorImpl.instance("bulk-chunk-executor", new ConnectionHolderImpl(instance("executor-it").connection()));
+        executor.setDBUnitConfig(new DBUnitConfig("bulk-chunk-executor").addDBUnitProperty("batchSize", 1));
+        executor.createDataSet(new DataSetConfig("datasets/yml/users.yml").strategy(SeedStrategy.CLEAN_BULK_INSERT));
+        assertUsers();
+    }
+
+    @Test
+    public void shouldSeedNullCells() {
+        DataSetExecutorImpl executor = DataSetExecutorImpl.instance("bulk-null-executor", new ConnectionHolderImpl(instance("executor-it").connection()));
+        executor.createDataSet(new DataSetConfig("datasets/yml/tweetsWithNulls.yml").strategy(SeedStrategy.CLEAN_BULK_INSERT));
+        em("executor-it").clear();
+        List<Tweet> tweets = em("executor-it").createQuery("select t from Tweet t order by t.id").getResultList();
+        assertThat(tweets).hasSize(2);
+        assertThat(tweets.get(0).getLikes()).isEqualTo(5);
+        assertThat(tweets.get(1).getLikes()).isNull();
+        assertThat(tweets.get(1).getDate()).isNull();
+    }
+
+    @Test
+    public void shouldSeedDatabaseUsingNativeBulkLoad() {
+        DataSetExecutorImpl executor = DataSetExecutorImpl.instance("native-bulk-executor", new ConnectionHolderImpl(instance("executor-it").connection()));
+        executor.setDBUnitConfig(new DBUnitConfig("native-bulk-executor").nativeBulkLoad(true));
+        executor.createDataSet(new DataSetConfig("datasets/yml/users.yml").strategy(SeedStrategy.CLEAN_BULK_INSERT));
+        assertUsers();
+    }
+
+    private void assertUsers() {
+        List<User> users = em("executor-it").createQuery("select u from User u order by u.id").getResultList();
+        assertThat(users).hasSize(2);
+        assertThat(users.get(0).getName()).isEqualTo("@realpestano");
+        assertThat(users.get(0).getTweets()).hasSize(1);
+        assertThat(users.get(0).getTweets().get(0).getDate()).isNotNull();
+        List<Follower> followers = em("executor-it").createQuery("select f from Follower f").getResultList();
+        assertThat(followers).hasSize(1);
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.github.dbunit.rules;
+
+import com.github.dbunit.rules.configuration.DBUnitConfig;
+import com.github.dbunit.rules.connection.ConnectionHolderImpl;
+import com.github.dbunit.rules.dataset.DataSetCache;
+import com.github.dbunit.rules.dataset.DataSetExecutorImpl;
+import com.github.dbunit.rules.dataset.ResourceIndex;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.IDataSet;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static com.github.dbunit.rules.util.EntityManagerProvider.instance;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class DataSetCacheIt {
+
+    private static DataSetExecutorImpl executor;
+
+    @BeforeClass
+    public static void setup() {
+        executor = DataSetExecutorImpl.instance("cache-executor", new ConnectionHolderImpl(instance("executor-it").connection()));
+    }
+
+    @Test
+    public void shouldReuseCachedDataSet() throws Exception {
+        executor.setDBUnitConfig(new DBUnitConfig("cache-executor").cacheDataSets(true));
+        IDataSet first = executor.loadDataSet("datasets/yml/users.yml");
+        long hits = DataSetCache.getInstance().getHits();
+        IDataSet second = executor.loadDataSet("datasets/yml/users.yml");
+        assertThat(DataSetCache.getInstance().getHits()).isGreaterThan(hits);
+        assertThat(second.getTable("USER")).isSameAs(first.getTable("USER"));
+    }
+
+    @Test
+    public void shouldReuseCachedCompositeDataSet() throws Exception {
+        executor.setDBUnitConfig(new DBUnitConfig("cache-executor").cacheDataSets(true));
+        IDataSet first = executor.loadDataSet("datasets/yml/users.yml, datasets/json/users_without_followers.json");
+        IDataSet second = executor.loadDataSet("datasets/yml/users.yml, datasets/json/users_without_followers.json");
+        assertThat(second).isSameAs(first);
+        assertThat(second.getTable("USER").getRowCount()).isEqualTo(first.getTable("USER").getRowCount());
+    }
+
+    @Test
+    public void shouldCountOneLookupPerLoad() throws Exception {
+        executor.setDBUnitConfig(new DBUnitConfig("cache-executor").cacheDataSets(true));
+        DataSetCache dataSetCache = DataSetCache.getInstance();
+        long hits = dataSetCache.getHits();
+        long misses = dataSetCache.getMisses();
+        executor.loadDataSet("datasets/json/users_without_followers.json, datasets/yml/users.yml");
+        assertThat(dataSetCache.getHits()).isEqualTo(hits);
+        assertThat(dataSetCache.getMisses()).isEqualTo(misses + 1);
+        executor.loadDataSet("datasets/json/users_without_followers.json, datasets/yml/users.yml");
+        assertThat(dataSetCache.getHits()).isEqualTo(hits + 1);
+        assertThat(dataSetCache.getMisses()).isEqualTo(misses + 1);
+    }
+
+    @Test
+    public void shouldNotReuseDataSetWhenCacheIsDisabled() throws Exception {
+        executor.setDBUnitConfig(new DBUnitConfig("cache-executor").cacheDataSets(false));
+        try {
+            IDataSet first = executor.loadDataSet("datasets/yml/users.yml");
+            IDataSet second = executor.loadDataSet("datasets/yml/users.yml");
+            assertThat(second.getTable("USER")).isNotSameAs(first.getTable("USER"));
+        } finally {
+            executor.setDBUnitConfig(new DBUnitConfig("cache-executor").cacheDataSets(true));
+        }
+    }
+
+    @Test
+    public void shouldReloadDataSetWhenFileChanges() throws Exception {
+        File file = new File("target/test-classes/datasets/yml/cachedUsers.yml");
+        Files.write(file.toPath(), "USER:\n  - ID: 1\n    NAME: \"@realpestano\"\n".getBytes(StandardCharsets.UTF_8));
+        ResourceIndex.getInstance().clear();
+        try {
+            executor.setDBUnitConfig(new DBUnitConfig("cache-executor").cacheDataSets(true));
+            IDataSet first = executor.loadDataSet("datasets/yml/cachedUsers.yml");
+            assertThat(executor.loadDataSet("datasets/yml/cachedUsers.yml")).isSameAs(first);
+            Files.write(file.toPath(), "USER:\n  - ID: 1\n    NAME: \"@realpestano\"\n  - ID: 2\n    NAME: \"@dbunit\"\n".getBytes(StandardCharsets.UTF_8));
+            file.setLastModified(file.lastModified() + 2000);
+            IDataSet second = executor.loadDataSet("datasets/yml/cachedUsers.yml");
+            assertThat(second).isNotSameAs(first);
+            assertThat(second.getTable("USER").getRowCount()).isEqualTo(2);
+        } finally {
+            file.delete();
+            ResourceIndex.getInstance().clear();
+        }
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedDataSet() throws Exception {
+        DataSetCache dataSetCache = new DataSetCache(2);
+        dataSetCache.put("a", new DefaultDataSet());
+        dataSetCache.put("b", new DefaultDataSet());
+        assertThat(dataSetCache.get("a")).isNotNull();
+        dataSetCache.put("c", new DefaultDataSet());
+        assertThat(dataSetCache.size()).isEqualTo(2);
+        assertThat(dataSetCache.getEvictions()).isEqualTo(1);
+        assertThat(dataSetCache.get("b")).isNull();
+        assertThat(dataSetCache.get("a")).isNotNull();
+        assertThat(dataSetCache.getHits()).isEqualTo(2);
+        assertThat(dataSetCache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldUseContentInCacheKey() {
+        assertThat(DataSetCache.key("users.yml", "USER:".getBytes())).
+                isEqualTo(DataSetCache.key("users.yml", "USER:".getBytes())).
+                isNotEqualTo(DataSetCache.key("users.yml", "USER: []".getBytes()));
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.github.dbunit.rules;
+
+import com.github.dbunit.rules.configuration.DBUnitConfig;
+import com.github.dbunit.rules.configuration.DataSetConfig;
+import com.github.dbunit.rules.connection.ConnectionHolderImpl;
+import com.github.dbunit.rules.dataset.DataSetExecutorImpl;
+import com.github.dbunit.rules.model.User;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.List;
+
+import static com.github.dbunit.rules.util.EntityManagerProvider.em;
+import static com.github.dbunit.rules.util.EntityManagerProvider.instance;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class ParallelDataSetLoadingIt {
+
+    private static final String DATASETS = "datasets/yml/user.yml, datasets/yml/tweet.yml, datasets/json/users.json, datasets/xml/users.xml, datasets/csv/USER.csv";
+
+    private static DataSetExecutorImpl executor;
+
+    @BeforeClass
+    public static void setup() {
+        executor = DataSetExecutorImpl.instance("parallel-executor", new ConnectionHolderImpl(instance("executor-it").connection()));
+    }
+
+    @Test
+    public void shouldLoadDataSetsInDeclaredOrder() throws Exception {
+        executor.setDBUnitConfig(new DBUnitConfig("parallel-executor").cacheDataSets(false).parallelDataSetLoading(false));
+        IDataSet sequential = executor.loadDataSet(DATASETS);
+        executor.setDBUnitConfig(new DBUnitConfig("parallel-executor").cacheDataSets(false).parallelDataSetLoading(true));
+        for (int i = 0; i < 10; i++) {
+            IDataSet parallel = executor.loadDataSet(DATASETS);
+            assertThat(parallel.getTableNames()).containsExactly(sequential.getTableNames());
+            for (ITable table : sequential.getTables()) {
+                ITable parallelTable = parallel.getTable(table.getTableMetaData().getTableName());
+                assertThat(parallelTable.getRowCount()).isEqualTo(table.getRowCount());
+                for (int row = 0; row < table.getRowCount(); row++) {
+                    assertThat(parallelTable.getValue(row, "ID")).isEqualTo(table.getValue(row, "ID"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldReportDataSetNotFound() throws Exception {
+        executor.setDBUnitConfig(new DBUnitConfig("parallel-executor").cacheDataSets(false).parallelDataSetLoading(true));
+        try {
+            executor.loadDataSet("datasets/yml/users.yml, datasets/yml/unknown.yml");
+            fail("RuntimeException expected");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage()).isEqualTo("Could not find dataset 'datasets/yml/unknown.yml' under 'resources' or 'resources/datasets' directory.");
+        }
+    }
+
+    @Test
+    public void shouldSeedDatabaseLoadingDataSetsInParallel() {
+        executor.setDBUnitConfig(new DBUnitConfig("parallel-executor").parallelDataSetLoading(true));
+        executor.createDataSet(new DataSetConfig("datasets/yml/user.yml, datasets/yml/tweet.yml"));
+        List<User> users = em("executor-it").createQuery("select u from User u order by u.id").getResultList();
+        assertThat(users).hasSize(2);
+    }
+
+}
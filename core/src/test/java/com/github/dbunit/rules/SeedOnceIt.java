@@ -0,0 +1,97 @@
+package com.github.dbunit.rules;
+
+import com.github.dbunit.rules.api.dataset.DataSet;
+import org.junit.ClassRule;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+@DataSet(value = "datasets/yml/library.yml", seedOnce = true, executorId = "seed-once-executor")
+public class SeedOnceIt {
+
+    private static final Connection connection = createConnection();
+
+    @ClassRule
+    public static DBUnitRule classRule = DBUnitRule.instance("seed-once-executor", connection);
+
+    @Rule
+    public DBUnitRule dbUnitRule = DBUnitRule.instance("seed-once-executor", connection);
+
+    /**
+     * value of book.seed column (incremented on every insert) after class seed
+     */
+    private static int classSeed;
+
+    private static Connection createConnection() {
+        try {
+            Connection connection = DriverManager.getConnection("jdbc:h2:mem:seed-once;DB_CLOSE_DELAY=-1", "sa", "");
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create sequence seed_sequence");
+                statement.execute("create table author (id int primary key, name varchar(50))");
+                statement.execute("create table book (id int primary key, title varchar(50), author_id int references author(id), seed int default next value for seed_sequence)");
+                statement.execute("create table publisher (id int primary key, name varchar(50))");
+            }
+            return connection;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    public void a_shouldRunInsideRolledBackTransaction() throws SQLException {
+        classSeed = query("select max(seed) from book");
+        assertThat(connection.getAutoCommit()).isFalse();
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("delete from book");
+            statement.executeUpdate("insert into publisher values (2, 'rolled back')");
+        }
+        assertThat(query("select count(*) from book")).isEqualTo(0);
+        assertThat(query("select count(*) from publisher")).isEqualTo(2);
+    }
+
+    @Test
+    public void b_shouldNotSeedAgainAfterRollback() throws SQLException {
+        assertThat(query("select count(*) from book")).isEqualTo(2);
+        assertThat(query("select count(*) from publisher")).isEqualTo(1);
+        assertThat(query("select max(seed) from book")).isEqualTo(classSeed);
+    }
+
+    @Test
+    public void c_shouldDetectCommittedChanges() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("update publisher set name = 'committed'");
+        }
+        connection.commit();
+    }
+
+    @Test
+    public void d_shouldSeedAgainAfterCommittedChanges() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select name from publisher")) {
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getString(1)).isEqualTo("dbunit rules");
+        }
+        assertThat(query("select max(seed) from book")).isGreaterThan(classSeed);
+    }
+
+    private int query(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.dbunit.rules;
+
+import com.github.dbunit.rules.configuration.DBUnitConfig;
+import com.github.dbunit.rules.configuration.DataSetConfig;
+import com.github.dbunit.rules.connection.ConnectionHolderImpl;
+import com.github.dbunit.rules.dataset.DataSetExecutorImpl;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static com.github.dbunit.rules.util.EntityManagerProvider.em;
+import static com.github.dbunit.rules.util.EntityManagerProvider.instance;
+import static com.github.dbunit.rules.util.EntityManagerProvider.tx;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class SelectiveCleanupIt {
+
+    private static Connection connection;
+
+    private static DataSetExecutorImpl executor;
+
+    @BeforeClass
+    public static void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:selective-cleanup;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table author (id int primary key)");
+            statement.execute("create table book (id int primary key, author_id int references author(id))");
+            statement.execute("create table audit (id int primary key)");
+        }
+        executor = DataSetExecutorImpl.instance("selective-cleanup-executor", new ConnectionHolderImpl(connection));
+        executor.setDBUnitConfig(new DBUnitConfig("selective-cleanup-executor").selectiveCleanup(true));
+    }
+
+    @AfterClass
+    public static void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void shouldOnlyClearWrittenTables() throws SQLException {
+        executor.createDataSet(new DataSetConfig().cleanBefore(true).tableOrdering(new String[]{"BOOK", "AUTHOR", "AUDIT"}));
+        executor.executeStatements(new String[]{"insert into author values (1)", "insert into book values (1, 1)"});
+        //not made through executor connection so it will not be tracked
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("insert into audit values (1)");
+        }
+
+        executor.clearDatabase(null);
+        assertThat(count("author")).isEqualTo(0);
+        assertThat(count("book")).isEqualTo(0);
+        assertThat(count("audit")).isEqualTo(1);
+
+        executor.executeStatements(new String[]{"insert into author values (2)", "call 1"});
+        executor.clearDatabase(null);
+        assertThat(count("author")).isEqualTo(0);
+        assertThat(count("audit")).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldReseedAfterUntrackedJpaWrite() {
+        DataSetExecutorImpl jpaExecutor = DataSetExecutorImpl.instance("selective-cleanup-jpa-executor", new ConnectionHolderImpl(instance("executor-it").connection()));
+        jpaExecutor.setDBUnitConfig(new DBUnitConfig("selective-cleanup-jpa-executor").selectiveCleanup(true));
+        DataSetConfig dataSetConfig = new DataSetConfig("datasets/yml/users.yml");
+        jpaExecutor.createDataSet(dataSetConfig);
+
+        tx("executor-it").begin();
+        em("executor-it").createNativeQuery("update user set name = 'changed by jpa' where id = 1").executeUpdate();
+        tx("executor-it").commit();
+
+        jpaExecutor.createDataSet(dataSetConfig);
+        assertThat(em("executor-it").createNativeQuery("select name from user where id = 1").getSingleResult()).isEqualTo("@realpestano");
+    }
+
+    @Test
+    public void shouldClearAllTablesWhenCleanupIsParallel() throws SQLException {
+        executor.setDBUnitConfig(new DBUnitConfig("selective-cleanup-executor").selectiveCleanup(true).parallelCleanup(true));
+        try {
+            executor.createDataSet(new DataSetConfig().cleanBefore(true).tableOrdering(new String[]{"BOOK", "AUTHOR", "AUDIT"}));
+            executor.executeStatements(new String[]{"insert into author values (1)"});
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("insert into audit values (1)");
+            }
+
+            executor.clearDatabase(null);
+            assertThat(count("author")).isEqualTo(0);
+            assertThat(count("audit")).isEqualTo(0);
+        } finally {
+            executor.setDBUnitConfig(new DBUnitConfig("selective-cleanup-executor").selectiveCleanup(true));
+        }
+    }
+
+    @Test
+    public void shouldClearAllTablesWhenEntityManagerIsActive() throws SQLException {
+        DataSetExecutorImpl jpaExecutor = DataSetExecutorImpl.instance("selective-cleanup-jpa-executor", new ConnectionHolderImpl(instance("executor-it").connection()));
+        jpaExecutor.setDBUnitConfig(new DBUnitConfig("selective-cleanup-jpa-executor").selectiveCleanup(true));
+        jpaExecutor.createDataSet(new DataSetConfig("datasets/yml/users.yml"));
+        jpaExecutor.clearDatabase(null);
+
+        tx("executor-it").begin();
+        em("executor-it").createNativeQuery("insert into user (id, name) values (10, 'written by jpa')").executeUpdate();
+        tx("executor-it").commit();
+
+        jpaExecutor.clearDatabase(null);
+        assertThat(em("executor-it").createNativeQuery("select count(*) from user").getSingleResult().toString()).isEqualTo("0");
+    }
+
+    private int count(String table) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery("select count(*) from " + table)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.dbunit.rules;
+
+import com.github.dbunit.rules.api.dataset.SeedStrategy;
+import com.github.dbunit.rules.configuration.DataSetConfig;
+import com.github.dbunit.rules.connection.ConnectionHolderImpl;
+import com.github.dbunit.rules.dataset.DataSetExecutorImpl;
+import com.github.dbunit.rules.model.User;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static com.github.dbunit.rules.util.EntityManagerProvider.em;
+import static com.github.dbunit.rules.util.EntityManagerProvider.instance;
+import static com.github.dbunit.rules.util.EntityManagerProvider.tx;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class SkipSeedIt {
+
+    private static DataSetExecutorImpl executor;
+
+    @BeforeClass
+    public static void setup() {
+        executor = DataSetExecutorImpl.instance("skip-seed-executor", new ConnectionHolderImpl(instance("skip-seed-it").connection()));
+    }
+
+    @Test
+    public void shouldSkipSeedAfterReadOnlyTest() {
+        executor.createDataSet(new DataSetConfig("datasets/yml/users.yml").readOnly(true));
+        //change made outside executor (and against read only hint) so we can detect skipped seeds
+        renameUser("changed");
+
+        executor.createDataSet(new DataSetConfig("datasets/yml/users.yml"));
+        assertThat(getUserName()).isEqualTo("changed");
+
+        //previous test was not read only
+        executor.createDataSet(new DataSetConfig("datasets/yml/users.yml").readOnly(true));
+        assertThat(getUserName()).isEqualTo("@realpestano");
+
+        renameUser("changed");
+        executor.executeStatements(new String[]{"UPDATE TWEET SET LIKES = 1"});
+        executor.createDataSet(new DataSetConfig("datasets/yml/users.yml").readOnly(true));
+        assertThat(getUserName()).isEqualTo("@realpestano");
+
+        renameUser("changed");
+        executor.markDatabaseDirty();
+        executor.createDataSet(new DataSetConfig("datasets/yml/users.yml").readOnly(true));
+        assertThat(getUserName()).isEqualTo("@realpestano");
+
+        renameUser("changed");
+        executor.createDataSet(new DataSetConfig("datasets/yml/users.yml").strategy(SeedStrategy.REFRESH).readOnly(true));
+        assertThat(getUserName()).isEqualTo("@realpestano");
+    }
+
+    private void renameUser(String name) {
+        tx("skip-seed-it").begin();
+        em("skip-seed-it").createQuery("update User u set u.name = :name where u.id = 1").setParameter("name", name).executeUpdate();
+        tx("skip-seed-it").commit();
+    }
+
+    private String getUserName() {
+        em("skip-seed-it").clear();
+        return em("skip-seed-it").find(User.class, 1L).getName();
+    }
+}
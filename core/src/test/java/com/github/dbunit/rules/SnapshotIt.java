@@ -0,0 +1,63 @@
+package com.github.dbunit.rules;
+
+import com.github.dbunit.rules.configuration.DataSetConfig;
+import com.github.dbunit.rules.connection.ConnectionHolderImpl;
+import com.github.dbunit.rules.dataset.DataSetExecutorImpl;
+import com.github.dbunit.rules.model.User;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.List;
+
+import static com.github.dbunit.rules.util.EntityManagerProvider.em;
+import static com.github.dbunit.rules.util.EntityManagerProvider.instance;
+import static com.github.dbunit.rules.util.EntityManagerProvider.tx;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class SnapshotIt {
+
+    private static DataSetExecutorImpl executor;
+
+    @BeforeClass
+    public static void setup() {
+        executor = DataSetExecutorImpl.instance("snapshot-executor", new ConnectionHolderImpl(instance("snapshot-it").connection()));
+    }
+
+    @Test
+    public void shouldRestoreDataSetFromSnapshot() {
+        DataSetConfig dataSetConfig = new DataSetConfig("datasets/yml/users.yml").useSnapshot(true);
+        executor.createDataSet(dataSetConfig);
+        assertThat(executor.hasSnapshot("datasets/yml/users.yml")).isTrue();
+
+        tx("snapshot-it").begin();
+        em("snapshot-it").createQuery("delete from Follower").executeUpdate();
+        em("snapshot-it").createQuery("update User u set u.name = 'changed' where u.id = 1").executeUpdate();
+        tx("snapshot-it").commit();
+
+        executor.createDataSet(dataSetConfig);
+        em("snapshot-it").clear();
+        List<User> users = em("snapshot-it").createQuery("select u from User u order by u.id").getResultList();
+        assertThat(users).hasSize(2);
+        assertThat(users.get(0).getName()).isEqualTo("@realpestano");
+        assertThat(em("snapshot-it").createQuery("select f from Follower f").getResultList()).hasSize(1);
+    }
+
+    @Test
+    public void shouldRestoreNamedSnapshot() {
+        executor.createDataSet(new DataSetConfig("datasets/yml/users.yml"));
+        executor.createSnapshot("users", "USER", "TWEET", "FOLLOWER");
+        executor.createDataSet(new DataSetConfig("datasets/yml/empty.yml"));
+        executor.restoreSnapshot("users");
+        em("snapshot-it").clear();
+        assertThat(em("snapshot-it").createQuery("select u from User u").getResultList()).hasSize(2);
+        assertThat(em("snapshot-it").createQuery("select t from Tweet t").getResultList()).hasSize(1);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void shouldNotRestoreUnknownSnapshot() {
+        executor.restoreSnapshot("unknown");
+    }
+}
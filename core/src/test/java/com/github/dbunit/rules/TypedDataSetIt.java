@@ -0,0 +1,86 @@
+package com.github.dbunit.rules;
+
+import com.github.dbunit.rules.configuration.DBUnitConfig;
+import com.github.dbunit.rules.configuration.DataSetConfig;
+import com.github.dbunit.rules.connection.ConnectionHolderImpl;
+import com.github.dbunit.rules.dataset.DataSetExecutorImpl;
+import com.github.dbunit.rules.model.Tweet;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.datatype.DataType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+import static com.github.dbunit.rules.util.EntityManagerProvider.em;
+import static com.github.dbunit.rules.util.EntityManagerProvider.instance;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class TypedDataSetIt {
+
+    private static DataSetExecutorImpl executor;
+
+    @BeforeClass
+    public static void setup() {
+        executor = DataSetExecutorImpl.instance("typed-executor", new ConnectionHolderImpl(instance("executor-it").connection()));
+        executor.setDBUnitConfig(new DBUnitConfig("typed-executor").typedDataSets(true).cacheDataSets(true));
+    }
+
+    @Test
+    public void shouldResolveColumnTypesFromDatabase() throws Exception {
+        IDataSet dataSet = executor.loadTypedDataSet("datasets/csv/USER.csv");
+        ITable user = dataSet.getTable("USER");
+        assertThat(user.getTableMetaData().getColumns()[0].getDataType()).isNotEqualTo(DataType.UNKNOWN);
+        assertThat(user.getValue(0, "ID")).isInstanceOf(Number.class);
+        ITable tweet = dataSet.getTable("TWEET");
+        assertThat(tweet.getValue(0, "DATE")).isInstanceOf(Timestamp.class);
+        assertThat(tweet.getValue(0, "LIKES")).isNull();
+    }
+
+    @Test
+    public void shouldKeepValuesWhichCanNotBeConverted() throws Exception {
+        ITable tweet = executor.loadTypedDataSet("datasets/yml/users.yml").getTable("TWEET");
+        assertThat(tweet.getValue(0, "DATE")).isEqualTo("[DAY,NOW]");
+    }
+
+    @Test
+    public void shouldCacheTypedDataSet() throws Exception {
+        assertThat(executor.loadTypedDataSet("datasets/yml/user.yml")).isSameAs(executor.loadTypedDataSet("datasets/yml/user.yml"));
+    }
+
+    @Test
+    public void shouldResolveColumnTypesAgainAfterSchemaChange() throws Exception {
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:typed-schema-change;DB_CLOSE_DELAY=-1", "sa", "");
+        try {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table measure (id int primary key, amount varchar(10))");
+            }
+            DataSetExecutorImpl schemaExecutor = DataSetExecutorImpl.instance("typed-schema-executor", new ConnectionHolderImpl(connection));
+            schemaExecutor.setDBUnitConfig(new DBUnitConfig("typed-schema-executor").typedDataSets(true).cacheDataSets(true));
+            schemaExecutor.createDataSet(new DataSetConfig("datasets/yml/measure.yml"));
+            assertThat(schemaExecutor.loadTypedDataSet("datasets/yml/measure.yml").getTable("MEASURE").getValue(0, "AMOUNT")).isEqualTo("10");
+
+            schemaExecutor.executeStatements(new String[]{"alter table measure alter column amount int"});
+            schemaExecutor.createDataSet(new DataSetConfig("datasets/yml/measure.yml"));
+            assertThat(schemaExecutor.loadTypedDataSet("datasets/yml/measure.yml").getTable("MEASURE").getValue(0, "AMOUNT")).isEqualTo(10);
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void shouldSeedDatabaseUsingTypedDataSet() {
+        executor.createDataSet(new DataSetConfig("datasets/yml/users.yml"));
+        Tweet tweet = (Tweet) em("executor-it").createQuery("select t from Tweet t where t.id = 'abcdef12345'").getSingleResult();
+        assertThat(tweet.getContent()).isEqualTo("dbunit rules!");
+        assertThat(tweet.getDate()).isNotNull();
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.github.dbunit.rules.api.dataset;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.NoSuchColumnException;
+import org.dbunit.dataset.RowOutOfBoundsException;
+import org.dbunit.dataset.datatype.DataType;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class ColumnarTableTest {
+
+    @Test
+    public void shouldKeepValueTypesPerColumn() throws Exception {
+        ColumnarTable table = newTable("id", "name", "score", "active", "big");
+        table.addRow(new Object[]{1, "@realpestano", 1.5d, true, 10L});
+        table.addRow(new Object[]{2, null, null, false, BigInteger.TEN});
+        table.addRow(new Object[]{3, "@dbunit"});
+        table.trimToSize();
+
+        assertThat(table.getRowCount()).isEqualTo(3);
+        assertThat(table.getValue(0, "id")).isEqualTo(1);
+        assertThat(table.getValue(2, "ID")).isEqualTo(3);
+        assertThat(table.getValue(1, "name")).isNull();
+        assertThat(table.getValue(2, "name")).isEqualTo("@dbunit");
+        assertThat(table.getValue(0, "score")).isEqualTo(1.5d);
+        assertThat(table.getValue(1, "score")).isNull();
+        assertThat(table.getValue(0, "active")).isEqualTo(true);
+        assertThat(table.getValue(1, "active")).isEqualTo(false);
+        assertThat(table.getValue(2, "active")).isNull();
+        assertThat(table.getValue(0, "big")).isEqualTo(10L);
+        assertThat(table.getValue(1, "big")).isEqualTo(BigInteger.TEN);
+    }
+
+    @Test
+    public void shouldNotGetValueOfUnknownColumn() throws Exception {
+        ColumnarTable table = newTable("id");
+        table.addRow(new Object[]{1});
+        try {
+            table.getValue(0, "unknown");
+            fail("NoSuchColumnException expected");
+        } catch (NoSuchColumnException e) {
+            assertThat(e.getMessage()).contains("unknown");
+        }
+    }
+
+    @Test
+    public void shouldPromoteColumnWhenTypesAreMixed() throws Exception {
+        ColumnarTable table = newTable("id");
+        table.addRow(new Object[]{null});
+        table.addRow(new Object[]{1});
+        table.addRow(new Object[]{"abcdef12345"});
+        assertThat(table.getValue(0, "id")).isNull();
+        assertThat(table.getValue(1, "id")).isEqualTo(1);
+        assertThat(table.getValue(2, "id")).isEqualTo("abcdef12345");
+    }
+
+    @Test
+    public void shouldNotGetValueOutOfRowBounds() throws Exception {
+        ColumnarTable table = newTable("id");
+        table.addRow(new Object[]{1});
+        try {
+            table.getValue(1, "id");
+            fail("RowOutOfBoundsException expected");
+        } catch (RowOutOfBoundsException e) {
+            assertThat(e.getMessage()).isEqualTo("1");
+        }
+    }
+
+    private ColumnarTable newTable(String... columnNames) throws Exception {
+        Column[] columns = new Column[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            columns[i] = new Column(columnNames[i], DataType.UNKNOWN);
+        }
+        return new ColumnarTable(new DefaultTableMetaData("USER", columns));
+    }
+}
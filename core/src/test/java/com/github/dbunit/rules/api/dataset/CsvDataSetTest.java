@@ -0,0 +1,92 @@
+package com.github.dbunit.rules.api.dataset;
+
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class CsvDataSetTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldReadTablesInDeclaredOrder() throws Exception {
+        IDataSet dataSet = new CsvDataSet(getClass().getResource("/datasets/csv/USER.csv"));
+        assertThat(dataSet.getTableNames()).containsExactly("USER", "TWEET");
+        ITable user = dataSet.getTable("USER");
+        assertThat(user.getRowCount()).isEqualTo(2);
+        assertThat(user.getValue(0, "ID")).isEqualTo("1");
+        assertThat(user.getValue(1, "NAME")).isEqualTo("@dbunit");
+        ITable tweet = dataSet.getTable("TWEET");
+        assertThat(tweet.getValue(0, "CONTENT")).isEqualTo("dbunit rules!");
+        assertThat(tweet.getValue(0, "LIKES")).isNull();
+    }
+
+    @Test
+    public void shouldParseQuotedValues() throws Exception {
+        File dir = folder.newFolder("quoted");
+        write(new File(dir, "table-ordering.txt"), "USER\n");
+        write(new File(dir, "USER.csv"), "ID, NAME\r\n" +
+                "\"1\", \"a, \\\"quoted\\\" name\"\r\n" +
+                "2,\"multi\nline\"\r\n" +
+                "\n" +
+                " 3 ,null\r\n");
+        ITable user = new CsvDataSet(dir.toURI().toURL()).getTable("USER");
+        assertThat(user.getRowCount()).isEqualTo(3);
+        assertThat(user.getValue(0, "NAME")).isEqualTo("a, \"quoted\" name");
+        assertThat(user.getValue(1, "NAME")).isEqualTo("multi\nline");
+        assertThat(user.getValue(2, "ID")).isEqualTo("3");
+        assertThat(user.getValue(2, "NAME")).isNull();
+    }
+
+    @Test
+    public void shouldNotReadRowWithMissingColumns() throws Exception {
+        File dir = folder.newFolder("invalid");
+        write(new File(dir, "table-ordering.txt"), "USER\nTWEET");
+        write(new File(dir, "USER.csv"), "ID, NAME\n1\n");
+        write(new File(dir, "TWEET.csv"), "ID\n1\n");
+        try {
+            new CsvDataSet(new File(dir, "USER.csv").toURI().toURL());
+            fail("DataSetException expected");
+        } catch (DataSetException e) {
+            assertThat(e.getMessage()).startsWith("Expected 2 columns on line 2");
+        }
+    }
+
+    @Test
+    public void shouldReadDataSetFromJar() throws Exception {
+        File jar = folder.newFile("datasets.jar");
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            for (String file : new String[]{"table-ordering.txt", "USER.csv", "TWEET.csv"}) {
+                out.putNextEntry(new JarEntry("datasets/csv/" + file));
+                out.write(Files.readAllBytes(new File(getClass().getResource("/datasets/csv/" + file).toURI()).toPath()));
+                out.closeEntry();
+            }
+        }
+        IDataSet dataSet = new CsvDataSet(new URL("jar:" + jar.toURI() + "!/datasets/csv/USER.csv"));
+        assertThat(dataSet.getTableNames()).containsExactly("USER", "TWEET");
+        assertThat(dataSet.getTable("USER").getValue(0, "NAME")).isEqualTo("@realpestano");
+        assertThat(CsvDataSet.readContent(new URL("jar:" + jar.toURI() + "!/datasets/csv/USER.csv"))).
+                isEqualTo(CsvDataSet.readContent(getClass().getResource("/datasets/csv/USER.csv")));
+    }
+
+    private void write(File file, String content) throws Exception {
+        Files.write(file.toPath(), content.getBytes("UTF-8"));
+    }
+}
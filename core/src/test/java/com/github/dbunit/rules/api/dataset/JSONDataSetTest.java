@@ -0,0 +1,87 @@
+package com.github.dbunit.rules.api.dataset;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class JSONDataSetTest {
+
+    @Test
+    public void shouldUseColumnsOfAllRows() throws Exception {
+        JSONDataSet dataSet = new JSONDataSet(toStream("{\"USER\": [{\"id\": 1, \"name\": \"@realpestano\"}, {\"id\": 2, \"email\": \"dbunit@rules.com\"}]}"));
+        ITable users = dataSet.getTable("USER");
+        assertThat(columnNames(users)).containsExactly("id", "name", "email");
+        assertThat(users.getRowCount()).isEqualTo(2);
+        assertThat(users.getValue(0, "email")).isNull();
+        assertThat(users.getValue(1, "name")).isNull();
+        assertThat(users.getValue(1, "email")).isEqualTo("dbunit@rules.com");
+    }
+
+    @Test
+    public void shouldReadScalarValues() throws Exception {
+        JSONDataSet dataSet = new JSONDataSet(toStream("{\"TWEET\": [{\"id\": 1, \"likes\": 12345678901, \"rate\": 1.5, \"active\": true, \"deleted\": false, \"content\": null}]}"));
+        ITable tweets = dataSet.getTable("TWEET");
+        assertThat(tweets.getValue(0, "id")).isEqualTo(1);
+        assertThat(tweets.getValue(0, "likes")).isEqualTo(12345678901L);
+        assertThat(tweets.getValue(0, "rate")).isEqualTo(1.5);
+        assertThat(tweets.getValue(0, "active")).isEqualTo(Boolean.TRUE);
+        assertThat(tweets.getValue(0, "deleted")).isEqualTo(Boolean.FALSE);
+        assertThat(tweets.getValue(0, "content")).isNull();
+    }
+
+    @Test
+    public void shouldReadEmptyTables() throws Exception {
+        JSONDataSet dataSet = new JSONDataSet(toStream("{\"USER\": [], \"TWEET\": [{\"id\": 1}]}"));
+        assertThat(dataSet.getTableNames()).containsExactly("USER", "TWEET");
+        ITable users = dataSet.getTable("USER");
+        assertThat(users.getRowCount()).isEqualTo(0);
+        assertThat(users.getTableMetaData().getColumns()).isEmpty();
+    }
+
+    @Test
+    public void shouldIgnoreEmptyRows() throws Exception {
+        JSONDataSet dataSet = new JSONDataSet(toStream("{\"USER\": [{\"id\": 1}, {}, {\"id\": 2}]}"));
+        ITable users = dataSet.getTable("USER");
+        assertThat(users.getRowCount()).isEqualTo(2);
+        assertThat(users.getValue(0, "id")).isEqualTo(1);
+        assertThat(users.getValue(1, "id")).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotAcceptNestedValues() {
+        assertInvalid("{\"USER\": [{\"id\": 1, \"address\": {\"city\": \"Porto Alegre\"}}]}");
+        assertInvalid("{\"USER\": [{\"id\": [1, 2]}]}");
+    }
+
+    private void assertInvalid(String json) {
+        try {
+            new JSONDataSet(toStream(json));
+            fail("DataSetException expected");
+        } catch (RuntimeException e) {
+            assertThat(e).hasCauseInstanceOf(DataSetException.class);
+        }
+    }
+
+    private String[] columnNames(ITable table) throws DataSetException {
+        Column[] columns = table.getTableMetaData().getColumns();
+        String[] names = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            names[i] = columns[i].getColumnName();
+        }
+        return names;
+    }
+
+    private ByteArrayInputStream toStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
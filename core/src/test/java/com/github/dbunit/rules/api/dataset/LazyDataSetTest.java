@@ -0,0 +1,118 @@
+package com.github.dbunit.rules.api.dataset;
+
+import org.dbunit.dataset.FilteredDataSet;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.NoSuchTableException;
+import org.dbunit.dataset.filter.SequenceTableFilter;
+import org.dbunit.dataset.xml.FlatXmlDataSetBuilder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class LazyDataSetTest {
+
+    @Test
+    public void shouldMaterializeOnlyRequestedYamlTable() throws Exception {
+        LazyDataSet dataSet = LazyDataSet.yaml(resource("/datasets/yml/users.yml"));
+        assertThat(dataSet.getTableNames()).containsExactly("USER", "TWEET", "FOLLOWER");
+        assertThat(dataSet.isMaterialized("TWEET")).isFalse();
+        ITable tweet = dataSet.getTable("tweet");
+        assertThat(tweet.getValue(0, "CONTENT")).isEqualTo("dbunit rules!");
+        assertThat(dataSet.isMaterialized("TWEET")).isTrue();
+        assertThat(dataSet.isMaterialized("USER")).isFalse();
+        assertSameTables(dataSet, new YamlDataSet(resource("/datasets/yml/users.yml")));
+    }
+
+    @Test
+    public void shouldParseYamlWithAnchorsAtOnce() throws Exception {
+        LazyDataSet dataSet = LazyDataSet.yaml(new ByteArrayInputStream(("user:\n" +
+                "- id: &id 1\n" +
+                "  name: \"@realpestano\"\n" +
+                "follower:\n" +
+                "- id: 1\n" +
+                "  user_id: *id\n").getBytes("UTF-8")));
+        assertThat(dataSet.getTableNames()).containsExactly("USER", "FOLLOWER");
+        assertThat(dataSet.isMaterialized("FOLLOWER")).isTrue();
+        assertThat(dataSet.getTable("FOLLOWER").getValue(0, "USER_ID")).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldMaterializeOnlyRequestedJsonTable() throws Exception {
+        LazyDataSet dataSet = LazyDataSet.json(resource("/datasets/json/users.json"));
+        assertThat(dataSet.getTableNames()).containsExactly("USER", "TWEET", "FOLLOWER");
+        assertThat(dataSet.getTable("FOLLOWER").getValue(0, "follower_id")).isEqualTo(2);
+        assertThat(dataSet.isMaterialized("USER")).isFalse();
+        assertSameTables(dataSet, new JSONDataSet(resource("/datasets/json/users.json")));
+    }
+
+    @Test
+    public void shouldMaterializeOnlyRequestedXmlTable() throws Exception {
+        LazyDataSet dataSet = LazyDataSet.flatXml(resource("/datasets/xml/users.xml"));
+        assertThat(dataSet.getTableNames()).containsExactly("USER", "TWEET", "FOLLOWER");
+        assertThat(dataSet.getTableMetaData("TWEET").getColumns()).extracting("columnName").containsExactly("id", "content", "user_id");
+        assertThat(dataSet.isMaterialized("TWEET")).isFalse();
+        assertThat(dataSet.getTable("USER").getRowCount()).isEqualTo(2);
+        assertThat(dataSet.isMaterialized("TWEET")).as("remaining tables are loaded in the same pass").isTrue();
+        assertSameTables(dataSet, new FlatXmlDataSetBuilder().build(resource("/datasets/xml/users.xml")));
+    }
+
+    @Test
+    public void shouldFilterTableSequenceWithoutMaterializingTables() throws Exception {
+        LazyDataSet dataSet = LazyDataSet.yaml(resource("/datasets/yml/users.yml"));
+        IDataSet filtered = new FilteredDataSet(new SequenceTableFilter(new String[]{"FOLLOWER", "TWEET", "USER"}), dataSet);
+        assertThat(filtered.getTableNames()).containsExactly("FOLLOWER", "TWEET", "USER");
+        assertThat(dataSet.isMaterialized("USER")).isFalse();
+        assertThat(dataSet.isMaterialized("TWEET")).isFalse();
+        assertThat(dataSet.getTableMetaData("TWEET").getColumns()).hasSize(4);
+        assertThat(dataSet.isMaterialized("USER")).as("remaining tables are loaded in one batch").isTrue();
+    }
+
+    @Test
+    public void shouldCombineTablesOfCompositeDataSet() throws Exception {
+        LazyDataSet user = LazyDataSet.yaml(resource("/datasets/yml/user.yml"));
+        LazyDataSet users = LazyDataSet.json(resource("/datasets/json/users.json"));
+        LazyDataSet dataSet = LazyDataSet.composite(user, users);
+        assertThat(dataSet.getTableNames()).containsExactly("USER", "TWEET", "FOLLOWER");
+        assertThat(dataSet.getTable("USER").getRowCount()).isEqualTo(4);
+        assertThat(users.isMaterialized("TWEET")).isFalse();
+        assertThat(dataSet.getTables()).hasSize(3);
+        assertThat(users.isMaterialized("TWEET")).isTrue();
+    }
+
+    @Test
+    public void shouldNotGetUnknownTable() throws Exception {
+        try {
+            LazyDataSet.yaml(resource("/datasets/yml/users.yml")).getTable("unknown");
+            fail("NoSuchTableException expected");
+        } catch (NoSuchTableException e) {
+            assertThat(e.getMessage()).isEqualTo("unknown");
+        }
+    }
+
+    private InputStream resource(String name) {
+        return getClass().getResourceAsStream(name);
+    }
+
+    private void assertSameTables(IDataSet dataSet, IDataSet expected) throws Exception {
+        assertThat(dataSet.getTableNames()).containsExactly(expected.getTableNames());
+        for (ITable table : expected.getTables()) {
+            ITable lazyTable = dataSet.getTable(table.getTableMetaData().getTableName());
+            assertThat(lazyTable.getTableMetaData().getColumns()).isEqualTo(table.getTableMetaData().getColumns());
+            assertThat(lazyTable.getRowCount()).isEqualTo(table.getRowCount());
+            for (int row = 0; row < table.getRowCount(); row++) {
+                for (int col = 0; col < table.getTableMetaData().getColumns().length; col++) {
+                    String column = table.getTableMetaData().getColumns()[col].getColumnName();
+                    assertThat(lazyTable.getValue(row, column)).isEqualTo(table.getValue(row, column));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.dbunit.rules.api.dataset;
+
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class YamlDataSetTest {
+
+    @Test
+    public void shouldMergeAnchoredRows() throws Exception {
+        YamlDataSet dataSet = new YamlDataSet(getClass().getResourceAsStream("/datasets/yml/users-with-defaults.yml"));
+        ITable tweets = dataSet.getTable("TWEET");
+        assertThat(tweets.getRowCount()).isEqualTo(3);
+        assertThat(tweets.getValue(1, "id")).isEqualTo("abcdef12346");
+        assertThat(tweets.getValue(1, "content")).isEqualTo("dbunit rules!");
+        assertThat(tweets.getValue(1, "likes")).isEqualTo(10);
+        assertThat(tweets.getValue(1, "user_id")).isEqualTo(2);
+        assertThat(tweets.getValue(2, "content")).isEqualTo("merged first");
+        assertThat(tweets.getValue(2, "likes")).isEqualTo(10);
+        assertThat(tweets.getValue(2, "user_id")).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReuseAnchoredRows() throws Exception {
+        YamlDataSet dataSet = new YamlDataSet(toStream("user:\n  - &user\n    id: 1\n    name: \"@realpestano\"\nfollower:\n  - *user\n"));
+        ITable followers = dataSet.getTable("FOLLOWER");
+        assertThat(followers.getRowCount()).isEqualTo(1);
+        assertThat(followers.getValue(0, "name")).isEqualTo("@realpestano");
+    }
+
+    @Test
+    public void shouldNotUseRowsAsColumnValues() {
+        try {
+            new YamlDataSet(toStream("user:\n  - &user\n    id: 1\n  - id: *user\n"));
+            fail("DataSetException expected");
+        } catch (RuntimeException e) {
+            assertThat(e).hasCauseInstanceOf(DataSetException.class);
+        }
+    }
+
+    private ByteArrayInputStream toStream(String yaml) {
+        return new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8));
+    }
+}
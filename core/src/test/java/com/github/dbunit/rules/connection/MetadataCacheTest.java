@@ -0,0 +1,164 @@
+package com.github.dbunit.rules.connection;
+
+import com.github.dbunit.rules.api.dataset.SeedStrategy;
+import com.github.dbunit.rules.configuration.DBUnitConfig;
+import com.github.dbunit.rules.configuration.DataSetConfig;
+import com.github.dbunit.rules.dataset.DataSetExecutorImpl;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class MetadataCacheTest {
+
+    private static Connection connection;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:metadata-cache;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table author (id int primary key, name varchar(50))");
+            statement.execute("create table book (id int primary key, title varchar(50), author_id int references author(id))");
+            statement.execute("create table publisher (id int primary key, name varchar(50))");
+            statement.execute("create table book_seq (next_val int)");
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void shouldReplayCachedLookups() throws SQLException {
+        MetadataCache cache = new MetadataCache(connection, null);
+        for (int i = 0; i < 3; i++) {
+            try (ResultSet columns = cache.getConnection().getMetaData().getColumns(null, null, "BOOK", "%")) {
+                assertThat(columns.next()).isTrue();
+                assertThat(columns.getString("COLUMN_NAME")).isEqualTo("ID");
+                assertThat(columns.getInt("ORDINAL_POSITION")).isEqualTo(1);
+                assertThat(columns.getMetaData().getColumnLabel(columns.findColumn("TABLE_NAME"))).isEqualTo("TABLE_NAME");
+                assertThat(columns.next()).isTrue();
+                assertThat(columns.next()).isTrue();
+                assertThat(columns.getString(4)).isEqualTo("AUTHOR_ID");
+                assertThat(columns.next()).isFalse();
+            }
+            try (ResultSet importedKeys = cache.getConnection().getMetaData().getImportedKeys(null, null, "BOOK")) {
+                assertThat(importedKeys.next()).isTrue();
+                assertThat(importedKeys.getString("PKTABLE_NAME")).isEqualTo("AUTHOR");
+            }
+        }
+        assertThat(cache.getMisses()).isEqualTo(2);
+        assertThat(cache.getHits()).isEqualTo(4);
+        assertThat(cache.getConnection().getMetaData().getConnection()).isSameAs(cache.getConnection());
+
+        cache.clear();
+        cache.getConnection().getMetaData().getPrimaryKeys(null, null, "BOOK").close();
+        assertThat(cache.getMisses()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldReuseStoredLookupsWhileSchemaIsUnchanged() throws SQLException {
+        String file = new File(folder.getRoot(), "metadata.cache").getPath();
+        MetadataCache cache = new MetadataCache(connection, file);
+        cache.getConnection().getMetaData().getPrimaryKeys(null, null, "AUTHOR").close();
+        cache.close();
+
+        MetadataCache nextRun = new MetadataCache(connection, file);
+        try (ResultSet primaryKeys = nextRun.getConnection().getMetaData().getPrimaryKeys(null, null, "AUTHOR")) {
+            assertThat(primaryKeys.next()).isTrue();
+            assertThat(primaryKeys.getString("COLUMN_NAME")).isEqualTo("ID");
+        }
+        assertThat(nextRun.getMisses()).isEqualTo(0);
+        assertThat(nextRun.getHits()).isEqualTo(1);
+        nextRun.close();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table reviewer (id int primary key)");
+        }
+        try {
+            MetadataCache changedSchema = new MetadataCache(connection, file);
+            changedSchema.getConnection().getMetaData().getPrimaryKeys(null, null, "AUTHOR").close();
+            assertThat(changedSchema.getMisses()).isEqualTo(1);
+        } finally {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("drop table reviewer");
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotReuseStoredLookupsAfterColumnChange() throws SQLException {
+        String file = new File(folder.getRoot(), "metadata.cache").getPath();
+        MetadataCache cache = new MetadataCache(connection, file);
+        cache.getConnection().getMetaData().getColumns(null, null, "PUBLISHER", "%").close();
+        cache.close();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table publisher add column country varchar(2)");
+        }
+        try {
+            MetadataCache migrated = new MetadataCache(connection, file);
+            try (ResultSet columns = migrated.getConnection().getMetaData().getColumns(null, null, "PUBLISHER", "%")) {
+                int count = 0;
+                while (columns.next()) {
+                    count++;
+                }
+                assertThat(count).isEqualTo(3);
+            }
+            assertThat(migrated.getMisses()).isEqualTo(1);
+        } finally {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("alter table publisher drop column country");
+            }
+        }
+    }
+
+    @Test
+    public void shouldConvertValuesForAnyGetter() throws SQLException {
+        MetadataCache cache = new MetadataCache(connection, null);
+        for (int i = 0; i < 2; i++) {
+            try (ResultSet columns = cache.getConnection().getMetaData().getColumns(null, null, "AUTHOR", "ID")) {
+                assertThat(columns.next()).isTrue();
+                assertThat(columns.getBigDecimal("DATA_TYPE").intValue()).isEqualTo(Types.INTEGER);
+                assertThat(columns.getDouble("ORDINAL_POSITION")).isEqualTo(1d);
+                assertThat(columns.getObject("COLUMN_DEF")).isNull();
+                assertThat(columns.wasNull()).isTrue();
+                assertThat(columns.getMetaData().getColumnCount()).isGreaterThan(10);
+            }
+        }
+        assertThat(cache.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldSeedThroughCachedMetadata() throws SQLException {
+        DataSetExecutorImpl executor = DataSetExecutorImpl.instance("metadata-cache-executor", new ConnectionHolderImpl(connection));
+        executor.setDBUnitConfig(new DBUnitConfig("metadata-cache-executor").cacheMetadata(true));
+        for (int i = 0; i < 2; i++) {
+            executor.createDataSet(new DataSetConfig("datasets/yml/library.yml").strategy(SeedStrategy.CLEAN_INSERT));
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("select count(*) from book")) {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(resultSet.getInt(1)).isGreaterThan(0);
+            }
+        }
+        executor.clearDatabase(new DataSetConfig());
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.dbunit.rules.connection;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class StatementCacheTest {
+
+    private static Connection connection;
+
+    @BeforeClass
+    public static void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:statement-cache;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table cached_user (id int primary key, name varchar(50))");
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void shouldReuseClosedStatements() throws SQLException {
+        StatementCache cache = new StatementCache(connection, 10);
+        for (int i = 1; i <= 3; i++) {
+            try (PreparedStatement statement = cache.getConnection().prepareStatement("insert into cached_user values (?, ?)")) {
+                statement.setInt(1, i);
+                statement.setString(2, "user" + i);
+                statement.executeUpdate();
+                assertThat(statement.getConnection()).isSameAs(cache.getConnection());
+            }
+        }
+        try (Statement statement = cache.getConnection().createStatement()) {
+            statement.executeUpdate("delete from cached_user");
+        }
+        assertThat(cache.getMisses()).isEqualTo(2);
+        assertThat(cache.getHits()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(2);
+        cache.close();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldNotShareStatementsInUse() throws SQLException {
+        StatementCache cache = new StatementCache(connection, 10);
+        PreparedStatement first = cache.getConnection().prepareStatement("select count(*) from cached_user");
+        PreparedStatement second = cache.getConnection().prepareStatement("select count(*) from cached_user");
+        try (ResultSet resultSet = first.executeQuery(); ResultSet other = second.executeQuery()) {
+            assertThat(resultSet.next()).isTrue();
+            assertThat(other.next()).isTrue();
+        }
+        first.close();
+        second.close();
+        assertThat(first.isClosed()).isTrue();
+        assertThat(cache.getMisses()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+        cache.close();
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedStatements() throws SQLException {
+        StatementCache cache = new StatementCache(connection, 2);
+        cache.getConnection().prepareStatement("select id from cached_user").close();
+        cache.getConnection().prepareStatement("select name from cached_user").close();
+        cache.getConnection().prepareStatement("select id from cached_user").close();
+        cache.getConnection().prepareStatement("select * from cached_user").close();
+        assertThat(cache.size()).isEqualTo(2);
+        //evicted
+        cache.getConnection().prepareStatement("select name from cached_user").close();
+        assertThat(cache.getHits()).isEqualTo(1);
+        cache.close();
+    }
+
+    @Test
+    public void shouldNotCacheStatementsWithChangedOptions() throws SQLException {
+        StatementCache cache = new StatementCache(connection, 10);
+        try (Statement statement = cache.getConnection().createStatement()) {
+            statement.setMaxRows(1);
+        }
+        assertThat(cache.size()).isEqualTo(0);
+        cache.close();
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.dbunit.rules.connection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class WriteTrackerTest {
+
+    @Test
+    public void shouldRecognizeWrittenTables() {
+        assertThat(WriteTracker.getWrittenTable("INSERT INTO user(id, name) values (1, 'a')")).isEqualTo("USER");
+        assertThat(WriteTracker.getWrittenTable("insert ignore into `tweet` values (1)")).isEqualTo("TWEET");
+        assertThat(WriteTracker.getWrittenTable("update public.\"Follower\" set id = 2")).isEqualTo("PUBLIC.FOLLOWER");
+        assertThat(WriteTracker.getWrittenTable("delete from user where 1=1")).isEqualTo("USER");
+        assertThat(WriteTracker.getWrittenTable("merge into user key(id) values (1)")).isEqualTo("USER");
+        assertThat(WriteTracker.getWrittenTable("truncate table user")).isEqualTo("USER");
+        assertThat(WriteTracker.getWrittenTable("create table user (id int)")).isNull();
+    }
+
+    @Test
+    public void shouldTrackWrites() {
+        WriteTracker tracker = new WriteTracker();
+        assertThat(tracker.isComplete()).isFalse();
+        tracker.reset();
+        tracker.record("select * from user");
+        tracker.record("/* seed */ -- users\n insert into user values (1)");
+        tracker.record("update tweet set likes = 1");
+        assertThat(tracker.getWrittenTables()).containsOnly("USER", "TWEET");
+        assertThat(tracker.getWriteCount()).isEqualTo(2);
+        assertThat(tracker.isComplete()).isTrue();
+        tracker.record("call cleanup()");
+        assertThat(tracker.isComplete()).isFalse();
+        tracker.reset();
+        assertThat(tracker.getWrittenTables()).isEmpty();
+        assertThat(tracker.isComplete()).isTrue();
+    }
+}
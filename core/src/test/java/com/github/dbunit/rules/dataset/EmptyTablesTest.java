@@ -0,0 +1,89 @@
+package com.github.dbunit.rules.dataset;
+
+import com.github.dbunit.rules.configuration.DBUnitConfig;
+import com.github.dbunit.rules.configuration.DataSetConfig;
+import com.github.dbunit.rules.connection.ConnectionHolderImpl;
+import com.github.dbunit.rules.util.DriverUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class EmptyTablesTest {
+
+    @Test
+    public void shouldFindNonEmptyH2Tables() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:empty-tables;DB_CLOSE_DELAY=-1", "sa", "")) {
+            createTables(connection);
+            assertThat(EmptyTables.getNonEmptyTables(connection, DriverUtils.getDriverName(connection), Arrays.asList("author", "book", "publisher")))
+                    .containsExactly("author", "publisher");
+        }
+    }
+
+    @Test
+    public void shouldFindNonEmptyHsqldbTables() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:hsqldb:mem:empty-tables", "sa", "")) {
+            createTables(connection);
+            assertThat(EmptyTables.getNonEmptyTables(connection, DriverUtils.getDriverName(connection), Arrays.asList("author", "book", "publisher")))
+                    .containsExactly("author", "publisher");
+        }
+    }
+
+    @Test
+    public void shouldProbeTablesInChunks() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:empty-tables-chunks;DB_CLOSE_DELAY=-1", "sa", "")) {
+            List<String> tables = new ArrayList<>();
+            try (Statement statement = connection.createStatement()) {
+                for (int i = 0; i < EmptyTables.CHUNK_SIZE + 5; i++) {
+                    statement.execute("create table t" + i + " (id int)");
+                    tables.add("t" + i);
+                }
+                statement.execute("insert into t3 values (1)");
+                statement.execute("insert into t" + (EmptyTables.CHUNK_SIZE + 1) + " values (1)");
+            }
+            assertThat(EmptyTables.getNonEmptyTables(connection, DriverUtils.getDriverName(connection), tables))
+                    .containsExactly("t3", "t" + (EmptyTables.CHUNK_SIZE + 1));
+        }
+    }
+
+    @Test
+    public void shouldNotSupportUnknownDatabases() throws SQLException {
+        assertThat(EmptyTables.getNonEmptyTables(null, "apache derby embedded jdbc driver", Arrays.asList("author"))).isNull();
+    }
+
+    @Test
+    public void shouldOnlyClearTablesWithRows() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:skip-empty-tables;DB_CLOSE_DELAY=-1", "sa", "")) {
+            createTables(connection);
+            DataSetExecutorImpl executor = DataSetExecutorImpl.instance("skip-empty-tables-executor", new ConnectionHolderImpl(connection));
+            executor.setDBUnitConfig(new DBUnitConfig("skip-empty-tables-executor").skipEmptyTables(true));
+            executor.clearDatabase(new DataSetConfig());
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("select (select count(*) from author) + (select count(*) from publisher)")) {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(resultSet.getInt(1)).isEqualTo(0);
+            }
+        }
+    }
+
+    private void createTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table author (id int primary key, name varchar(50))");
+            statement.execute("create table book (id int primary key, title varchar(50), author_id int references author(id))");
+            statement.execute("create table publisher (id int primary key, name varchar(50))");
+            statement.execute("insert into author values (1, 'author')");
+            statement.execute("insert into publisher values (1, 'publisher')");
+        }
+    }
+}
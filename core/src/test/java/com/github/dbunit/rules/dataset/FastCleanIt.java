@@ -0,0 +1,109 @@
+package com.github.dbunit.rules.dataset;
+
+import com.github.dbunit.rules.api.dataset.SeedStrategy;
+import com.github.dbunit.rules.configuration.DBUnitConfig;
+import com.github.dbunit.rules.configuration.DataSetConfig;
+import com.github.dbunit.rules.connection.ConnectionHolderImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class FastCleanIt {
+
+    @Test
+    public void shouldTruncateH2Tables() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:fast-clean-it;DB_CLOSE_DELAY=-1", "sa", "")) {
+            createTables(connection, "identity");
+            DataSetExecutorImpl executor = seed("h2-fast-clean-executor", connection);
+
+            executor.clearDatabase(new DataSetConfig());
+
+            assertThat(count(connection, "author")).isEqualTo(0);
+            assertThat(count(connection, "book")).isEqualTo(0);
+            assertThat(count(connection, "publisher")).isEqualTo(0);
+            assertThat(count(connection, "book_seq")).isEqualTo(1);
+            //referential integrity is restored
+            assertThat(insertsOrphanBook(connection)).isFalse();
+        }
+    }
+
+    @Test
+    public void shouldTruncateHsqldbTablesAndRestartIdentity() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:hsqldb:mem:fast-clean-it", "sa", "")) {
+            createTables(connection, "int generated by default as identity (start with 1)");
+            DataSetExecutorImpl executor = seed("hsqldb-fast-clean-executor", connection);
+
+            executor.clearDatabase(new DataSetConfig());
+
+            assertThat(count(connection, "author")).isEqualTo(0);
+            assertThat(count(connection, "book")).isEqualTo(0);
+            assertThat(count(connection, "book_seq")).isEqualTo(1);
+            assertThat(insertsOrphanBook(connection)).isFalse();
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("insert into publisher (name) values ('restarted')");
+                try (ResultSet resultSet = statement.executeQuery("select id from publisher")) {
+                    assertThat(resultSet.next()).isTrue();
+                    assertThat(resultSet.getInt(1)).isEqualTo(1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldKeepConstraintsDisabledByDataSet() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:fast-clean-disabled-constraints-it;DB_CLOSE_DELAY=-1", "sa", "")) {
+            createTables(connection, "identity");
+            DataSetExecutorImpl executor = seed("h2-fast-clean-disabled-constraints-executor", connection);
+
+            //library.yml lists books before their authors
+            executor.createDataSet(new DataSetConfig("datasets/yml/library.yml").disableConstraints(true).cleanBefore(true)
+                    .useSequenceFiltering(false));
+
+            assertThat(count(connection, "author")).isEqualTo(2);
+            assertThat(count(connection, "book")).isEqualTo(2);
+        }
+    }
+
+    private void createTables(Connection connection, String publisherId) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table author (id int primary key, name varchar(50))");
+            statement.execute("create table book (id int primary key, title varchar(50), author_id int references author(id))");
+            statement.execute("create table publisher (id " + publisherId + " primary key, name varchar(50))");
+            statement.execute("create table book_seq (next_val int)");
+            statement.execute("insert into book_seq values (10)");
+        }
+    }
+
+    private DataSetExecutorImpl seed(String executorId, Connection connection) {
+        DataSetExecutorImpl executor = DataSetExecutorImpl.instance(executorId, new ConnectionHolderImpl(connection));
+        executor.setDBUnitConfig(new DBUnitConfig(executorId).fastClean(true));
+        executor.createDataSet(new DataSetConfig("datasets/yml/library.yml").strategy(SeedStrategy.INSERT));
+        return executor;
+    }
+
+    private boolean insertsOrphanBook(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("insert into book (id, title, author_id) values (99, 'orphan', 99)");
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private int count(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from " + table)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
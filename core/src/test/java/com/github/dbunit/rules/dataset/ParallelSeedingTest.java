@@ -0,0 +1,115 @@
+package com.github.dbunit.rules.dataset;
+
+import com.github.dbunit.rules.api.dataset.SeedStrategy;
+import com.github.dbunit.rules.configuration.DBUnitConfig;
+import com.github.dbunit.rules.configuration.DataSetConfig;
+import com.github.dbunit.rules.connection.ConnectionHolderImpl;
+import org.dbunit.dataset.ITable;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class ParallelSeedingTest {
+
+    private static Connection connection;
+
+    private static DataSetExecutorImpl executor;
+
+    @BeforeClass
+    public static void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:parallel-seeding;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table author (id int primary key, name varchar(50))");
+            statement.execute("create table book (id int primary key, title varchar(50), author_id int references author(id))");
+            statement.execute("create table publisher (id int primary key, name varchar(50))");
+        }
+        executor = DataSetExecutorImpl.instance("parallel-seeding-executor", new ConnectionHolderImpl(connection));
+        executor.setDBUnitConfig(new DBUnitConfig("parallel-seeding-executor").parallelSeeding(true));
+    }
+
+    @AfterClass
+    public static void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void shouldGroupTablesByForeignKeyLevel() throws Exception {
+        executor.createDataSet(new DataSetConfig());
+        List<List<ITable>> levels = ParallelSeeding.getLevels(executor.getDBUnitConnection(), executor.loadDataSet("datasets/yml/library.yml"));
+        assertThat(levels).hasSize(2);
+        assertThat(levels.get(0)).extracting("tableMetaData.tableName").containsExactly("AUTHOR", "PUBLISHER");
+        assertThat(levels.get(1)).extracting("tableMetaData.tableName").containsExactly("BOOK");
+    }
+
+    @Test
+    public void shouldSeedLevelsConcurrently() throws SQLException {
+        executor.createDataSet(new DataSetConfig("datasets/yml/library.yml").useSequenceFiltering(false));
+        executor.createDataSet(new DataSetConfig("datasets/yml/library.yml").useSequenceFiltering(false).strategy(SeedStrategy.CLEAN_BULK_INSERT));
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select b.title, a.name from book b join author a on a.id = b.author_id order by b.id")) {
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getString(1)).isEqualTo("DBUnit in action");
+            assertThat(resultSet.getString(2)).isEqualTo("@realpestano");
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.next()).isFalse();
+        }
+    }
+
+    @Test
+    public void shouldSeedSequentiallyInsideLayer() throws SQLException {
+        executor.clearDatabase(new DataSetConfig().tableOrdering(new String[]{"BOOK", "AUTHOR", "PUBLISHER"}));
+        executor.beginLayer(new DataSetConfig("datasets/yml/library.yml"));
+        try {
+            executor.createDataSet(new DataSetConfig("datasets/yml/library.yml").strategy(SeedStrategy.CLEAN_BULK_INSERT));
+            assertThat(count("book")).isEqualTo(2);
+        } finally {
+            executor.endLayer();
+        }
+        assertThat(count("book")).as("layer changes are rolled back").isEqualTo(0);
+        assertThat(count("author")).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldClearLevelsConcurrently() throws Exception {
+        executor.createDataSet(new DataSetConfig("datasets/yml/library.yml").useSequenceFiltering(false));
+        executor.getDBUnitConfig().setCleanupParallelism(2);
+        ParallelSeeding parallelCleanup = new ParallelSeeding(executor);
+        try {
+            assertThat(parallelCleanup.clear(new String[]{"AUTHOR", "BOOK", "PUBLISHER"})).isTrue();
+        } finally {
+            parallelCleanup.close();
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select (select count(*) from author) + (select count(*) from book) + (select count(*) from publisher)")) {
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getInt(1)).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void shouldDetectPrivateInMemoryDatabases() {
+        assertThat(ParallelSeeding.isPrivateInMemoryDatabase("jdbc:h2:mem:")).isTrue();
+        assertThat(ParallelSeeding.isPrivateInMemoryDatabase("jdbc:h2:mem:;MODE=MySQL")).isTrue();
+        assertThat(ParallelSeeding.isPrivateInMemoryDatabase("jdbc:h2:mem:test;DB_CLOSE_DELAY=-1")).isFalse();
+        assertThat(ParallelSeeding.isPrivateInMemoryDatabase("jdbc:hsqldb:mem:test")).isFalse();
+    }
+
+    private int count(String table) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery("select count(*) from " + table)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
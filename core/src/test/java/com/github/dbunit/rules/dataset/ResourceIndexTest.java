@@ -0,0 +1,63 @@
+package com.github.dbunit.rules.dataset;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class ResourceIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldResolveResourcesUnderRoots() {
+        ResourceIndex index = new ResourceIndex(getClass().getClassLoader(), ResourceIndex.DATASETS_ROOT, ResourceIndex.SCRIPTS_ROOT);
+        assertThat(index.resolve("yml/users.yml", ResourceIndex.DATASETS_ROOT)).isEqualTo(getClass().getResource("/datasets/yml/users.yml"));
+        assertThat(index.resolve("/datasets/yml/users.yml", ResourceIndex.DATASETS_ROOT)).isEqualTo(getClass().getResource("/datasets/yml/users.yml"));
+        assertThat(index.resolve("users.sql", ResourceIndex.SCRIPTS_ROOT)).isEqualTo(getClass().getResource("/scripts/users.sql"));
+        assertThat(index.resolve("config/sample-dbunit.yml", ResourceIndex.DATASETS_ROOT)).isEqualTo(getClass().getResource("/config/sample-dbunit.yml"));
+        assertThat(index.resolve("yml/unknown.yml", ResourceIndex.DATASETS_ROOT)).isNull();
+    }
+
+    @Test
+    public void shouldCacheMissingResources() throws Exception {
+        File dir = folder.newFolder("classes");
+        File datasets = new File(dir, "datasets");
+        datasets.mkdirs();
+        ResourceIndex index = new ResourceIndex(new URLClassLoader(new URL[]{dir.toURI().toURL()}, null), ResourceIndex.DATASETS_ROOT);
+        assertThat(index.resolve("users.yml", ResourceIndex.DATASETS_ROOT)).isNull();
+        Files.write(new File(datasets, "users.yml").toPath(), "USER:".getBytes("UTF-8"));
+        assertThat(index.resolve("users.yml", ResourceIndex.DATASETS_ROOT)).isNull();
+        index.clear();
+        assertThat(index.resolve("users.yml", ResourceIndex.DATASETS_ROOT)).isNotNull();
+    }
+
+    @Test
+    public void shouldIndexResourcesInJars() throws Exception {
+        File jar = folder.newFile("datasets.jar");
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new JarEntry("datasets/"));
+            out.closeEntry();
+            out.putNextEntry(new JarEntry("datasets/yml/users.yml"));
+            out.write("USER:".getBytes("UTF-8"));
+            out.closeEntry();
+        }
+        ResourceIndex index = new ResourceIndex(new URLClassLoader(new URL[]{jar.toURI().toURL()}, null), ResourceIndex.DATASETS_ROOT);
+        URL url = index.resolve("yml/users.yml", ResourceIndex.DATASETS_ROOT);
+        assertThat(url).isNotNull();
+        assertThat(url.toString()).isEqualTo("jar:" + jar.toURI() + "!/datasets/yml/users.yml");
+    }
+}
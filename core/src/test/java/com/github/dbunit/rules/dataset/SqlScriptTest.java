@@ -0,0 +1,46 @@
+package com.github.dbunit.rules.dataset;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class SqlScriptTest {
+
+    @Test
+    public void shouldSplitMultiLineStatements() throws IOException {
+        List<String> statements = parse("CREATE TABLE book (\n  id INT,\n  title VARCHAR(50)\n);\n\nINSERT INTO book VALUES (1, 'a'); INSERT INTO book VALUES (2, 'b')");
+        assertThat(statements).containsExactly("CREATE TABLE book (\n  id INT,\n  title VARCHAR(50)\n)",
+                "INSERT INTO book VALUES (1, 'a')", "INSERT INTO book VALUES (2, 'b')");
+    }
+
+    @Test
+    public void shouldNotSplitQuotedSemicolons() throws IOException {
+        List<String> statements = parse("INSERT INTO book VALUES (1, 'a;b', 'it''s;');\nINSERT INTO \"odd;table\" VALUES (2);\n"
+                + "CREATE FUNCTION f() RETURNS INT AS $body$ BEGIN RETURN 1; END; $body$ LANGUAGE plpgsql;\nSELECT $$;$$, $1");
+        assertThat(statements).containsExactly("INSERT INTO book VALUES (1, 'a;b', 'it''s;')", "INSERT INTO \"odd;table\" VALUES (2)",
+                "CREATE FUNCTION f() RETURNS INT AS $body$ BEGIN RETURN 1; END; $body$ LANGUAGE plpgsql", "SELECT $$;$$, $1");
+    }
+
+    @Test
+    public void shouldSkipComments() throws IOException {
+        List<String> statements = parse("-- books; and authors\nDELETE FROM book; /* keeps;\n authors */ DELETE FROM author -- all of them\n;\n--DELETE FROM publisher;");
+        assertThat(statements).containsExactly("DELETE FROM book", "DELETE FROM author");
+    }
+
+    @Test
+    public void shouldExecuteScriptsWithoutTerminatorsLineByLine() throws IOException {
+        List<String> statements = parse("drop table User if exists\n\ncreate table User (id bigint, name varchar(255))\n");
+        assertThat(statements).containsExactly("drop table User if exists", "create table User (id bigint, name varchar(255))");
+    }
+
+    private List<String> parse(String script) throws IOException {
+        return SqlScript.parse(new StringReader(script));
+    }
+}
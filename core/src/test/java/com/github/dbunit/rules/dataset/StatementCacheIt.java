@@ -0,0 +1,66 @@
+package com.github.dbunit.rules.dataset;
+
+import com.github.dbunit.rules.configuration.DBUnitConfig;
+import com.github.dbunit.rules.configuration.DataSetConfig;
+import com.github.dbunit.rules.connection.ConnectionHolderImpl;
+import com.github.dbunit.rules.connection.StatementCache;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class StatementCacheIt {
+
+    private static Connection connection;
+
+    private static DataSetExecutorImpl executor;
+
+    @BeforeClass
+    public static void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:statement-cache-it;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table author (id int primary key, name varchar(50))");
+            statement.execute("create table book (id int primary key, title varchar(50), author_id int references author(id))");
+            statement.execute("create table publisher (id int primary key, name varchar(50))");
+        }
+        executor = DataSetExecutorImpl.instance("statement-cache-executor", new ConnectionHolderImpl(connection));
+        executor.setDBUnitConfig(new DBUnitConfig("statement-cache-executor").cacheStatements(true));
+    }
+
+    @AfterClass
+    public static void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void shouldReuseSeedingStatements() throws Exception {
+        executor.createDataSet(new DataSetConfig("datasets/yml/library.yml").cleanBefore(true));
+        executor.compareCurrentDataSetWith(new DataSetConfig("datasets/yml/library.yml"), new String[0]);
+        StatementCache statementCache = executor.getStatementCache();
+        long misses = statementCache.getMisses();
+        executor.createDataSet(new DataSetConfig("datasets/yml/library.yml").cleanBefore(true));
+        executor.compareCurrentDataSetWith(new DataSetConfig("datasets/yml/library.yml"), new String[0]);
+        assertThat(executor.getStatementCache()).isSameAs(statementCache);
+        assertThat(statementCache.getMisses()).isEqualTo(misses);
+        assertThat(statementCache.getHits()).isGreaterThan(0);
+
+        Connection other = DriverManager.getConnection("jdbc:h2:mem:statement-cache-it;DB_CLOSE_DELAY=-1", "sa", "");
+        try {
+            executor.setConnectionHolder(new ConnectionHolderImpl(other));
+            assertThat(statementCache.size()).isEqualTo(0);
+            assertThat(executor.getStatementCache()).isNotSameAs(statementCache);
+        } finally {
+            executor.setConnectionHolder(new ConnectionHolderImpl(connection));
+            other.close();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.dbunit.rules.dataset;
+
+import com.github.dbunit.rules.configuration.DBUnitConfig;
+import com.github.dbunit.rules.configuration.DataSetConfig;
+import com.github.dbunit.rules.connection.ConnectionHolderImpl;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class TableOrderCacheTest {
+
+    private static final Path CACHE_FILE = Paths.get("target/table-ordering/cache.properties");
+
+    private static Connection connection;
+
+    private static DataSetExecutorImpl executor;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        Files.deleteIfExists(CACHE_FILE);
+        connection = DriverManager.getConnection("jdbc:h2:mem:table-ordering;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table author (id int primary key, name varchar(50))");
+            statement.execute("create table book (id int primary key, title varchar(50), author_id int references author(id))");
+            statement.execute("create table publisher (id int primary key, name varchar(50))");
+        }
+        executor = DataSetExecutorImpl.instance("table-ordering-executor", new ConnectionHolderImpl(connection));
+        DBUnitConfig config = new DBUnitConfig("table-ordering-executor").cacheTableOrdering(true);
+        config.setTableOrderingCacheFile(CACHE_FILE.toString());
+        executor.setDBUnitConfig(config);
+        executor.createDataSet(new DataSetConfig());
+    }
+
+    @AfterClass
+    public static void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void shouldCacheTableOrderByTableSet() throws Exception {
+        TableOrderCache cache = new TableOrderCache(executor);
+        String[] order = cache.getTableOrder(new String[]{"BOOK", "AUTHOR"});
+        assertThat(order).containsExactly("AUTHOR", "BOOK");
+        assertThat(cache.getTableOrder(new String[]{"author", "book"})).isSameAs(order);
+
+        cache.clear();
+        assertThat(cache.getTableOrder(new String[]{"BOOK", "AUTHOR"})).isNotSameAs(order).containsExactly("AUTHOR", "BOOK");
+    }
+
+    @Test
+    public void shouldLoadStoredTableOrders() throws Exception {
+        new TableOrderCache(executor).getTableOrder(new String[]{"BOOK", "PUBLISHER"});
+        Properties properties = read();
+        String key = null;
+        for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+            if (((String) entry.getKey()).endsWith("|BOOK,PUBLISHER")) {
+                key = (String) entry.getKey();
+            }
+        }
+        assertThat(key).startsWith("jdbc:h2:mem:table-ordering");
+        //a stored order is trusted, not computed again
+        properties.setProperty(key, "PUBLISHER,BOOK");
+        try (OutputStream output = Files.newOutputStream(CACHE_FILE)) {
+            properties.store(output, null);
+        }
+        assertThat(new TableOrderCache(executor).getTableOrder(new String[]{"PUBLISHER", "BOOK"})).containsExactly("PUBLISHER", "BOOK");
+    }
+
+    @Test
+    public void shouldIgnoreStoredTableOrdersAfterSchemaChange() throws Exception {
+        assertThat(new TableOrderCache(executor).getTableOrder(new String[]{"PUBLISHER", "AUTHOR"})).containsExactly("PUBLISHER", "AUTHOR");
+        //e.g. a migration run between test runs
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table publisher add column author_id int");
+            statement.execute("alter table publisher add constraint publisher_author foreign key (author_id) references author(id)");
+        }
+        try {
+            assertThat(new TableOrderCache(executor).getTableOrder(new String[]{"PUBLISHER", "AUTHOR"})).containsExactly("AUTHOR", "PUBLISHER");
+        } finally {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("alter table publisher drop constraint publisher_author");
+                statement.execute("alter table publisher drop column author_id");
+            }
+        }
+    }
+
+    @Test
+    public void shouldSeedUsingCachedTableOrder() throws SQLException {
+        executor.createDataSet(new DataSetConfig("datasets/yml/library.yml").cleanBefore(true));
+        executor.createDataSet(new DataSetConfig("datasets/yml/library.yml").cleanBefore(true));
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from book")) {
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getInt(1)).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void shouldRecognizeSchemaChanges() {
+        assertThat(TableOrderCache.changesSchema(new String[]{"insert into author values (1, 'a')", " CREATE TABLE x (id int)"})).isTrue();
+        assertThat(TableOrderCache.changesSchema(new String[]{"alter table author add column age int"})).isTrue();
+        assertThat(TableOrderCache.changesSchema(new String[]{"delete from author", "update book set title = 'created'"})).isFalse();
+    }
+
+    private Properties read() throws Exception {
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(CACHE_FILE)) {
+            properties.load(input);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.dbunit.rules.dataset.operation;
+
+import org.dbunit.database.DatabaseConfig;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.datatype.IDataTypeFactory;
+import org.dbunit.ext.h2.H2DataTypeFactory;
+import org.dbunit.ext.hsqldb.HsqldbDataTypeFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class NativeBulkLoadOperationTest {
+
+    @Test
+    public void shouldLoadTablesUsingH2Csvread() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:native-bulk;DB_CLOSE_DELAY=-1", "sa", "")) {
+            assertThat(NativeBulkLoadOperation.getLoader(connection)).isInstanceOf(NativeBulkLoadOperation.H2Loader.class);
+            seedAndVerify(connection, new H2DataTypeFactory());
+        }
+    }
+
+    @Test
+    public void shouldLoadTablesUsingHsqldbTextTables() throws Exception {
+        File directory = new File("target/native-bulk");
+        try (Connection connection = DriverManager.getConnection("jdbc:hsqldb:file:target/native-bulk/db", "sa", "")) {
+            assertThat(NativeBulkLoadOperation.getLoader(connection)).isInstanceOf(NativeBulkLoadOperation.HsqldbLoader.class);
+            seedAndVerify(connection, new HsqldbDataTypeFactory());
+            connection.createStatement().execute("shutdown");
+        }
+        for (String name : directory.list()) {
+            assertThat(name).doesNotEndWith(".csv");
+        }
+    }
+
+    @Test
+    public void shouldKeepTransactionWhenConnectionIsNotInAutoCommitMode() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:hsqldb:file:target/native-bulk-tx/db", "sa", "")) {
+            connection.setAutoCommit(false);
+            seedAndVerify(connection, new HsqldbDataTypeFactory());
+            connection.rollback();
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("select count(*) from bulk_tweet")) {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(resultSet.getInt(1)).isEqualTo(0);
+            }
+            connection.createStatement().execute("shutdown");
+        }
+    }
+
+    @Test
+    public void shouldFallBackToInsertsOnHsqldbMemoryDatabase() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:hsqldb:mem:native-bulk", "sa", "")) {
+            assertThat(NativeBulkLoadOperation.getLoader(connection)).isNull();
+            seedAndVerify(connection, new HsqldbDataTypeFactory());
+        }
+    }
+
+    private void seedAndVerify(Connection connection, IDataTypeFactory dataTypeFactory) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists bulk_tweet");
+            statement.execute("create table bulk_tweet (id int primary key, content varchar(100), likes int, date timestamp)");
+        }
+        DefaultTable table = new DefaultTable("BULK_TWEET", new Column[]{
+                new Column("ID", DataType.UNKNOWN), new Column("CONTENT", DataType.UNKNOWN),
+                new Column("LIKES", DataType.UNKNOWN), new Column("DATE", DataType.UNKNOWN)});
+        table.addRow(new Object[]{"1", "dbunit, \"rules\"\nrocks", "10", "2016-01-01 10:00:00"});
+        table.addRow(new Object[]{"2", "", null, null});
+        DatabaseConnection databaseConnection = new DatabaseConnection(connection);
+        databaseConnection.getConfig().setProperty(DatabaseConfig.PROPERTY_DATATYPE_FACTORY, dataTypeFactory);
+        new NativeBulkLoadOperation().execute(databaseConnection, new DefaultDataSet(table));
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select id, content, likes, date from bulk_tweet order by id")) {
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getString(2)).isEqualTo("dbunit, \"rules\"\nrocks");
+            assertThat(resultSet.getInt(3)).isEqualTo(10);
+            assertThat(resultSet.getTimestamp(4)).isEqualTo(Timestamp.valueOf("2016-01-01 10:00:00"));
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getString(2)).isEqualTo("");
+            assertThat(resultSet.getObject(3)).isNull();
+            assertThat(resultSet.getObject(4)).isNull();
+            assertThat(resultSet.next()).isFalse();
+        }
+    }
+}
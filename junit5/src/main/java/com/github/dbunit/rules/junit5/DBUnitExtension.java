@@ -1,5 +1,6 @@
 package com.github.dbunit.rules.junit5;
 
+import com.github.dbunit.rules.api.configuration.DBUnit;
 import com.github.dbunit.rules.api.connection.ConnectionHolder;
 import com.github.dbunit.rules.api.dataset.DataSet;
 import com.github.dbunit.rules.api.dataset.DataSetExecutor;
@@ -16,8 +17,11 @@ import com.github.dbunit.rules.exporter.DataSetExporter;
 import com.github.dbunit.rules.leak.LeakHunterException;
 import com.github.dbunit.rules.leak.LeakHunterFactory;
 import org.dbunit.DatabaseUnitException;
+import org.junit.jupiter.api.extension.AfterAllCallback;
 import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ContainerExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
 import org.junit.jupiter.api.extension.ExtensionContext.Store;
@@ -27,6 +31,7 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.util.Arrays;
@@ -39,12 +44,71 @@ import static com.github.dbunit.rules.util.EntityManagerProvider.tx;
 /**
  * Created by pestano on 27/08/16.
  */
-public class DBUnitExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+public class DBUnitExtension implements BeforeAllCallback, AfterAllCallback, BeforeTestExecutionCallback, AfterTestExecutionCallback {
 	
     private static final Logger log = LoggerFactory.getLogger(DBUnitExtension.class);
 
 	private static final Namespace namespace = Namespace.create(DBUnitExtension.class);
 
+    /**
+     * seeds class level {@link DataSet#seedOnce() seed once} dataset before the tests, using a static connection holder
+     * of test class or connection config. Seed once datasets of nested classes are layered on the dataset of enclosing
+     * class, see {@link DataSetExecutor#beginLayer(DataSetConfig)}
+     */
+    @Override
+    public void beforeAll(ContainerExtensionContext containerExtensionContext) throws Exception {
+        Class<?> testClass = containerExtensionContext.getTestClass().get();
+        DataSet annotation = testClass.getAnnotation(DataSet.class);
+        if (annotation == null || !annotation.seedOnce()) {
+            return;
+        }
+        if (isLayer(testClass)) {
+            DataSetConfig layerConfig = new DataSetConfig().from(annotation);
+            DataSetExecutor executor = DataSetExecutorImpl.getExecutorById(layerConfig.getExecutorId());
+            if (executor == null) {
+                throw new RuntimeException(String.format("Could not layer dataset of test class %s, no dataset was seeded by executor '%s'.", testClass.getName(), layerConfig.getExecutorId()));
+            }
+            executor.beginLayer(layerConfig);
+            return;
+        }
+        DBUnit dbUnit = testClass.getAnnotation(DBUnit.class);
+        DBUnitConfig dbUnitConfig = dbUnit != null ? DBUnitConfig.from(dbUnit) : DBUnitConfig.fromGlobalConfig();
+        ConnectionHolder connectionHolder = findTestConnection(testClass, null);
+        if (connectionHolder == null || connectionHolder.getConnection() == null) {
+            connectionHolder = createConnection(dbUnitConfig, testClass.getSimpleName());
+        }
+        DataSetConfig dataSetConfig = new DataSetConfig().from(annotation);
+        DataSetExecutor executor = DataSetExecutorImpl.instance(dataSetConfig.getExecutorId(), connectionHolder);
+        executor.setDBUnitConfig(dbUnitConfig);
+        try {
+            executor.createDataSet(dataSetConfig);
+        } catch (final Exception e) {
+            throw new RuntimeException(String.format("Could not create dataset for test class %s due to following error " + e.getMessage(), testClass.getName()), e);
+        }
+    }
+
+    /**
+     * runs after statements, scripts and clean up of class level seed once dataset or discards the layer of a nested
+     * class
+     */
+    @Override
+    public void afterAll(ContainerExtensionContext containerExtensionContext) throws Exception {
+        DataSet annotation = containerExtensionContext.getTestClass().get().getAnnotation(DataSet.class);
+        if (annotation == null || !annotation.seedOnce()) {
+            return;
+        }
+        DataSetConfig dataSetConfig = new DataSetConfig().from(annotation);
+        DataSetExecutor executor = DataSetExecutorImpl.getExecutorById(dataSetConfig.getExecutorId());
+        if (executor == null) {
+            return;
+        }
+        if (isLayer(containerExtensionContext.getTestClass().get())) {
+            executor.endLayer();
+        } else {
+            executeAfter(executor, dataSetConfig, containerExtensionContext.getTestClass().get().getSimpleName());
+        }
+    }
+
     @Override
     public void beforeTestExecution(TestExtensionContext testExtensionContext) throws Exception {
 
@@ -78,7 +142,9 @@ public class DBUnitExtension implements BeforeTestExecutionCallback, AfterTestEx
         setDataSetConfig(dataSetConfig);
 
 
-        if (dataSetConfig != null && dataSetConfig.getExecuteStatementsBefore() != null && dataSetConfig.getExecuteStatementsBefore().length > 0) {
+        boolean isSeedOnce = dataSetConfig.isSeedOnce();
+        //seed once datasets execute before statements and scripts along with the seed
+        if (!isSeedOnce && dataSetConfig.getExecuteStatementsBefore() != null && dataSetConfig.getExecuteStatementsBefore().length > 0) {
             try {
                 executor.executeStatements(dataSetConfig.getExecuteStatementsBefore());
             } catch (Exception e) {
@@ -86,7 +152,7 @@ public class DBUnitExtension implements BeforeTestExecutionCallback, AfterTestEx
             }
         }//end execute statements
 
-        if (dataSetConfig.getExecuteScriptsBefore() != null && dataSetConfig.getExecuteScriptsBefore().length > 0) {
+        if (!isSeedOnce && dataSetConfig.getExecuteScriptsBefore() != null && dataSetConfig.getExecuteScriptsBefore().length > 0) {
             try {
                 for (int i = 0; i < dataSetConfig.getExecuteScriptsBefore().length; i++) {
                     executor.executeScript(dataSetConfig.getExecuteScriptsBefore()[i]);
@@ -111,7 +177,19 @@ public class DBUnitExtension implements BeforeTestExecutionCallback, AfterTestEx
             throw new RuntimeException(String.format("Could not create dataset for test method %s due to following error " + e.getMessage(), testExtensionContext.getTestMethod().get().getName()), e);
         }
 
-        boolean isTransactional = dataSetConfig.isTransactional();
+        if (isSeedOnce) {
+            if (isLayer(testExtensionContext.getTestClass().get())) {
+                //layers are kept in executor connection transaction, test is rolled back to a savepoint
+                executor.beginRollbackTest(true);
+            } else {
+                if (isEntityManagerActive() && !tx().isActive()) {
+                    em().getTransaction().begin();
+                }
+                executor.beginRollbackTest(!isEntityManagerActive());
+            }
+        }
+
+        boolean isTransactional = dataSetConfig.isTransactional() && !isSeedOnce;
         if (isTransactional) {
             if (isEntityManagerActive()) {
                 if(!tx().isActive()){
@@ -178,7 +256,11 @@ public class DBUnitExtension implements BeforeTestExecutionCallback, AfterTestEx
                 if (expectedDataSet != null) {
                     DataSetExecutor executor = dbUnitTestContext.getExecutor();
                     DataSetConfig datasetConfig = dbUnitTestContext.getDataSetConfig();
-                    boolean isTransactional = datasetConfig.isTransactional();
+                    boolean isTransactional = datasetConfig.isTransactional() && !datasetConfig.isSeedOnce();
+                    if (datasetConfig.isSeedOnce() && isEntityManagerActive() && tx().isActive()) {
+                        //makes changes visible to dataset comparison
+                        em().flush();
+                    }
                     if (isTransactional) {
                         try {
                             if (isEntityManagerActive()) {
@@ -226,40 +308,58 @@ public class DBUnitExtension implements BeforeTestExecutionCallback, AfterTestEx
                 exportDataSet(executor,testExtensionContext.getTestMethod().get());
             }
 
-            if (dataSetConfig != null && dataSetConfig.getExecuteStatementsAfter() != null && dataSetConfig.getExecuteStatementsAfter().length > 0) {
-                try {
-                    executor.executeStatements(dataSetConfig.getExecuteStatementsAfter());
-                } catch (Exception e) {
-                    log.error(testExtensionContext.getTestMethod().get().getName() + "() - Could not execute statements after:" + e.getMessage(), e);
+            if (dataSetConfig.isSeedOnce()) {
+                if (isEntityManagerActive() && tx().isActive()) {
+                    tx().rollback();
                 }
-            }//end execute statements
+                executor.endRollbackTest();
+            } else {
+                executeAfter(executor, dataSetConfig, testExtensionContext.getTestMethod().get().getName());
+            }
+        }
 
-            if (dataSetConfig.getExecuteScriptsAfter() != null && dataSetConfig.getExecuteScriptsAfter().length > 0) {
-                try {
-                    for (int i = 0; i < dataSetConfig.getExecuteScriptsAfter().length; i++) {
-                        executor.executeScript(dataSetConfig.getExecuteScriptsAfter()[i]);
-                    }
-                } catch (Exception e) {
-                    if (e instanceof DatabaseUnitException) {
-                        throw e;
-                    }
-                    log.error(testExtensionContext.getTestMethod().get().getName() + "() - Could not execute scriptsAfter:" + e.getMessage(), e);
-                }
-            }//end execute scripts
+    }
 
-            if (dataSetConfig.isCleanAfter()) {
-                executor.clearDatabase(dataSetConfig);
+    private void executeAfter(DataSetExecutor executor, DataSetConfig dataSetConfig, String testName) throws Exception {
+        if (dataSetConfig.getExecuteStatementsAfter() != null && dataSetConfig.getExecuteStatementsAfter().length > 0) {
+            try {
+                executor.executeStatements(dataSetConfig.getExecuteStatementsAfter());
+            } catch (Exception e) {
+                log.error(testName + "() - Could not execute statements after:" + e.getMessage(), e);
             }
-        }
+        }//end execute statements
+
+        if (dataSetConfig.getExecuteScriptsAfter() != null && dataSetConfig.getExecuteScriptsAfter().length > 0) {
+            try {
+                for (int i = 0; i < dataSetConfig.getExecuteScriptsAfter().length; i++) {
+                    executor.executeScript(dataSetConfig.getExecuteScriptsAfter()[i]);
+                }
+            } catch (Exception e) {
+                if (e instanceof DatabaseUnitException) {
+                    throw e;
+                }
+                log.error(testName + "() - Could not execute scriptsAfter:" + e.getMessage(), e);
+            }
+        }//end execute scripts
 
+        if (dataSetConfig.isCleanAfter()) {
+            executor.clearDatabase(dataSetConfig);
+        }
     }
 
 
     private ConnectionHolder findTestConnection(TestExtensionContext testExtensionContext) {
-        Class<?> testClass = testExtensionContext.getTestClass().get();
+        return findTestConnection(testExtensionContext.getTestClass().get(), testExtensionContext.getTestInstance());
+    }
+
+    /**
+     * @param testInstance test instance or <code>null</code> to only look at static members
+     */
+    private ConnectionHolder findTestConnection(Class<?> testClass, Object testInstance) {
         try {
             Optional<Field> fieldFound = Arrays.stream(testClass.getDeclaredFields()).
                     filter(f -> f.getType() == ConnectionHolder.class).
+                    filter(f -> testInstance != null || Modifier.isStatic(f.getModifiers())).
                     findFirst();
 
             if (fieldFound.isPresent()) {
@@ -267,7 +367,7 @@ public class DBUnitExtension implements BeforeTestExecutionCallback, AfterTestEx
                 if (!field.isAccessible()) {
                     field.setAccessible(true);
                 }
-                ConnectionHolder connectionHolder = ConnectionHolder.class.cast(field.get(testExtensionContext.getTestInstance()));
+                ConnectionHolder connectionHolder = ConnectionHolder.class.cast(field.get(testInstance));
                 if (connectionHolder == null || connectionHolder.getConnection() == null) {
                     throw new RuntimeException("ConnectionHolder not initialized correctly");
                 }
@@ -278,6 +378,7 @@ public class DBUnitExtension implements BeforeTestExecutionCallback, AfterTestEx
 
             Optional<Method> methodFound = Arrays.stream(testClass.getDeclaredMethods()).
                     filter(m -> m.getReturnType() == ConnectionHolder.class).
+                    filter(m -> testInstance != null || Modifier.isStatic(m.getModifiers())).
                     findFirst();
 
             if (methodFound.isPresent()) {
@@ -285,13 +386,19 @@ public class DBUnitExtension implements BeforeTestExecutionCallback, AfterTestEx
                 if (!method.isAccessible()) {
                     method.setAccessible(true);
                 }
-                ConnectionHolder connectionHolder = ConnectionHolder.class.cast(method.invoke(testExtensionContext.getTestInstance()));
+                ConnectionHolder connectionHolder = ConnectionHolder.class.cast(method.invoke(testInstance));
                 if (connectionHolder == null || connectionHolder.getConnection() == null) {
                     throw new RuntimeException("ConnectionHolder not initialized correctly");
                 }
                 return connectionHolder;
             }
 
+            Class<?> enclosingClass = testClass.getEnclosingClass();
+            if (enclosingClass != null && !Modifier.isStatic(testClass.getModifiers())) {
+                //nested test classes use connection of enclosing test
+                return findTestConnection(enclosingClass, testInstance == null ? null : getEnclosingInstance(testInstance, enclosingClass));
+            }
+
         } catch (Exception e) {
             throw new RuntimeException("Could not get database connection for test " + testClass, e);
         }
@@ -302,6 +409,38 @@ public class DBUnitExtension implements BeforeTestExecutionCallback, AfterTestEx
     }
 
 
+    private Object getEnclosingInstance(Object testInstance, Class<?> enclosingClass) throws IllegalAccessException {
+        Optional<Field> outerField = Arrays.stream(testInstance.getClass().getDeclaredFields()).
+                filter(f -> f.isSynthetic() && f.getType() == enclosingClass).
+                findFirst();
+        if (!outerField.isPresent()) {
+            return null;
+        }
+        Field field = outerField.get();
+        if (!field.isAccessible()) {
+            field.setAccessible(true);
+        }
+        return field.get(testInstance);
+    }
+
+    /**
+     * @return if given class is a nested test class with a seed once dataset, enclosed by a class with a seed once
+     * dataset
+     */
+    private boolean isLayer(Class<?> testClass) {
+        DataSet dataSet = testClass.getAnnotation(DataSet.class);
+        if (dataSet == null || !dataSet.seedOnce() || Modifier.isStatic(testClass.getModifiers())) {
+            return false;
+        }
+        for (Class<?> enclosingClass = testClass.getEnclosingClass(); enclosingClass != null; enclosingClass = enclosingClass.getEnclosingClass()) {
+            DataSet enclosingDataSet = enclosingClass.getAnnotation(DataSet.class);
+            if (enclosingDataSet != null && enclosingDataSet.seedOnce()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private ConnectionHolder createConnection(DBUnitConfig dbUnitConfig, String currentMethod) {
         ConnectionConfig connectionConfig = dbUnitConfig.getConnectionConfig();
         if ("".equals(connectionConfig.getUrl()) || "".equals(connectionConfig.getUser())) {
@@ -0,0 +1,78 @@
+package com.github.dbunit.rules.junit5;
+
+import com.github.dbunit.rules.api.connection.ConnectionHolder;
+import com.github.dbunit.rules.api.dataset.DataSet;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static com.github.dbunit.rules.util.EntityManagerProvider.em;
+import static com.github.dbunit.rules.util.EntityManagerProvider.instance;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Nested classes layer their datasets on the dataset of enclosing class.
+ */
+@ExtendWith(DBUnitExtension.class)
+@RunWith(JUnitPlatform.class)
+@DataSet(value = "users.yml", seedOnce = true, executorId = "layered")
+public class LayeredDataSetIt {
+
+    private static ConnectionHolder connectionHolder = () ->
+            instance("junit5-pu").connection();
+
+    @AfterAll
+    public static void shouldDiscardLayers() {
+        assertThat(countUsers()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldSeedBaseDataSet() {
+        assertThat(countUsers()).isEqualTo(2);
+    }
+
+    @Nested
+    @DataSet(value = "usersLayer.yml", seedOnce = true, executorId = "layered")
+    public class WithLayer {
+
+        @Test
+        public void shouldSeeBaseAndLayerUsers() {
+            assertThat(countUsers()).isEqualTo(3);
+        }
+
+        @Test
+        public void shouldRollBackTestChanges() throws SQLException {
+            assertThat(countUsers()).isEqualTo(3);
+            try (Statement statement = connectionHolder.getConnection().createStatement()) {
+                statement.executeUpdate("delete from user where id = 3");
+            }
+            assertThat(countUsers()).isEqualTo(2);
+        }
+
+        @Test
+        public void shouldKeepLayerAfterTestRollback() {
+            assertThat(countUsers()).isEqualTo(3);
+        }
+
+        @Nested
+        @DataSet(value = "usersNestedLayer.yml", seedOnce = true, executorId = "layered")
+        public class WithNestedLayer {
+
+            @Test
+            public void shouldSeeAllLayers() {
+                assertThat(countUsers()).isEqualTo(4);
+            }
+        }
+    }
+
+    private static long countUsers() {
+        em().clear();
+        return (Long) em().createQuery("select count(u) from User u").getSingleResult();
+    }
+}